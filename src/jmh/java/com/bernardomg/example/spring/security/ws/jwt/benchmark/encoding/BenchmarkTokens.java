@@ -0,0 +1,112 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.encoding;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.stream.IntStream;
+
+import javax.crypto.SecretKey;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Shared data for the token benchmarks.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BenchmarkTokens {
+
+    /**
+     * Key used to sign the benchmark tokens.
+     */
+    public static final SecretKey KEY     = Keys.hmacShaKeyFor(
+        "1234567890123456789012345678901234567890123456789012345678901234567890123456789012345678901234567890"
+            .getBytes(StandardCharsets.UTF_8));
+
+    /**
+     * Subject for the benchmark tokens.
+     */
+    public static final String    SUBJECT = "admin";
+
+    /**
+     * Returns token data with the received number of audiences and permissions. The more of them, the bigger the
+     * token.
+     *
+     * @param audiences
+     *            number of audiences
+     * @param permissions
+     *            number of permissions
+     * @return token data
+     */
+    public static final JwtTokenData getData(final int audiences, final int permissions) {
+        final Instant issuedAt;
+
+        issuedAt = Instant.now();
+        return JwtTokenData.builder()
+            .withSubject(SUBJECT)
+            .withIssuer("benchmark")
+            .withIssuedAt(issuedAt)
+            .withNotBefore(issuedAt)
+            .withExpiration(issuedAt.plus(1, ChronoUnit.DAYS))
+            .withAudience(getValues("audience", audiences))
+            .withPermissions(getValues("resource:action", permissions))
+            .withVersion(1L)
+            .build();
+    }
+
+    /**
+     * Returns a collection of numbered values.
+     *
+     * @param prefix
+     *            prefix for the values
+     * @param count
+     *            number of values
+     * @return the numbered values, or {@code null} if there are none
+     */
+    public static final Collection<String> getValues(final String prefix, final int count) {
+        final Collection<String> values;
+
+        if (count == 0) {
+            values = null;
+        } else {
+            values = IntStream.range(0, count)
+                .mapToObj(i -> prefix + "_" + i)
+                .toList();
+        }
+
+        return values;
+    }
+
+    private BenchmarkTokens() {
+        super();
+    }
+
+}
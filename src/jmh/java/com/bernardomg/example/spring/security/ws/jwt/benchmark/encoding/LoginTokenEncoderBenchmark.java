@@ -0,0 +1,170 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.encoding;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+/**
+ * Benchmarks {@link JwtLoginTokenEncoder#encode(String)}. Stateless tokens read the user from an in-memory repository,
+ * so only the cost of adding the privileges to the token is measured.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoginTokenEncoderBenchmark {
+
+    /**
+     * User repository which always returns the same user.
+     */
+    private static final class FixedUserRepository implements UserRepository {
+
+        /**
+         * User to return.
+         */
+        private final User user;
+
+        private FixedUserRepository(final User usr) {
+            super();
+
+            user = usr;
+        }
+
+        @Override
+        public final Collection<User> findAll() {
+            return List.of(user);
+        }
+
+        @Override
+        public final Collection<String> findAllUsernames() {
+            return List.of(user.username());
+        }
+
+        @Override
+        public final Optional<UserCredentials> findCredentials(final String username) {
+            return Optional.of(new UserCredentials(user, ""));
+        }
+
+        @Override
+        public final Optional<User> findOne(final String username) {
+            return Optional.of(user);
+        }
+
+        @Override
+        public final Optional<Long> findVersion(final String username) {
+            return Optional.of(user.version());
+        }
+
+        @Override
+        public final boolean updatePassword(final String username, final String password) {
+            return false;
+        }
+
+    }
+
+    /**
+     * Encoder to benchmark.
+     */
+    private LoginTokenEncoder encoder;
+
+    /**
+     * Number of privileges for the user. Only used by stateless tokens.
+     */
+    @Param({ "0", "16", "128" })
+    private int               privileges;
+
+    /**
+     * Stateless tokens flag.
+     */
+    @Param({ "false", "true" })
+    private boolean           stateless;
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(BenchmarkTokens.SUBJECT);
+    }
+
+    @Setup
+    public void setup() {
+        final User user;
+
+        if (stateless) {
+            user = User.builder()
+                .withUsername(BenchmarkTokens.SUBJECT)
+                .withName(BenchmarkTokens.SUBJECT)
+                .withEmail("email@somewhere.com")
+                .withEnabled(true)
+                .withPrivileges(getPrivileges())
+                .withVersion(1)
+                .build();
+            encoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(BenchmarkTokens.KEY), Duration.ofHours(1),
+                new FixedUserRepository(user));
+        } else {
+            encoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(BenchmarkTokens.KEY), Duration.ofHours(1));
+        }
+    }
+
+    /**
+     * Returns the user privileges.
+     *
+     * @return the user privileges
+     */
+    private final Collection<Privilege> getPrivileges() {
+        return IntStream.range(0, privileges)
+            .mapToObj(i -> new Privilege("resource:action_" + i))
+            .toList();
+    }
+
+}
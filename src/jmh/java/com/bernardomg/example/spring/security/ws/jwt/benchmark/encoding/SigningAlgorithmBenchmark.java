@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.encoding;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+
+/**
+ * Compares the cost of signing and verifying tokens with each {@link SigningAlgorithm}. The token is the same for all
+ * of them, so the difference comes from the signature.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SigningAlgorithmBenchmark {
+
+    /**
+     * Secret for the HMAC algorithms.
+     */
+    private static final String SECRET = new String(BenchmarkTokens.KEY.getEncoded(), StandardCharsets.UTF_8);
+
+    /**
+     * Algorithm to benchmark.
+     */
+    @Param({ "HS256", "HS384", "HS512", "ES256", "EDDSA" })
+    private SigningAlgorithm    algorithm;
+
+    /**
+     * Token data to sign.
+     */
+    private JwtTokenData        data;
+
+    /**
+     * Decoder for the algorithm.
+     */
+    private TokenDecoder        decoder;
+
+    /**
+     * Encoder for the algorithm.
+     */
+    private TokenEncoder        encoder;
+
+    /**
+     * Token to verify.
+     */
+    private String              token;
+
+    @Setup
+    public void setup() {
+        final JjwtSigningKey key;
+
+        key = JjwtSigningKey.of(algorithm, SECRET);
+        encoder = new JjwtTokenEncoder(key);
+        decoder = new JjwtTokenDecoder(key);
+        data = BenchmarkTokens.getData(1, 16);
+        token = encoder.encode(data);
+    }
+
+    @Benchmark
+    public String sign() {
+        return encoder.encode(data);
+    }
+
+    @Benchmark
+    public TokenVerification verify() {
+        return decoder.verify(token);
+    }
+
+}
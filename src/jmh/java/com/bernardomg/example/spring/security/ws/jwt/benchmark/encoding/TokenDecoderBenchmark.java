@@ -0,0 +1,108 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.encoding;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+
+/**
+ * Benchmarks {@link JjwtTokenDecoder}, for tokens of several sizes. Both full decoding and the selective decoding used
+ * by the token filter are measured.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenDecoderBenchmark {
+
+    /**
+     * Claims read by the token filter.
+     */
+    private static final Set<TokenClaim> FILTER_CLAIMS = EnumSet.of(TokenClaim.SUBJECT, TokenClaim.EXPIRATION);
+
+    /**
+     * Number of audiences in the token.
+     */
+    @Param({ "0", "4", "16" })
+    private int                          audiences;
+
+    /**
+     * Decoder to benchmark.
+     */
+    private TokenDecoder                 decoder;
+
+    /**
+     * Number of permissions in the token. Above a threshold these are compressed.
+     */
+    @Param({ "0", "16", "128" })
+    private int                          permissions;
+
+    /**
+     * Token to decode.
+     */
+    private String                       token;
+
+    @Benchmark
+    public JwtTokenData decode() {
+        return decoder.decode(token);
+    }
+
+    @Setup
+    public void setup() {
+        decoder = new JjwtTokenDecoder(BenchmarkTokens.KEY);
+        token = new JjwtTokenEncoder(BenchmarkTokens.KEY).encode(BenchmarkTokens.getData(audiences, permissions));
+    }
+
+    @Benchmark
+    public TokenVerification verifySelectedClaims() {
+        return decoder.verify(token, FILTER_CLAIMS);
+    }
+
+}
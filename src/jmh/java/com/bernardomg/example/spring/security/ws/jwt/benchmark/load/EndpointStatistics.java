@@ -0,0 +1,119 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.load;
+
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+/**
+ * Latencies and errors for a single endpoint. Latencies are recorded in microseconds, from the time the request was
+ * scheduled, so a slow server also delays the following requests, and this is recorded too.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class EndpointStatistics {
+
+    /**
+     * Number of failed requests.
+     */
+    private final LongAdder errors   = new LongAdder();
+
+    /**
+     * Endpoint name.
+     */
+    private final String    name;
+
+    /**
+     * Latencies recorder. Allows reading the latencies while requests are recorded.
+     */
+    private final Recorder  recorder = new Recorder(TimeUnit.MINUTES.toMicros(1), 3);
+
+    /**
+     * Latencies read from the recorder.
+     */
+    private Histogram       histogram;
+
+    public EndpointStatistics(final String nm) {
+        super();
+
+        name = nm;
+    }
+
+    /**
+     * Returns the endpoint name.
+     *
+     * @return the endpoint name
+     */
+    public final String getName() {
+        return name;
+    }
+
+    /**
+     * Prints the recorded statistics.
+     *
+     * @param output
+     *            output to print into
+     */
+    public final void print(final PrintStream output) {
+        final long   count;
+        final long   failed;
+        final double errorRate;
+
+        histogram = recorder.getIntervalHistogram(histogram);
+        failed = errors.sumThenReset();
+        count = histogram.getTotalCount();
+        if (count == 0) {
+            errorRate = 0;
+        } else {
+            errorRate = (failed * 100.0) / count;
+        }
+
+        output.printf("%-10s %10d %10d %9.2f%% %10.2f %10.2f %10.2f %10.2f%n", name, count, failed, errorRate,
+            histogram.getValueAtPercentile(50) / 1000.0, histogram.getValueAtPercentile(99) / 1000.0,
+            histogram.getValueAtPercentile(99.9) / 1000.0, histogram.getMaxValue() / 1000.0);
+    }
+
+    /**
+     * Records a request.
+     *
+     * @param scheduled
+     *            nano time when the request was scheduled
+     * @param success
+     *            {@code true} if the request was answered as expected
+     */
+    public final void record(final long scheduled, final boolean success) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduled),
+            TimeUnit.MINUTES.toMicros(1)));
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+}
@@ -0,0 +1,111 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+/**
+ * Load test scenario. Read from a properties file, so runs can be repeated.
+ *
+ * @param seed
+ *            random seed, for choosing the users
+ * @param users
+ *            number of synthetic users
+ * @param password
+ *            password for the synthetic users
+ * @param tokens
+ *            number of users logged in before the run
+ * @param warmup
+ *            time sending requests before recording them
+ * @param duration
+ *            time recording requests
+ * @param timeout
+ *            time to wait for the requests still running after the run
+ * @param loginRate
+ *            login requests per second
+ * @param personRate
+ *            authenticated person requests per second
+ * @param anonymousRate
+ *            unauthenticated requests per second
+ * @param personSize
+ *            page size for the person requests
+ * @param application
+ *            properties for the application, such as {@code spring.threads.virtual.enabled}
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public record LoadScenario(long seed, int users, String password, int tokens, Duration warmup, Duration duration,
+        Duration timeout, double loginRate, double personRate, double anonymousRate, int personSize,
+        Map<String, String> application) {
+
+    /**
+     * Prefix for the application properties in the scenario file.
+     */
+    private static final String APPLICATION_PREFIX = "app.";
+
+    /**
+     * Reads the scenario from a properties file.
+     *
+     * @param path
+     *            path to the properties file
+     * @return the scenario in the file
+     * @throws IOException
+     *             if the file can't be read
+     */
+    public static final LoadScenario read(final Path path) throws IOException {
+        final Properties          properties;
+        final Map<String, String> application;
+
+        properties = new Properties();
+        try (final InputStream input = Files.newInputStream(path)) {
+            properties.load(input);
+        }
+
+        application = properties.stringPropertyNames()
+            .stream()
+            .filter(name -> name.startsWith(APPLICATION_PREFIX))
+            .collect(Collectors.toMap(name -> name.substring(APPLICATION_PREFIX.length()), properties::getProperty));
+
+        return new LoadScenario(Long.parseLong(properties.getProperty("seed", "42")),
+            Integer.parseInt(properties.getProperty("users", "1000")), properties.getProperty("password", "1234"),
+            Integer.parseInt(properties.getProperty("tokens", "100")),
+            Duration.ofSeconds(Long.parseLong(properties.getProperty("warmup", "10"))),
+            Duration.ofSeconds(Long.parseLong(properties.getProperty("duration", "60"))),
+            Duration.ofSeconds(Long.parseLong(properties.getProperty("timeout", "30"))),
+            Double.parseDouble(properties.getProperty("rate.login", "0")),
+            Double.parseDouble(properties.getProperty("rate.person", "0")),
+            Double.parseDouble(properties.getProperty("rate.anonymous", "0")),
+            Integer.parseInt(properties.getProperty("person.size", "20")), Map.copyOf(application));
+    }
+
+}
@@ -0,0 +1,399 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.load;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bernardomg.example.spring.security.ws.jwt.Application;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * End to end load test. Starts the application on an in-memory H2 database, adds synthetic users to it, and sends
+ * requests at constant arrival rates.
+ * <p>
+ * This is an open model: requests are sent when scheduled, no matter how many are still waiting for an answer. Latencies
+ * are measured from the scheduled time, so they include any delay caused by a slow server.
+ * <p>
+ * The scenario is read from the properties file received as first argument. Its {@code app.} properties are passed to
+ * the application, so the same requests can be sent to differently configured applications.
+ * <p>
+ * The application runs in the same JVM as the load test, so the peak thread count and heap usage shown after the run
+ * include both.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class LoadTest {
+
+    /**
+     * Requests sent at a constant rate.
+     *
+     * @param statistics
+     *            statistics for the requests
+     * @param rate
+     *            requests per second
+     * @param expected
+     *            expected response status
+     * @param request
+     *            builds each request, from a random generator
+     */
+    private record Arrivals(EndpointStatistics statistics, double rate, int expected,
+            Function<SplittableRandom, HttpRequest> request) {}
+
+    /**
+     * Role given to the synthetic users.
+     */
+    private static final long     USER_ROLE  = 2;
+
+    /**
+     * First id for the synthetic users.
+     */
+    private static final long     USERS_FROM = 1000;
+
+    /**
+     * Runs the load test.
+     *
+     * @param args
+     *            path to the scenario file
+     * @throws Exception
+     *             if the load test fails
+     */
+    public static void main(final String[] args) throws Exception {
+        final LoadScenario                   scenario;
+        final ConfigurableApplicationContext context;
+        final int                            port;
+        final List<String>                   properties;
+
+        scenario = LoadScenario.read(Path.of(args[0]));
+
+        // Devtools would restart the application in another thread, losing the arguments
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        properties = new ArrayList<>(List.of("server.port=0", "spring.datasource.url=jdbc:h2:mem:load;DB_CLOSE_DELAY=-1",
+            "spring.main.banner-mode=off"));
+        scenario.application()
+            .forEach((name, value) -> properties.add(name + "=" + value));
+        context = new SpringApplicationBuilder(Application.class)
+            .properties(properties.toArray(String[]::new))
+            .run();
+        try {
+            seed(context, scenario);
+            port = ((WebServerApplicationContext) context).getWebServer()
+                .getPort();
+            new LoadTest(scenario, URI.create("http://localhost:" + port)).run();
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Returns the username for a synthetic user.
+     *
+     * @param index
+     *            index of the user
+     * @return the username for the user
+     */
+    private static final String getUsername(final int index) {
+        return String.format("load_%06d", index);
+    }
+
+    /**
+     * Adds the synthetic users to the database. All of them share the same password and role.
+     *
+     * @param context
+     *            application context
+     * @param scenario
+     *            load scenario
+     */
+    private static final void seed(final ConfigurableApplicationContext context, final LoadScenario scenario) {
+        final JdbcTemplate jdbcTemplate;
+        final String       password;
+
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        // Hashed only once, as it is the same for all the users
+        password = context.getBean(PasswordEncoder.class)
+            .encode(scenario.password());
+
+        jdbcTemplate.batchUpdate(
+            "INSERT INTO users (id, name, email, username, normalized_username, password, enabled, locked, expired, credentials_expired) VALUES (?, ?, ?, ?, ?, ?, true, false, false, false)",
+            IntStream.range(0, scenario.users())
+                .mapToObj(i -> new Object[] { USERS_FROM + i, getUsername(i), getUsername(i) + "@somewhere.com",
+                        getUsername(i), getUsername(i), password })
+                .toList());
+        jdbcTemplate.batchUpdate("INSERT INTO user_roles (user_id, role_id) VALUES (?, ?)",
+            IntStream.range(0, scenario.users())
+                .mapToObj(i -> new Object[] { USERS_FROM + i, USER_ROLE })
+                .toList());
+    }
+
+    /**
+     * Application URI.
+     */
+    private final URI                                      baseUri;
+
+    /**
+     * HTTP client for all the requests.
+     */
+    private final HttpClient                               client       = HttpClient.newHttpClient();
+
+    /**
+     * Requests still running, or already finished.
+     */
+    private final Collection<CompletableFuture<Void>>      futures      = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Object mapper, to read the login responses.
+     */
+    private final ObjectMapper                             objectMapper = new ObjectMapper();
+
+    /**
+     * Load scenario.
+     */
+    private final LoadScenario                             scenario;
+
+    public LoadTest(final LoadScenario scn, final URI uri) {
+        super();
+
+        scenario = Objects.requireNonNull(scn);
+        baseUri = Objects.requireNonNull(uri);
+    }
+
+    /**
+     * Sends the requests, and prints the statistics.
+     *
+     * @throws InterruptedException
+     *             if interrupted while waiting for the requests
+     */
+    public final void run() throws InterruptedException {
+        final List<String>   tokens;
+        final List<Arrivals> arrivals;
+        final List<Thread>   generators;
+        final long           start;
+        final long           recordFrom;
+        final long           end;
+        final ThreadMXBean   threads;
+
+        tokens = IntStream.range(0, Math.min(scenario.tokens(), scenario.users()))
+            .mapToObj(this::login)
+            .toList();
+
+        arrivals = List.of(
+            new Arrivals(new EndpointStatistics("login"), scenario.loginRate(), HttpStatus.OK.value(),
+                random -> getLoginRequest(getUsername(random.nextInt(scenario.users())))),
+            new Arrivals(new EndpointStatistics("person"), scenario.personRate(), HttpStatus.OK.value(),
+                random -> getPersonRequest(tokens.get(random.nextInt(tokens.size())))),
+            new Arrivals(new EndpointStatistics("anonymous"), scenario.anonymousRate(),
+                HttpStatus.UNAUTHORIZED.value(), random -> getPersonRequest(null)));
+
+        threads = ManagementFactory.getThreadMXBean();
+        threads.resetPeakThreadCount();
+
+        start = System.nanoTime();
+        recordFrom = start + scenario.warmup()
+            .toNanos();
+        end = recordFrom + scenario.duration()
+            .toNanos();
+
+        generators = new ArrayList<>();
+        for (int i = 0; i < arrivals.size(); i++) {
+            final Arrivals         current = arrivals.get(i);
+            // Each generator has its own seed, so runs send the same requests
+            final SplittableRandom random  = new SplittableRandom(scenario.seed() + i);
+
+            final Thread           generator;
+
+            if (current.rate() > 0) {
+                generator = new Thread(() -> generate(current, random, start, recordFrom, end), "load-" + current
+                    .statistics()
+                    .getName());
+                generator.start();
+                generators.add(generator);
+            }
+        }
+        for (final Thread generator : generators) {
+            generator.join();
+        }
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .get(scenario.timeout()
+                    .toSeconds(), TimeUnit.SECONDS);
+        } catch (final ExecutionException | TimeoutException e) {
+            System.out.println("Not all the requests finished: " + e.getMessage());
+        }
+
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "errors", "error",
+            "p50 (ms)", "p99 (ms)", "p99.9 (ms)", "max (ms)");
+        for (final Arrivals current : arrivals) {
+            current.statistics()
+                .print(System.out);
+        }
+        System.out.printf("%nPeak threads: %d%nHeap used: %d MB%n", threads.getPeakThreadCount(),
+            ManagementFactory.getMemoryMXBean()
+                .getHeapMemoryUsage()
+                .getUsed() / (1024 * 1024));
+    }
+
+    /**
+     * Sends requests at a constant rate until the end time.
+     *
+     * @param arrivals
+     *            requests to send
+     * @param random
+     *            random generator for the requests
+     * @param start
+     *            nano time for the first request
+     * @param recordFrom
+     *            nano time from which requests are recorded
+     * @param end
+     *            nano time after which no more requests are sent
+     */
+    private final void generate(final Arrivals arrivals, final SplittableRandom random, final long start,
+            final long recordFrom, final long end) {
+        final double interval;
+        long         scheduled;
+        long         wait;
+        int          sent;
+
+        interval = TimeUnit.SECONDS.toNanos(1) / arrivals.rate();
+        sent = 0;
+        scheduled = start;
+        while (scheduled < end) {
+            final long        time    = scheduled;
+            final HttpRequest request = arrivals.request()
+                .apply(random);
+
+            wait = scheduled - System.nanoTime();
+            while (wait > 0) {
+                LockSupport.parkNanos(wait);
+                wait = scheduled - System.nanoTime();
+            }
+
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    if (time >= recordFrom) {
+                        arrivals.statistics()
+                            .record(time, (error == null) && (response.statusCode() == arrivals.expected()));
+                    }
+                    return null;
+                }));
+
+            sent++;
+            scheduled = start + (long) (sent * interval);
+        }
+    }
+
+    /**
+     * Returns a login request for the user.
+     *
+     * @param username
+     *            user to log in
+     * @return a login request
+     */
+    private final HttpRequest getLoginRequest(final String username) {
+        final String body;
+
+        body = String.format("{\"username\":\"%s\",\"password\":\"%s\"}", username, scenario.password());
+        return HttpRequest.newBuilder(baseUri.resolve("/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    }
+
+    /**
+     * Returns a person request. If there is a token, it is added to the authorization header.
+     *
+     * @param token
+     *            token for the request, or {@code null} for an unauthenticated request
+     * @return a person request
+     */
+    private final HttpRequest getPersonRequest(final String token) {
+        final HttpRequest.Builder builder;
+
+        builder = HttpRequest.newBuilder(baseUri.resolve("/person?size=" + scenario.personSize()))
+            .GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+
+        return builder.build();
+    }
+
+    /**
+     * Logs in a synthetic user, and returns its token.
+     *
+     * @param index
+     *            index of the user
+     * @return the token for the user
+     */
+    private final String login(final int index) {
+        final HttpResponse<String> response;
+        final String               token;
+
+        try {
+            response = client.send(getLoginRequest(getUsername(index)), HttpResponse.BodyHandlers.ofString());
+            token = objectMapper.readTree(response.body())
+                .path("content")
+                .path("token")
+                .asText();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            throw new IllegalStateException(e);
+        }
+
+        return token;
+    }
+
+}
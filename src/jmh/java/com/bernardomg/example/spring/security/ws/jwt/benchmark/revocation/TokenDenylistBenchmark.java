@@ -0,0 +1,133 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.revocation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.bernardomg.example.spring.security.ws.jwt.bloom.BloomFilter;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.InMemoryTokenDenylist;
+
+/**
+ * Benchmarks checking a token against the denylist, which is done on each authenticated request. Almost all the
+ * tokens are not revoked, so this is the case which matters.
+ * <p>
+ * A Bloom filter check is included, to tell if a pre-check would pay off. It doesn't, as hashing the id for the filter
+ * costs as much as the map lookup.
+ * <p>
+ * The token id is copied on each check, as the filter decodes a new id for each request, so its hash is never cached.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenDenylistBenchmark {
+
+    /**
+     * Denylist to benchmark.
+     */
+    private InMemoryTokenDenylist denylist;
+
+    /**
+     * Bloom filter with the same revoked tokens, to compare with a pre-check.
+     */
+    private BloomFilter           filter;
+
+    /**
+     * Id for a token which is not revoked.
+     */
+    private String                notRevoked;
+
+    /**
+     * Number of revoked tokens.
+     */
+    @Param({ "0", "10000" })
+    private int                   revoked;
+
+    /**
+     * Id for a revoked token.
+     */
+    private String                revokedId;
+
+    @Benchmark
+    public boolean bloomNotRevoked() {
+        return filter.mightContain(new String(notRevoked));
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return denylist.isRevoked(new String(notRevoked));
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return denylist.isRevoked(new String(revokedId));
+    }
+
+    @Setup
+    public void setup() {
+        final Instant expiration;
+        String        id;
+
+        expiration = Instant.now()
+            .plus(1, ChronoUnit.DAYS);
+        denylist = new InMemoryTokenDenylist(Clock.systemUTC());
+        filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < revoked; i++) {
+            id = UUID.randomUUID()
+                .toString();
+            denylist.revoke(id, expiration);
+            filter.add(id);
+        }
+
+        revokedId = UUID.randomUUID()
+            .toString();
+        denylist.revoke(revokedId, expiration);
+        filter.add(revokedId);
+        notRevoked = UUID.randomUUID()
+            .toString();
+    }
+
+}
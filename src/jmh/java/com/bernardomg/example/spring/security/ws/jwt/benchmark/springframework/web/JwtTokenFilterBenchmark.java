@@ -0,0 +1,279 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.benchmark.springframework.web;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.config.Configurator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.benchmark.encoding.BenchmarkTokens;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.DisabledTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ServiceTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.DisabledTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * Benchmarks the full request path of {@link JwtTokenFilter}, from the authorization header to the security context.
+ * <p>
+ * Each scenario is run with 1, 2, 4, 8 and as many threads as processors, to show contention in the filter, the
+ * security context and the logging calls. Logging is disabled by default, so only the level checks are measured. It
+ * can be enabled with {@code -p logLevel=DEBUG}.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenFilterBenchmark {
+
+    /**
+     * Request scenarios.
+     */
+    public enum Scenario {
+        /**
+         * Valid token for a disabled user.
+         */
+        DISABLED_USER,
+        /**
+         * Expired token.
+         */
+        EXPIRED,
+        /**
+         * Authorization header with an unknown scheme.
+         */
+        MALFORMED,
+        /**
+         * No authorization header.
+         */
+        MISSING,
+        /**
+         * Valid token for a valid user.
+         */
+        VALID
+    }
+
+    /**
+     * Filter shared by all the threads.
+     */
+    @State(Scope.Benchmark)
+    public static class FilterState {
+
+        /**
+         * Filter to benchmark.
+         */
+        private JwtTokenFilter filter;
+
+        /**
+         * Log level for the application.
+         */
+        @Param({ "OFF" })
+        private String         logLevel;
+
+        @Setup
+        public void setup() {
+            final UserDetailsService userDetailsService;
+
+            Configurator.setLevel("com.bernardomg.example", Level.valueOf(logLevel));
+
+            userDetailsService = username -> User.withUsername(username)
+                .password("password")
+                .disabled(DISABLED.equals(username))
+                .authorities(List.of(new SimpleGrantedAuthority("DATA:READ")))
+                .build();
+            filter = new JwtTokenFilter(new ServiceTokenUserDetailsLoader(userDetailsService),
+                new JjwtTokenDecoder(BenchmarkTokens.KEY), new DisabledTokenAuthenticationCache(),
+                new DisabledTokenDenylist(), Metrics.globalRegistry);
+        }
+
+    }
+
+    /**
+     * Request for each thread.
+     */
+    @State(Scope.Thread)
+    public static class RequestState {
+
+        /**
+         * Request to filter.
+         */
+        private MockHttpServletRequest  request;
+
+        /**
+         * Response for the request.
+         */
+        private MockHttpServletResponse response;
+
+        /**
+         * Request scenario.
+         */
+        @Param
+        private Scenario                scenario;
+
+        @Setup
+        public void setup() {
+            request = new MockHttpServletRequest("GET", "/person");
+            request.setServletPath("/person");
+            response = new MockHttpServletResponse();
+
+            switch (scenario) {
+                case DISABLED_USER:
+                    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + getToken(DISABLED, Duration.ofDays(1)));
+                    break;
+                case EXPIRED:
+                    request.addHeader(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + getToken(BenchmarkTokens.SUBJECT, Duration.ofDays(-1)));
+                    break;
+                case MALFORMED:
+                    request.addHeader(HttpHeaders.AUTHORIZATION, "Basic YWRtaW46MTIzNA==");
+                    break;
+                case MISSING:
+                    break;
+                case VALID:
+                default:
+                    request.addHeader(HttpHeaders.AUTHORIZATION,
+                        "Bearer " + getToken(BenchmarkTokens.SUBJECT, Duration.ofDays(1)));
+            }
+        }
+
+        /**
+         * Returns a token for the user, expiring after the received time.
+         *
+         * @param username
+         *            token subject
+         * @param validity
+         *            time until the token expires, negative for expired tokens
+         * @return a token for the user
+         */
+        private final String getToken(final String username, final Duration validity) {
+            final TokenEncoder encoder;
+            final Instant      issuedAt;
+
+            encoder = new JjwtTokenEncoder(BenchmarkTokens.KEY);
+            issuedAt = Instant.now();
+            return encoder.encode(JwtTokenData.builder()
+                .withSubject(username)
+                .withIssuedAt(issuedAt)
+                .withExpiration(issuedAt.plus(validity))
+                .build());
+        }
+
+    }
+
+    /**
+     * Username for the disabled user.
+     */
+    private static final String      DISABLED = "disabled";
+
+    /**
+     * Filter chain which ends the request. It clears the security context, as the security filters would.
+     */
+    private static final FilterChain CHAIN    = (req, res) -> SecurityContextHolder.clearContext();
+
+    @Benchmark
+    @Threads(8)
+    public void eightThreads(final FilterState filter, final RequestState request)
+            throws ServletException, IOException {
+        filter(filter, request);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void fourThreads(final FilterState filter, final RequestState request)
+            throws ServletException, IOException {
+        filter(filter, request);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void maxThreads(final FilterState filter, final RequestState request) throws ServletException, IOException {
+        filter(filter, request);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void oneThread(final FilterState filter, final RequestState request) throws ServletException, IOException {
+        filter(filter, request);
+    }
+
+    @Benchmark
+    @Threads(2)
+    public void twoThreads(final FilterState filter, final RequestState request) throws ServletException, IOException {
+        filter(filter, request);
+    }
+
+    /**
+     * Sends the request through the filter.
+     *
+     * @param filter
+     *            filter state
+     * @param request
+     *            request state
+     * @throws ServletException
+     *             if the filter fails
+     * @throws IOException
+     *             if the filter fails
+     */
+    private final void filter(final FilterState filter, final RequestState request)
+            throws ServletException, IOException {
+        filter.filter.doFilter(request.request, request.response, CHAIN);
+    }
+
+}
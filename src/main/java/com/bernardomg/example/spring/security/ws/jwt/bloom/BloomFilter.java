@@ -0,0 +1,198 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.bloom;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter for strings. Tells if a value was never added, without storing the values. It may answer that a value
+ * was added when it wasn't, but never the opposite.
+ * <p>
+ * The bits are stored in an atomic array, so values can be added and checked concurrently without locks.
+ * <h2>Hashing</h2>
+ * <p>
+ * Each value is hashed once into 64 bits, and the positions are derived from it through double hashing. The hash is
+ * mixed, so similar values, such as usernames with a numeric suffix, are spread across the filter.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class BloomFilter {
+
+    /**
+     * Bits in each word.
+     */
+    private static final int      WORD_BITS = Long.SIZE;
+
+    /**
+     * Filter bits.
+     */
+    private final AtomicLongArray bits;
+
+    /**
+     * Number of bits.
+     */
+    private final long            bitCount;
+
+    /**
+     * Number of positions set for each value.
+     */
+    private final int             hashes;
+
+    /**
+     * Constructs a filter sized for the expected values and false positive rate.
+     *
+     * @param expected
+     *            expected number of values
+     * @param falsePositiveRate
+     *            false positive rate, once the expected values are added
+     */
+    public BloomFilter(final long expected, final double falsePositiveRate) {
+        super();
+
+        final long   values;
+        final double optimalBits;
+
+        if ((falsePositiveRate <= 0) || (falsePositiveRate >= 1)) {
+            throw new IllegalArgumentException("The false positive rate should be between 0 and 1");
+        }
+
+        values = Math.max(1, expected);
+        optimalBits = (-values * Math.log(falsePositiveRate)) / (Math.log(2) * Math.log(2));
+        bits = new AtomicLongArray(Math.toIntExact(Math.max(1, (long) Math.ceil(optimalBits / WORD_BITS))));
+        bitCount = (long) bits.length() * WORD_BITS;
+        hashes = Math.max(1, (int) Math.round(((double) bitCount / values) * Math.log(2)));
+    }
+
+    /**
+     * Adds the value to the filter.
+     *
+     * @param value
+     *            value to add
+     */
+    public final void add(final String value) {
+        final long hash;
+        final long first;
+        final long second;
+        long       position;
+
+        hash = hash(value);
+        first = hash;
+        second = mix(hash) | 1;
+        for (int i = 0; i < hashes; i++) {
+            position = Math.floorMod(first + (i * second), bitCount);
+            set(position);
+        }
+    }
+
+    /**
+     * Checks if the value may have been added. A {@code false} is always right, while a {@code true} may be a false
+     * positive.
+     *
+     * @param value
+     *            value to check
+     * @return {@code true} if the value may have been added, {@code false} if it was never added
+     */
+    public final boolean mightContain(final String value) {
+        final long hash;
+        final long first;
+        final long second;
+        boolean    contained;
+        int        i;
+
+        hash = hash(value);
+        first = hash;
+        second = mix(hash) | 1;
+        contained = true;
+        i = 0;
+        while (contained && (i < hashes)) {
+            contained = isSet(Math.floorMod(first + (i * second), bitCount));
+            i++;
+        }
+
+        return contained;
+    }
+
+    /**
+     * Returns the 64 bits hash for the value.
+     *
+     * @param value
+     *            value to hash
+     * @return the hash for the value
+     */
+    private final long hash(final String value) {
+        long hash;
+
+        // FNV-1a over the chars
+        hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return mix(hash);
+    }
+
+    /**
+     * Checks if the bit is set.
+     *
+     * @param position
+     *            bit to check
+     * @return {@code true} if the bit is set, {@code false} otherwise
+     */
+    private final boolean isSet(final long position) {
+        return (bits.get((int) (position / WORD_BITS)) & (1L << (position % WORD_BITS))) != 0;
+    }
+
+    /**
+     * Mixes the bits of the value. This is the SplitMix64 finalizer.
+     *
+     * @param value
+     *            value to mix
+     * @return the mixed value
+     */
+    private final long mix(final long value) {
+        long mixed;
+
+        mixed = value;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xbf58476d1ce4e5b9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94d049bb133111ebL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    /**
+     * Sets the bit.
+     *
+     * @param position
+     *            bit to set
+     */
+    private final void set(final long position) {
+        final long mask;
+
+        mask = 1L << (position % WORD_BITS);
+        bits.getAndAccumulate((int) (position / WORD_BITS), mask, (current, bit) -> current | bit);
+    }
+
+}
@@ -24,10 +24,9 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.config;
 
-import java.nio.charset.StandardCharsets;
-
-import javax.crypto.SecretKey;
+import java.time.Clock;
 
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -36,11 +35,23 @@
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenValidator;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512Key;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyRing;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyStoreLoader;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenValidator;
-
-import io.jsonwebtoken.security.Keys;
+import com.bernardomg.example.spring.security.ws.jwt.jwks.usecase.service.DefaultJwksService;
+import com.bernardomg.example.spring.security.ws.jwt.jwks.usecase.service.JwksService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.CaffeineTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.DisabledTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.TokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.time.CoarseClock;
+
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 
 /**
@@ -62,61 +73,171 @@ public JwtConfig() {
     }
 
     /**
-     * Returns the token decoder.
+     * Returns the clock for token dates. If the coarse clock is enabled, this is a clock with a precision of seconds,
+     * which is cheaper to read. Otherwise, it is the system clock.
+     *
+     * @param properties
+     *            JWT configuration properties
+     * @return the clock for token dates
+     */
+    @Bean("jwtClock")
+    public Clock getClock(final JwtProperties properties) {
+        final Clock clock;
+
+        if (properties.isCoarseClock()) {
+            log.info("Token dates will be checked against a coarse clock, with a precision of seconds");
+            clock = new CoarseClock(Clock.systemUTC());
+        } else {
+            clock = Clock.systemUTC();
+        }
+
+        return clock;
+    }
+
+    /**
+     * Returns the cache for verified tokens. If the cache is disabled, then a cache which stores nothing is returned.
      *
      * @param properties
      *            JWT configuration properties
+     * @param meterRegistry
+     *            registry for the cache metrics
+     * @param jwtClock
+     *            clock for the token expiration
+     * @return the cache for verified tokens
+     */
+    @Bean("tokenAuthenticationCache")
+    public TokenAuthenticationCache getTokenAuthenticationCache(final JwtProperties properties,
+            final MeterRegistry meterRegistry, final Clock jwtClock) {
+        final TokenAuthenticationCache cache;
+
+        if (properties.getCache()
+            .isEnabled()) {
+            log.info("Verified tokens will be cached, up to {} tokens", properties.getCache()
+                .getMaximumSize());
+            cache = new CaffeineTokenAuthenticationCache(properties.getCache()
+                .getMaximumSize(), meterRegistry, jwtClock);
+        } else {
+            cache = new DisabledTokenAuthenticationCache();
+        }
+
+        return cache;
+    }
+
+    /**
+     * Returns the JSON Web Key Set service, which publishes the public keys.
+     *
+     * @param keyRing
+     *            keys for signing tokens
+     * @param properties
+     *            JWT configuration properties
+     * @return the JSON Web Key Set service
+     */
+    @Bean("jwksService")
+    public JwksService getJwksService(final JjwtKeyRing keyRing, final JwtProperties properties) {
+        return new DefaultJwksService(keyRing, properties.getJwks()
+            .getMaxAge());
+    }
+
+    /**
+     * Returns the keys for signing and verifying tokens. These are taken from the key store, if there is one.
+     * Otherwise, a single key is built for the configured algorithm.
+     *
+     * @param properties
+     *            JWT configuration properties
+     * @param keyStoreLoader
+     *            loader for the key store, only available if there is a key store
+     * @return the keys for signing tokens
+     */
+    @Bean("jwtKeyRing")
+    public JjwtKeyRing getKeyRing(final JwtProperties properties,
+            final ObjectProvider<JjwtKeyStoreLoader> keyStoreLoader) {
+        final JjwtKeyStoreLoader loader;
+        final JjwtKeyRing        keyRing;
+
+        loader = keyStoreLoader.getIfAvailable();
+        if (loader == null) {
+            log.info("Security tokens will be signed with {}", properties.getAlgorithm());
+            keyRing = new JjwtKeyRing(JjwtSigningKey.of(properties.getAlgorithm(), properties.getSecret()));
+        } else {
+            keyRing = loader.getKeyRing();
+            log.info("Security tokens will be signed with key {}, out of {}", keyRing.getCurrentId(),
+                keyRing.getIds());
+        }
+
+        return keyRing;
+    }
+
+    /**
+     * Returns the token decoder. This is the HS512 decoder if that codec is selected, otherwise the JJWT decoder.
+     *
+     * @param keyRing
+     *            keys for verifying tokens
+     * @param hs512Key
+     *            key for the HS512 codec, only available if it is selected
+     * @param jwtClock
+     *            clock for the token dates
      * @return the token encoder
      */
     @Bean("jwtTokenDecoder")
     @ConditionalOnMissingBean({ TokenDecoder.class })
-    public TokenDecoder getTokenDecoder(final JwtProperties properties) {
-        final SecretKey key;
-
-        // TODO: Shouldn't the key be unique?
-        key = Keys.hmacShaKeyFor(properties.getSecret()
-            .getBytes(StandardCharsets.UTF_8));
-        return new JjwtTokenDecoder(key);
+    public TokenDecoder getTokenDecoder(final JjwtKeyRing keyRing, final ObjectProvider<Hs512Key> hs512Key,
+            final Clock jwtClock) {
+        final Hs512Key     key;
+        final TokenDecoder decoder;
+
+        key = hs512Key.getIfAvailable();
+        if (key == null) {
+            decoder = new JjwtTokenDecoder(keyRing, jwtClock);
+        } else {
+            decoder = new Hs512TokenDecoder(key, jwtClock);
+        }
+
+        return decoder;
     }
 
     /**
-     * Returns the token encoder.
+     * Returns the token encoder. This is the HS512 encoder if that codec is selected, otherwise the JJWT encoder.
      *
      * @param properties
      *            JWT configuration properties
+     * @param keyRing
+     *            keys for signing tokens
+     * @param hs512Key
+     *            key for the HS512 codec, only available if it is selected
      * @return the token encoder
      */
     @Bean("jwtTokenEncoder")
     @ConditionalOnMissingBean({ TokenEncoder.class })
-    public TokenEncoder getTokenEncoder(final JwtProperties properties) {
-        final SecretKey key;
-
-        // TODO: Shouldn't the key be unique?
-        key = Keys.hmacShaKeyFor(properties.getSecret()
-            .getBytes(StandardCharsets.UTF_8));
+    public TokenEncoder getTokenEncoder(final JwtProperties properties, final JjwtKeyRing keyRing,
+            final ObjectProvider<Hs512Key> hs512Key) {
+        final Hs512Key     key;
+        final TokenEncoder encoder;
 
         log.info("Security tokens will have a validity of {}", properties.getValidity());
 
-        return new JjwtTokenEncoder(key);
+        key = hs512Key.getIfAvailable();
+        if (key == null) {
+            encoder = new JjwtTokenEncoder(keyRing);
+        } else {
+            encoder = new Hs512TokenEncoder(key);
+        }
+
+        return encoder;
     }
 
     /**
-     * Returns the token validator.
+     * Returns the token validator. It shares the token decoder, so tokens are verified only once.
      *
-     * @param properties
-     *            JWT configuration properties
+     * @param decoder
+     *            token decoder
+     * @param jwtClock
+     *            clock for the token expiration
      * @return the token validator
      */
     @Bean("jwtTokenValidator")
     @ConditionalOnMissingBean({ TokenValidator.class })
-    public TokenValidator getTokenValidator(final JwtProperties properties) {
-        final SecretKey key;
-
-        // TODO: Shouldn't the key be unique?
-        key = Keys.hmacShaKeyFor(properties.getSecret()
-            .getBytes(StandardCharsets.UTF_8));
-
-        return new JjwtTokenValidator(key);
+    public TokenValidator getTokenValidator(final TokenDecoder decoder, final Clock jwtClock) {
+        return new JjwtTokenValidator(decoder, jwtClock);
     }
 
 }
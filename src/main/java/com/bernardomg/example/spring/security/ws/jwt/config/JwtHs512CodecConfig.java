@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512Key;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyRing;
+
+import io.jsonwebtoken.security.Keys;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Hand tuned HS512 codec configuration. Only applied when this codec is selected.
+ * <p>
+ * The codec supports a single HS512 key, built from the secret, so it can't be used with other algorithms or with a
+ * key store.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "security.jwt", name = "codec", havingValue = "hs512")
+@Slf4j
+public class JwtHs512CodecConfig {
+
+    /**
+     * Default constructor.
+     */
+    public JwtHs512CodecConfig() {
+        super();
+    }
+
+    /**
+     * Returns the key for the HS512 codec. It has the same id as the JJWT key, so tokens are interchangeable between
+     * both codecs.
+     *
+     * @param properties
+     *            JWT configuration properties
+     * @param keyRing
+     *            keys for the JJWT codec
+     * @return the key for the HS512 codec
+     */
+    @Bean("hs512Key")
+    public Hs512Key getHs512Key(final JwtProperties properties, final JjwtKeyRing keyRing) {
+        if (properties.getAlgorithm() != SigningAlgorithm.HS512) {
+            throw new IllegalStateException(
+                "The HS512 codec can't sign with " + properties.getAlgorithm() + ", only with HS512");
+        }
+        if (properties.getKeys()
+            .getStore() != null) {
+            throw new IllegalStateException("The HS512 codec doesn't support key stores");
+        }
+
+        log.info("Security tokens will be encoded with the HS512 codec");
+
+        return new Hs512Key(keyRing.getCurrentId(), Keys.hmacShaKeyFor(properties.getSecret()
+            .getBytes(StandardCharsets.UTF_8)));
+    }
+
+}
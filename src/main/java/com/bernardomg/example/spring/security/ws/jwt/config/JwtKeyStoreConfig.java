@@ -0,0 +1,105 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.time.Clock;
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyStoreLoader;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JWT key store configuration. Only applied when there is a key store.
+ * <p>
+ * The key store is read when the loader is created, and then checked periodically, so changes to it are applied and
+ * old keys are retired without a restart.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "security.jwt.keys", name = "store")
+@EnableScheduling
+@Slf4j
+public class JwtKeyStoreConfig {
+
+    /**
+     * Clock for activating and retiring keys.
+     */
+    private final Clock         clock;
+
+    /**
+     * JWT configuration properties.
+     */
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Constructs a configuration with the received arguments.
+     *
+     * @param jwtProps
+     *            JWT configuration properties
+     * @param jwtClock
+     *            clock for activating and retiring keys
+     */
+    public JwtKeyStoreConfig(final JwtProperties jwtProps, final Clock jwtClock) {
+        super();
+
+        jwtProperties = Objects.requireNonNull(jwtProps);
+        clock = Objects.requireNonNull(jwtClock);
+    }
+
+    /**
+     * Loader for the key store.
+     *
+     * @return the key store loader
+     */
+    @Bean("jwtKeyStoreLoader")
+    public JjwtKeyStoreLoader getKeyStoreLoader() {
+        final JwtProperties.KeyStore properties;
+
+        properties = jwtProperties.getKeys();
+        log.info("Security token keys will be read from {}", properties.getStore());
+
+        return new JjwtKeyStoreLoader(properties.getStore(), properties.getPassword()
+            .toCharArray(), properties.getActivationDelay(), jwtProperties.getValidity(), clock);
+    }
+
+    /**
+     * Refreshes the keys, so key store changes are applied and old keys are retired.
+     */
+    @Scheduled(initialDelayString = "${security.jwt.keys.refresh-interval:PT1M}",
+            fixedDelayString = "${security.jwt.keys.refresh-interval:PT1M}")
+    public void refreshKeyStore() {
+        getKeyStoreLoader().refresh();
+    }
+
+}
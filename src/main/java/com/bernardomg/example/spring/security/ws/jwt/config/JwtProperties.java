@@ -24,9 +24,14 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.config;
 
+import java.nio.file.Path;
 import java.time.Duration;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenCodec;
 
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
@@ -41,21 +46,198 @@
 @ConfigurationProperties(prefix = "security.jwt")
 public final class JwtProperties {
 
+    /**
+     * Algorithm used to sign tokens, when there is no key store. HMAC algorithms sign with the secret, while the others
+     * generate a new key pair on each start.
+     */
+    @NotNull
+    private SigningAlgorithm algorithm  = SigningAlgorithm.HS512;
+
+    /**
+     * Verified tokens cache configuration.
+     */
+    @NotNull
+    private TokenCache       cache      = new TokenCache();
+
+    /**
+     * Implementation used to encode and decode tokens. The HS512 codec only supports the HS512 algorithm, without a
+     * key store.
+     */
+    @NotNull
+    private TokenCodec       codec      = TokenCodec.JJWT;
+
+    /**
+     * Checks token dates against a clock which is updated in the background, with a precision of seconds. Reading it
+     * is cheaper than reading the system clock.
+     */
+    private boolean          coarseClock;
+
     /**
      * JWT token id.
      */
-    private String   id;
+    private String           id;
 
     /**
-     * Secret seed for generating JWT tokens.
+     * JSON Web Key Set configuration.
      */
     @NotNull
-    private String   secret;
+    private Jwks             jwks       = new Jwks();
+
+    /**
+     * Key store configuration.
+     */
+    @NotNull
+    private KeyStore         keys       = new KeyStore();
+
+    /**
+     * Token revocation configuration.
+     */
+    @NotNull
+    private Revocation       revocation = new Revocation();
+
+    /**
+     * Secret seed for generating JWT tokens. Only used by HMAC algorithms, when there is no key store.
+     */
+    @NotNull
+    private String           secret;
+
+    /**
+     * Stateless authorization configuration.
+     */
+    @NotNull
+    private Stateless        stateless  = new Stateless();
 
     /**
      * Validity length, in seconds, for JWT tokens.
      */
     @NotNull
-    private Duration validity = Duration.ofHours(1);
+    private Duration         validity   = Duration.ofHours(1);
+
+    /**
+     * JSON Web Key Set configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Jwks {
+
+        /**
+         * Time the public keys can be cached by clients.
+         */
+        private Duration maxAge = Duration.ofDays(1);
+
+    }
+
+    /**
+     * Key store configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class KeyStore {
+
+        /**
+         * Time after adding a key to the key store before it starts signing tokens. Should be longer than the time the
+         * public keys are cached, so clients know the key before it is used.
+         */
+        private Duration activationDelay = Duration.ZERO;
+
+        /**
+         * Key store password.
+         */
+        private String   password        = "";
+
+        /**
+         * Time between checks for key store changes and retired keys.
+         */
+        private Duration refreshInterval = Duration.ofMinutes(1);
+
+        /**
+         * PKCS12 key store file with the signing keys. If not set, a single key is used, built from the algorithm and
+         * secret.
+         */
+        private Path     store;
+
+    }
+
+    /**
+     * Token revocation configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Revocation {
+
+        /**
+         * File for the revoked tokens, so they are kept after a restart. If not set, they are only kept in memory.
+         */
+        private Path     file;
+
+        /**
+         * Initial size for the revoked tokens file. It grows when full.
+         */
+        @NotNull
+        private DataSize fileSize      = DataSize.ofMegabytes(1);
+
+        /**
+         * Time between removals of expired tokens.
+         */
+        @NotNull
+        private Duration pruneInterval = Duration.ofMinutes(1);
+
+    }
+
+    /**
+     * Stateless authorization configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Stateless {
+
+        /**
+         * Enables stateless authorization. Tokens will contain the user privileges and version, and requests will be
+         * authorized from them.
+         */
+        private boolean  enabled          = false;
+
+        /**
+         * Maximum number of user versions to keep in the cache.
+         */
+        private long     versionCacheSize = 10_000;
+
+        /**
+         * Time a user version is kept in the cache. Outdated tokens may be accepted during this time after a user
+         * changes.
+         */
+        private Duration versionTtl       = Duration.ofMinutes(1);
+
+    }
+
+    /**
+     * Verified tokens cache configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class TokenCache {
+
+        /**
+         * Enables caching verified tokens. Cached tokens won't reload the user until they expire, so changes to the
+         * user won't be applied to them.
+         */
+        private boolean enabled     = false;
+
+        /**
+         * Maximum number of tokens to keep in the cache.
+         */
+        private long    maximumSize = 10_000;
+
+    }
 
 }
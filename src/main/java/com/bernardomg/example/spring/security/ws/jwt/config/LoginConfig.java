@@ -24,10 +24,20 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.config;
 
+import java.time.Clock;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
 
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
@@ -36,8 +46,23 @@
 import com.bernardomg.example.spring.security.ws.jwt.login.springframework.usecase.service.SpringValidLoginPredicate;
 import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
 import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.TimedLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.DisabledLoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.LoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.TokenBucketLoginRateLimiter;
 import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.LoginService;
 import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.TokenLoginService;
+import com.bernardomg.example.spring.security.ws.jwt.ratelimit.KeyedRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.BulkheadPasswordEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.PasswordUpgrader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.TimedPasswordEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * JWT components configuration.
@@ -46,6 +71,8 @@
  *
  */
 @Configuration
+@EnableConfigurationProperties(LoginProperties.class)
+@Slf4j
 public class LoginConfig {
 
     /**
@@ -55,17 +82,105 @@ public LoginConfig() {
         super();
     }
 
+    /**
+     * Returns the executor for checking passwords. It has a fixed number of threads and a bounded queue, and rejects
+     * the logins which don't fit into it.
+     *
+     * @param loginProperties
+     *            login configuration
+     * @param meterRegistry
+     *            registry for the executor metrics
+     * @return the executor for checking passwords
+     */
+    @Bean(name = "loginPasswordCheckExecutor", destroyMethod = "shutdown")
+    public ExecutorService getLoginPasswordCheckExecutor(final LoginProperties loginProperties,
+            final MeterRegistry meterRegistry) {
+        final LoginProperties.PasswordCheck passwordCheck;
+        final Counter                       rejections;
+        final ThreadPoolExecutor            executor;
+
+        passwordCheck = loginProperties.getPasswordCheck();
+        rejections = Counter.builder("security.login.rejections")
+            .description("Logins rejected as there were too many waiting")
+            .register(meterRegistry);
+        executor = new ThreadPoolExecutor(passwordCheck.getThreads(), passwordCheck.getThreads(), 0,
+            TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(passwordCheck.getQueueSize()),
+            new CustomizableThreadFactory("login-"), (task, exec) -> {
+                rejections.increment();
+                throw new RejectedExecutionException("Login queue is full");
+            });
+
+        return ExecutorServiceMetrics.monitor(meterRegistry, executor, "login");
+    }
+
+    /**
+     * Returns the login rate limiter. If rate limiting is disabled, all the attempts are allowed.
+     *
+     * @param loginProperties
+     *            login configuration
+     * @param meterRegistry
+     *            registry for the throttled attempts
+     * @return the login rate limiter
+     */
+    @Bean("loginRateLimiter")
+    public LoginRateLimiter getLoginRateLimiter(final LoginProperties loginProperties,
+            final MeterRegistry meterRegistry) {
+        final LoginProperties.RateLimit rateLimit;
+        final LoginRateLimiter          limiter;
+
+        rateLimit = loginProperties.getRateLimit();
+        if (rateLimit.isEnabled()) {
+            log.info("Login attempts limited to {} per username and {} per address, refilled every {} and {}",
+                rateLimit.getUsernameCapacity(), rateLimit.getAddressCapacity(),
+                rateLimit.getUsernameRefillInterval(), rateLimit.getAddressRefillInterval());
+            limiter = new TokenBucketLoginRateLimiter(
+                new KeyedRateLimiter(rateLimit.getUsernameCapacity(), rateLimit.getUsernameRefillInterval(),
+                    rateLimit.getMaximumKeys()),
+                new KeyedRateLimiter(rateLimit.getAddressCapacity(), rateLimit.getAddressRefillInterval(),
+                    rateLimit.getMaximumKeys()),
+                meterRegistry);
+        } else {
+            limiter = new DisabledLoginRateLimiter();
+        }
+
+        return limiter;
+    }
+
     @Bean("loginService")
     public LoginService getLoginService(final UserDetailsService userDetailsService,
-            final PasswordEncoder passwordEncoder, final TokenEncoder tokenEncoder, final JwtProperties jwtProperties) {
+            final PasswordEncoder passwordEncoder, final TokenEncoder tokenEncoder, final JwtProperties jwtProperties,
+            final UserRepository userRepository, final MeterRegistry meterRegistry,
+            final ExecutorService loginPasswordCheckExecutor, final PasswordProperties passwordProperties,
+            final ObjectProvider<UnknownUsernameFilter> unknownUsernameFilter, final Clock jwtClock) {
         final Predicate<Credentials> valid;
         final LoginTokenEncoder      loginTokenEncoder;
+        final PasswordEncoder        loginPasswordEncoder;
+        final PasswordUpgrader       passwordUpgrader;
 
-        valid = new SpringValidLoginPredicate(userDetailsService, passwordEncoder);
+        loginPasswordEncoder = new BulkheadPasswordEncoder(
+            new TimedPasswordEncoder(passwordEncoder, "security.login.password.match", meterRegistry),
+            loginPasswordCheckExecutor);
+        if (passwordProperties.isRehash()
+                && (userDetailsService instanceof final UserDetailsPasswordService passwordService)) {
+            // Outdated passwords are encoded again on the same executor, so they share the CPU budget
+            log.info("Passwords with an outdated encoding will be stored again on login");
+            passwordUpgrader = new PasswordUpgrader(passwordEncoder, passwordService, loginPasswordCheckExecutor);
+        } else {
+            passwordUpgrader = null;
+        }
+        // The filter only exists if enabled
+        valid = new SpringValidLoginPredicate(userDetailsService, loginPasswordEncoder, passwordUpgrader,
+            unknownUsernameFilter.getIfAvailable());
 
-        loginTokenEncoder = new JwtLoginTokenEncoder(tokenEncoder, jwtProperties.getValidity());
+        if (jwtProperties.getStateless()
+            .isEnabled()) {
+            loginTokenEncoder = new JwtLoginTokenEncoder(tokenEncoder, jwtProperties.getValidity(), userRepository,
+                jwtClock);
+        } else {
+            loginTokenEncoder = new JwtLoginTokenEncoder(tokenEncoder, jwtProperties.getValidity(), jwtClock);
+        }
 
-        return new TokenLoginService(valid, loginTokenEncoder);
+        return new TokenLoginService(valid, new TimedLoginTokenEncoder(loginTokenEncoder, meterRegistry));
     }
 
 }
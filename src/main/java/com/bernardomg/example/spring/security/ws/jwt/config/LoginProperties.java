@@ -0,0 +1,179 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Login configuration properties.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Data
+@ConfigurationProperties(prefix = "security.login")
+public final class LoginProperties {
+
+    /**
+     * Password check configuration.
+     */
+    @NotNull
+    private PasswordCheck passwordCheck = new PasswordCheck();
+
+    /**
+     * Rate limit configuration.
+     */
+    @NotNull
+    private RateLimit     rateLimit     = new RateLimit();
+
+    /**
+     * Unknown usernames filter configuration.
+     */
+    @NotNull
+    private UnknownUsers  unknownUsers  = new UnknownUsers();
+
+    /**
+     * Password check configuration properties. Passwords are checked on a bounded executor, so logins can't take all
+     * the CPU.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class PasswordCheck {
+
+        /**
+         * Maximum number of logins waiting for a thread. Logins received when it is full are rejected.
+         */
+        private int queueSize = 16;
+
+        /**
+         * Number of threads checking passwords. Defaults to half the available processors.
+         */
+        private int threads   = Math.max(1, Runtime.getRuntime()
+            .availableProcessors() / 2);
+
+    }
+
+    /**
+     * Rate limit configuration properties. When enabled, each username and each address can only try to log in at a
+     * limited rate.
+     * <p>
+     * Each username and address gets a bucket of tokens. Each attempt takes one token, and is rejected when there are
+     * none left. Tokens are added back at a fixed interval, up to the capacity.
+     * <p>
+     * Behind a proxy, {@code server.forward-headers-strategy} should be set, otherwise all the attempts come from the
+     * proxy address.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class RateLimit {
+
+        /**
+         * Maximum attempts in a burst from the same address.
+         */
+        private int      addressCapacity        = 20;
+
+        /**
+         * Time to allow another attempt from the same address.
+         */
+        @NotNull
+        private Duration addressRefillInterval  = Duration.ofSeconds(1);
+
+        /**
+         * Enables the rate limit.
+         */
+        private boolean  enabled                = false;
+
+        /**
+         * Maximum number of usernames, and of addresses, to track. The least used ones are forgotten first.
+         */
+        private long     maximumKeys            = 100_000;
+
+        /**
+         * Maximum attempts in a burst for the same username.
+         */
+        private int      usernameCapacity       = 5;
+
+        /**
+         * Time to allow another attempt for the same username.
+         */
+        @NotNull
+        private Duration usernameRefillInterval = Duration.ofSeconds(12);
+
+    }
+
+    /**
+     * Unknown usernames filter configuration properties. When enabled, logins for usernames which surely don't exist
+     * are rejected without reading them.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class UnknownUsers {
+
+        /**
+         * Enables the filter.
+         */
+        private boolean  enabled           = false;
+
+        /**
+         * Expected number of users. The filter is sized for at least this number.
+         */
+        private long     expectedUsers     = 100_000;
+
+        /**
+         * False positive rate for the filter. False positives are read, and then kept as missing usernames.
+         */
+        private double   falsePositiveRate = 0.01;
+
+        /**
+         * Maximum number of missing usernames to keep.
+         */
+        private long     missingSize       = 10_000;
+
+        /**
+         * Time a missing username is kept.
+         */
+        @NotNull
+        private Duration missingTtl        = Duration.ofSeconds(30);
+
+        /**
+         * Time between rebuilds of the filter, to include users created outside the application.
+         */
+        @NotNull
+        private Duration rebuildInterval   = Duration.ofMinutes(10);
+
+    }
+
+}
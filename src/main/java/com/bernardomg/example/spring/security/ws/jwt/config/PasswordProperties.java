@@ -0,0 +1,93 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Password encoding configuration properties.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Data
+@ConfigurationProperties(prefix = "security.password")
+public final class PasswordProperties {
+
+    /**
+     * Strength calibration configuration.
+     */
+    @NotNull
+    private Calibration calibration = new Calibration();
+
+    /**
+     * Stores again, after a successful login, the passwords encoded with a lower strength.
+     */
+    private boolean     rehash      = true;
+
+    /**
+     * BCrypt strength. Ignored if the calibration is enabled.
+     */
+    private int         strength    = 10;
+
+    /**
+     * Strength calibration configuration properties. When enabled, the strength is chosen on startup, as the highest
+     * one which matches a password within the target time.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Calibration {
+
+        /**
+         * Enables the strength calibration.
+         */
+        private boolean  enabled         = false;
+
+        /**
+         * Maximum strength to choose.
+         */
+        private int      maximumStrength = 16;
+
+        /**
+         * Minimum strength to choose, even if it takes longer than the target.
+         */
+        private int      minimumStrength = 10;
+
+        /**
+         * Maximum time for matching a password.
+         */
+        @NotNull
+        private Duration target          = Duration.ofMillis(250);
+
+    }
+
+}
@@ -0,0 +1,92 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.jpa.repository.JpaPersonRepository;
+import com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.jpa.repository.PersonSpringRepository;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.repository.PersonRepository;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.DefaultPersonService;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.PersonService;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Person configuration.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@EnableConfigurationProperties(PersonProperties.class)
+public class PersonConfig {
+
+    /**
+     * Default constructor.
+     */
+    public PersonConfig() {
+        super();
+    }
+
+    /**
+     * Person repository. Exported persons are read in batches of the configured fetch size.
+     *
+     * @param personSpringRepository
+     *            Spring repository for reading persons
+     * @param entityManager
+     *            entity manager, for streaming persons
+     * @param properties
+     *            person configuration properties
+     * @return the person repository
+     */
+    @Bean("personRepository")
+    public PersonRepository getPersonRepository(final PersonSpringRepository personSpringRepository,
+            final EntityManager entityManager, final PersonProperties properties) {
+        return new JpaPersonRepository(personSpringRepository, entityManager, properties.getExport()
+            .getFetchSize());
+    }
+
+    /**
+     * Person service. Pages are limited to the configured maximum size.
+     *
+     * @param personRepository
+     *            repository for reading persons
+     * @param properties
+     *            person configuration properties
+     * @return the person service
+     */
+    @Bean("personService")
+    public PersonService getPersonService(final PersonRepository personRepository,
+            final PersonProperties properties) {
+        return new DefaultPersonService(personRepository, properties.getPagination()
+            .getDefaultSize(),
+            properties.getPagination()
+                .getMaxSize());
+    }
+
+}
@@ -0,0 +1,91 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+/**
+ * Person configuration properties.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Data
+@ConfigurationProperties(prefix = "person")
+public final class PersonProperties {
+
+    /**
+     * Export configuration.
+     */
+    @NotNull
+    private Export     export     = new Export();
+
+    /**
+     * Pagination configuration.
+     */
+    @NotNull
+    private Pagination pagination = new Pagination();
+
+    /**
+     * Export configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Export {
+
+        /**
+         * Number of rows read on each round trip to the database when exporting persons.
+         */
+        private int fetchSize = 500;
+
+    }
+
+    /**
+     * Pagination configuration properties.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    @Data
+    public static final class Pagination {
+
+        /**
+         * Page size used when none is requested.
+         */
+        private int defaultSize = 20;
+
+        /**
+         * Maximum page size. Bigger requested sizes are reduced to this one.
+         */
+        private int maxSize     = 100;
+
+    }
+
+}
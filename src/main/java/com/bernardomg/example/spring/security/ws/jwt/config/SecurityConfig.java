@@ -24,6 +24,8 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.config;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -31,9 +33,16 @@
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.BCryptStrengthCalibrator;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ClaimsTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ServiceTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.TokenUserDetailsLoader;
 import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserDomainDetailsService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserVersionChecker;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
 
+import lombok.extern.slf4j.Slf4j;
+
 /**
  * Security configuration.
  *
@@ -42,6 +51,8 @@
  */
 @Configuration
 @EnableMethodSecurity(prePostEnabled = true, securedEnabled = true, jsr250Enabled = true)
+@EnableConfigurationProperties({ UserCacheProperties.class, PasswordProperties.class })
+@Slf4j
 public class SecurityConfig {
 
     /**
@@ -53,24 +64,92 @@ public SecurityConfig() {
 
     /**
      * Password encoder. Used to match the received password to the one securely stored in the DB.
+     * <p>
+     * The BCrypt strength is either configured, or calibrated on startup.
      *
+     * @param properties
+     *            password configuration properties
      * @return the password encoder
      */
     @Bean("passwordEncoder")
-    public PasswordEncoder getPasswordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder getPasswordEncoder(final PasswordProperties properties) {
+        final PasswordProperties.Calibration calibration;
+        final int                            strength;
+
+        calibration = properties.getCalibration();
+        if (calibration.isEnabled()) {
+            strength = BCryptStrengthCalibrator.calibrate(calibration.getTarget(), calibration.getMinimumStrength(),
+                calibration.getMaximumStrength());
+            log.info("Calibrated BCrypt strength to {}, for a target of {}", strength, calibration.getTarget());
+        } else {
+            strength = properties.getStrength();
+            log.info("Using BCrypt strength {}", strength);
+        }
+
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * Loader for the users in the tokens. If stateless authorization is enabled, the users are built from the tokens,
+     * otherwise they are read through the user details service.
+     *
+     * @param userDetailsService
+     *            user details service
+     * @param versionChecker
+     *            user version checker
+     * @param properties
+     *            JWT configuration properties
+     * @return the loader for the users in the tokens
+     */
+    @Bean("tokenUserDetailsLoader")
+    public TokenUserDetailsLoader getTokenUserDetailsLoader(final UserDetailsService userDetailsService,
+            final UserVersionChecker versionChecker, final JwtProperties properties) {
+        final TokenUserDetailsLoader serviceLoader;
+        final TokenUserDetailsLoader loader;
+
+        serviceLoader = new ServiceTokenUserDetailsLoader(userDetailsService);
+        if (properties.getStateless()
+            .isEnabled()) {
+            log.info("Stateless authorization enabled, users will be built from the tokens");
+            loader = new ClaimsTokenUserDetailsLoader(versionChecker, serviceLoader);
+        } else {
+            loader = serviceLoader;
+        }
+
+        return loader;
     }
 
     /**
-     * User details service. Will take care of finding registered users.
+     * User details service. Will take care of finding registered users. Used when the user cache is disabled,
+     * otherwise the service is created by {@link UserCacheConfig}.
      *
      * @param userRepository
      *            repository for finding users
      * @return the user details service
      */
     @Bean("userDetailsService")
+    @ConditionalOnProperty(prefix = "security.user.cache", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
     public UserDetailsService getUserDetailsService(final UserRepository userRepository) {
         return new UserDomainDetailsService(userRepository);
     }
 
+    /**
+     * User version checker. Used to reject outdated stateless tokens.
+     *
+     * @param userRepository
+     *            repository for reading user versions
+     * @param properties
+     *            JWT configuration properties
+     * @return the user version checker
+     */
+    @Bean("userVersionChecker")
+    public UserVersionChecker getUserVersionChecker(final UserRepository userRepository,
+            final JwtProperties properties) {
+        return new UserVersionChecker(userRepository, properties.getStateless()
+            .getVersionCacheSize(),
+            properties.getStateless()
+                .getVersionTtl());
+    }
+
 }
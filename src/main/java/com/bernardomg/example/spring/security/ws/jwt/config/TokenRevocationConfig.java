@@ -0,0 +1,130 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.time.Clock;
+import java.util.Objects;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.logout.usecase.service.LogoutService;
+import com.bernardomg.example.spring.security.ws.jwt.logout.usecase.service.TokenLogoutService;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.InMemoryTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.MappedDenylistFile;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.TokenDenylist;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token revocation configuration.
+ * <p>
+ * Revoked tokens are kept until they expire, and expired tokens are removed periodically.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@EnableScheduling
+@Slf4j
+public class TokenRevocationConfig {
+
+    /**
+     * Clock for the token expiration.
+     */
+    private final Clock         clock;
+
+    /**
+     * JWT configuration properties.
+     */
+    private final JwtProperties jwtProperties;
+
+    /**
+     * Constructs a configuration with the received arguments.
+     *
+     * @param jwtProps
+     *            JWT configuration properties
+     * @param jwtClock
+     *            clock for the token expiration
+     */
+    public TokenRevocationConfig(final JwtProperties jwtProps, final Clock jwtClock) {
+        super();
+
+        jwtProperties = Objects.requireNonNull(jwtProps);
+        clock = Objects.requireNonNull(jwtClock);
+    }
+
+    /**
+     * Logout service, which revokes tokens.
+     *
+     * @param decoder
+     *            token decoder
+     * @param denylist
+     *            revoked tokens
+     * @return the logout service
+     */
+    @Bean("logoutService")
+    public LogoutService getLogoutService(final TokenDecoder decoder, final TokenDenylist denylist) {
+        return new TokenLogoutService(decoder, denylist);
+    }
+
+    /**
+     * Revoked tokens. If there is a file for them, they are stored there, and loaded from it on start.
+     *
+     * @return the revoked tokens
+     */
+    @Bean("tokenDenylist")
+    public InMemoryTokenDenylist getTokenDenylist() {
+        final JwtProperties.Revocation properties;
+        final MappedDenylistFile       file;
+        final InMemoryTokenDenylist    denylist;
+
+        properties = jwtProperties.getRevocation();
+        if (properties.getFile() == null) {
+            log.info("Revoked tokens will be kept in memory");
+            denylist = new InMemoryTokenDenylist(clock);
+        } else {
+            log.info("Revoked tokens will be stored in {}", properties.getFile());
+            file = new MappedDenylistFile(properties.getFile(), Math.toIntExact(properties.getFileSize()
+                .toBytes()));
+            denylist = new InMemoryTokenDenylist(clock, file);
+        }
+
+        return denylist;
+    }
+
+    /**
+     * Removes the expired tokens.
+     */
+    @Scheduled(initialDelayString = "${security.jwt.revocation.prune-interval:PT1M}",
+            fixedDelayString = "${security.jwt.revocation.prune-interval:PT1M}")
+    public void pruneTokenDenylist() {
+        getTokenDenylist().prune();
+    }
+
+}
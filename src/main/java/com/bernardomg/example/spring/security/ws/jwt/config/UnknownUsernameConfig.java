@@ -0,0 +1,118 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import java.util.Objects;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.event.UserCreatedEvent;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Unknown usernames filter configuration. Only applied when the filter is enabled.
+ * <p>
+ * The filter is built when created, so it is ready before the first login, and rebuilt periodically. Users created
+ * through the application are added as soon as they are persisted.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "security.login.unknown-users", name = "enabled", havingValue = "true")
+@EnableScheduling
+@Slf4j
+public class UnknownUsernameConfig {
+
+    /**
+     * Login configuration properties.
+     */
+    private final LoginProperties loginProperties;
+
+    /**
+     * Repository for reading the usernames.
+     */
+    private final UserRepository  userRepository;
+
+    /**
+     * Constructs a configuration with the received arguments.
+     *
+     * @param loginProps
+     *            login configuration properties
+     * @param userRepo
+     *            repository for reading the usernames
+     */
+    public UnknownUsernameConfig(final LoginProperties loginProps, final UserRepository userRepo) {
+        super();
+
+        loginProperties = Objects.requireNonNull(loginProps);
+        userRepository = Objects.requireNonNull(userRepo);
+    }
+
+    /**
+     * Adds the created user to the filter.
+     *
+     * @param event
+     *            user creation event
+     */
+    @EventListener
+    public void addCreatedUser(final UserCreatedEvent event) {
+        getUnknownUsernameFilter().add(event.username());
+    }
+
+    /**
+     * Unknown usernames filter. Built with all the existing usernames.
+     *
+     * @return the unknown usernames filter
+     */
+    @Bean("unknownUsernameFilter")
+    public UnknownUsernameFilter getUnknownUsernameFilter() {
+        final LoginProperties.UnknownUsers properties;
+
+        properties = loginProperties.getUnknownUsers();
+        log.info("Logins for unknown usernames will be rejected without reading them");
+
+        return new UnknownUsernameFilter(userRepository.findAllUsernames(), properties.getExpectedUsers(),
+            properties.getFalsePositiveRate(), properties.getMissingSize(), properties.getMissingTtl());
+    }
+
+    /**
+     * Rebuilds the filter, so it includes the users created outside the application.
+     */
+    @Scheduled(initialDelayString = "${security.login.unknown-users.rebuild-interval:PT10M}",
+            fixedDelayString = "${security.login.unknown-users.rebuild-interval:PT10M}")
+    public void rebuildUnknownUsernameFilter() {
+        getUnknownUsernameFilter().rebuild(userRepository.findAllUsernames());
+    }
+
+}
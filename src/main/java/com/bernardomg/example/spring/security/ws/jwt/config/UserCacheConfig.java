@@ -0,0 +1,155 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.actuate.UserCacheEndpoint;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.CachedUserDetailsService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserDomainDetailsService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserVersionChecker;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * User details cache configuration. Only applied when the cache is enabled.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "security.user.cache", name = "enabled", havingValue = "true")
+@Slf4j
+public class UserCacheConfig {
+
+    /**
+     * Name for the users cache.
+     */
+    private static final String USERS_CACHE = "users";
+
+    /**
+     * Default constructor.
+     */
+    public UserCacheConfig() {
+        super();
+    }
+
+    /**
+     * Cache manager. Registers the users cache, so it is available to the actuator caches endpoint and metrics.
+     *
+     * @param userDetailsService
+     *            cached user details service
+     * @return the cache manager
+     */
+    @Bean("cacheManager")
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    public CacheManager getCacheManager(final CachedUserDetailsService userDetailsService) {
+        final CaffeineCacheManager cacheManager;
+
+        cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(USERS_CACHE, (Cache) userDetailsService.getCache());
+
+        return cacheManager;
+    }
+
+    /**
+     * Actuator endpoint for evicting cached users.
+     *
+     * @param userDetailsService
+     *            cached user details service
+     * @param versionChecker
+     *            user version checker
+     * @return the user cache endpoint
+     */
+    @Bean("userCacheEndpoint")
+    public UserCacheEndpoint getUserCacheEndpoint(final CachedUserDetailsService userDetailsService,
+            final UserVersionChecker versionChecker) {
+        return new UserCacheEndpoint(userDetailsService, versionChecker);
+    }
+
+    /**
+     * Loads all the active users into the cache once the application is ready.
+     *
+     * @param userDetailsService
+     *            cached user details service
+     * @param userRepository
+     *            repository for finding the active users
+     * @return listener which preloads the users
+     */
+    @Bean("userCachePreloader")
+    @ConditionalOnProperty(prefix = "security.user.cache", name = "preload", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> getUserCachePreloader(
+            final CachedUserDetailsService userDetailsService, final UserRepository userRepository) {
+        return event -> userDetailsService.preload(userRepository.findAll()
+            .stream()
+            .filter(this::isActive)
+            .map(User::username)
+            .toList());
+    }
+
+    /**
+     * User details service. Caches the users found in the persistence layer.
+     *
+     * @param userRepository
+     *            repository for finding users
+     * @param properties
+     *            user cache configuration properties
+     * @return the user details service
+     */
+    @Bean("userDetailsService")
+    public CachedUserDetailsService getUserDetailsService(final UserRepository userRepository,
+            final UserCacheProperties properties) {
+        final UserDetailsService delegate;
+
+        log.info("Users will be cached for {}, with a maximum weight of {}", properties.getTimeToLive(),
+            properties.getMaximumWeight());
+
+        delegate = new UserDomainDetailsService(userRepository);
+        return new CachedUserDetailsService(delegate, properties.getMaximumWeight(), properties.getTimeToLive(),
+            properties.getRefresh());
+    }
+
+    /**
+     * Checks if the user is active. This means it has no flag marking it as not usable.
+     *
+     * @param user
+     *            user to check
+     * @return {@code true} if the user is active, {@code false} otherwise
+     */
+    private final boolean isActive(final User user) {
+        return user.enabled() && !user.expired() && !user.locked() && !user.passwordExpired();
+    }
+
+}
@@ -28,6 +28,7 @@
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.SecurityConfigurer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -36,17 +37,21 @@
 import org.springframework.security.config.annotation.web.configurers.FormLoginConfigurer;
 import org.springframework.security.config.annotation.web.configurers.LogoutConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.DefaultSecurityFilterChain;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
 import org.springframework.security.web.servlet.util.matcher.MvcRequestMatcher;
 import org.springframework.web.servlet.handler.HandlerMappingIntrospector;
 
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
-import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenValidator;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.TokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.TokenUserDetailsLoader;
 import com.bernardomg.example.spring.security.ws.jwt.springframework.web.ErrorResponseAuthenticationEntryPoint;
 import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.TokenAuthenticationCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
 
 /**
  * Web security configuration.
@@ -76,10 +81,14 @@ public WebSecurityConfig() {
      *            security configurers
      * @param decoder
      *            token decoder
-     * @param tokenValidator
-     *            token validator
-     * @param userDetailsService
-     *            user details service
+     * @param userDetailsLoader
+     *            loader for the users in the tokens
+     * @param tokenCache
+     *            cache for verified tokens
+     * @param denylist
+     *            revoked tokens
+     * @param meterRegistry
+     *            registry for the token filter meters
      * @return web security filter chain with all authentication requirements
      * @throws Exception
      *             if the setup fails
@@ -88,18 +97,26 @@ public WebSecurityConfig() {
     public SecurityFilterChain getWebSecurityFilterChain(final HttpSecurity http,
             final HandlerMappingIntrospector introspector,
             final Collection<SecurityConfigurer<DefaultSecurityFilterChain, HttpSecurity>> securityConfigurers,
-            final TokenDecoder decoder, final TokenValidator tokenValidator,
-            final UserDetailsService userDetailsService) throws Exception {
+            final TokenDecoder decoder, final TokenUserDetailsLoader userDetailsLoader,
+            final TokenAuthenticationCache tokenCache, final TokenDenylist denylist, final MeterRegistry meterRegistry)
+            throws Exception {
         final MvcRequestMatcher.Builder mvc;
         final JwtTokenFilter            jwtFilter;
 
-        jwtFilter = new JwtTokenFilter(userDetailsService, tokenValidator, decoder);
+        jwtFilter = new JwtTokenFilter(userDetailsLoader, decoder, tokenCache, denylist, meterRegistry);
         mvc = new MvcRequestMatcher.Builder(introspector);
         http
+            // Actuator operations which change state, only from the same host
+            .authorizeHttpRequests(c -> c.requestMatchers(mvc.pattern(HttpMethod.DELETE, "/actuator/**"))
+                .access(new WebExpressionAuthorizationManager(
+                    "isAuthenticated() and (hasIpAddress('127.0.0.1') or hasIpAddress('::1'))")))
+            // Metrics scraping, only from the same host
+            .authorizeHttpRequests(c -> c.requestMatchers(mvc.pattern("/actuator/prometheus"))
+                .access(new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')")))
             // Whitelist access
             .authorizeHttpRequests(c -> c
-                .requestMatchers(mvc.pattern("/actuator/**"), mvc.pattern("/login/**"), mvc.pattern("/favicon.ico"),
-                    mvc.pattern("/error/**"))
+                .requestMatchers(mvc.pattern("/actuator/**"), mvc.pattern("/login/**"),
+                    mvc.pattern("/.well-known/jwks.json"), mvc.pattern("/favicon.ico"), mvc.pattern("/error/**"))
                 .permitAll())
             // Authenticate all others
             .authorizeHttpRequests(c -> c.anyRequest()
@@ -24,7 +24,8 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.encoding;
 
-import java.time.LocalDateTime;
+import java.time.Clock;
+import java.time.Instant;
 import java.util.Collection;
 
 import lombok.Builder;
@@ -32,25 +33,40 @@
 
 /**
  * Immutable implementation of the JWT token data.
+ * <p>
+ * Aside the registered claims, it may contain the subject permissions and version. These are optional, and allow
+ * authorizing the subject without loading it.
+ * <p>
+ * Dates are instants, as tokens store them in seconds since the epoch. They are never moved into a time zone, so they
+ * don't change with daylight saving time.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
 @Builder(setterPrefix = "with")
 @Slf4j
-public record JwtTokenData(String id, String subject, String issuer, LocalDateTime issuedAt, LocalDateTime notBefore,
-        LocalDateTime expiration, Collection<String> audience) {
+public record JwtTokenData(String id, String subject, String issuer, Instant issuedAt, Instant notBefore,
+        Instant expiration, Collection<String> audience, Collection<String> permissions, Long version) {
 
-    public final boolean isExpired() {
-        final LocalDateTime current;
-        final boolean       expired;
+    /**
+     * Returns if the token has expired, at the current instant of the clock.
+     *
+     * @param clock
+     *            clock giving the current instant
+     * @return {@code true} if the token has expired, {@code false} otherwise
+     */
+    public final boolean isExpired(final Clock clock) {
+        final Instant current;
+        final boolean expired;
 
-        // TODO: test this
         if (expiration != null) {
-            // Compare expiration to current date
-            current = LocalDateTime.now();
+            // Compare expiration to current instant
+            current = clock.instant();
             expired = expiration.isBefore(current);
-            log.debug("Expired '{}' as token expires on {}, and the current date is {}.", expired, expiration, current);
+            if (log.isDebugEnabled()) {
+                log.debug("Expired '{}' as token expires on {}, and the current instant is {}.", expired, expiration,
+                    current);
+            }
         } else {
             // No expiration
             expired = false;
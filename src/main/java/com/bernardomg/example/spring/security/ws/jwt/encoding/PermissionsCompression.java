@@ -0,0 +1,178 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compression for the permissions claim. Large permission sets would make tokens, which are sent on every request, too
+ * big, so these are deflated into a single Base64URL string.
+ * <p>
+ * Permissions are joined by commas before compressing them, so they should not contain commas.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class PermissionsCompression {
+
+    /**
+     * Size, in characters, from which the permissions are compressed.
+     */
+    public static final int     COMPRESSION_THRESHOLD = 256;
+
+    /**
+     * Maximum size, in bytes, for the decompressed permissions. Protects against compression bombs.
+     */
+    private static final int    MAX_SIZE              = 64 * 1024;
+
+    /**
+     * Separator for the permissions.
+     */
+    private static final String SEPARATOR             = ",";
+
+    /**
+     * Compresses the permissions.
+     *
+     * @param permissions
+     *            permissions to compress
+     * @return the compressed permissions
+     */
+    public static final String compress(final Collection<String> permissions) {
+        final Deflater              deflater;
+        final ByteArrayOutputStream output;
+        final byte[]                buffer;
+        int                         length;
+
+        deflater = new Deflater(Deflater.BEST_COMPRESSION, true);
+        try {
+            deflater.setInput(String.join(SEPARATOR, permissions)
+                .getBytes(StandardCharsets.UTF_8));
+            deflater.finish();
+
+            output = new ByteArrayOutputStream();
+            buffer = new byte[512];
+            while (!deflater.finished()) {
+                length = deflater.deflate(buffer);
+                output.write(buffer, 0, length);
+            }
+        } finally {
+            deflater.end();
+        }
+
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(output.toByteArray());
+    }
+
+    /**
+     * Decompresses the permissions.
+     *
+     * @param compressed
+     *            compressed permissions
+     * @return the decompressed permissions
+     * @throws IllegalArgumentException
+     *             if the permissions can't be decompressed
+     */
+    public static final Collection<String> decompress(final String compressed) {
+        final Inflater              inflater;
+        final ByteArrayOutputStream output;
+        final byte[]                buffer;
+        int                         length;
+
+        inflater = new Inflater(true);
+        output = new ByteArrayOutputStream();
+        try {
+            inflater.setInput(Base64.getUrlDecoder()
+                .decode(compressed));
+
+            buffer = new byte[512];
+            while (!inflater.finished()) {
+                length = inflater.inflate(buffer);
+                if ((length == 0) && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalArgumentException("Truncated compressed permissions");
+                }
+                output.write(buffer, 0, length);
+                if (output.size() > MAX_SIZE) {
+                    throw new IllegalArgumentException("Compressed permissions are too big");
+                }
+            }
+        } catch (final DataFormatException e) {
+            throw new IllegalArgumentException("Invalid compressed permissions", e);
+        } finally {
+            inflater.end();
+        }
+
+        return toPermissions(output.toString(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Checks if the permissions are big enough to compress them.
+     *
+     * @param permissions
+     *            permissions to check
+     * @return {@code true} if the permissions should be compressed, {@code false} otherwise
+     */
+    public static final boolean shouldCompress(final Collection<String> permissions) {
+        int size;
+
+        size = 0;
+        for (final String permission : permissions) {
+            size += permission.length() + 1;
+        }
+
+        return size > COMPRESSION_THRESHOLD;
+    }
+
+    /**
+     * Splits the joined permissions.
+     *
+     * @param joined
+     *            joined permissions
+     * @return the permissions
+     */
+    private static final Collection<String> toPermissions(final String joined) {
+        final Collection<String> permissions;
+
+        if (joined.isEmpty()) {
+            permissions = List.of();
+        } else {
+            permissions = List.of(joined.split(SEPARATOR));
+        }
+
+        return permissions;
+    }
+
+    private PermissionsCompression() {
+        super();
+    }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding;
+
+/**
+ * Algorithm used to sign tokens.
+ * <p>
+ * HMAC algorithms share a single secret, which is needed both to sign and to verify tokens. The other algorithms sign
+ * with a private key, and verify with a public key, which can be published so other services verify tokens on their
+ * own.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public enum SigningAlgorithm {
+
+    /**
+     * ECDSA with the P-256 curve and SHA-256.
+     */
+    ES256(false),
+    /**
+     * EdDSA with the Ed25519 curve.
+     */
+    EDDSA(false),
+    /**
+     * HMAC with SHA-256.
+     */
+    HS256(true),
+    /**
+     * HMAC with SHA-384.
+     */
+    HS384(true),
+    /**
+     * HMAC with SHA-512.
+     */
+    HS512(true);
+
+    /**
+     * If the same key signs and verifies tokens.
+     */
+    private final boolean symmetric;
+
+    private SigningAlgorithm(final boolean sym) {
+        symmetric = sym;
+    }
+
+    /**
+     * Returns if the algorithm uses the same key to sign and verify tokens. The key for these algorithms can't be
+     * published.
+     *
+     * @return {@code true} if the same key signs and verifies tokens, {@code false} otherwise
+     */
+    public final boolean isSymmetric() {
+        return symmetric;
+    }
+
+}
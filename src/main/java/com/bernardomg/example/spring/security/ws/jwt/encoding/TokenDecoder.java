@@ -24,6 +24,8 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.encoding;
 
+import java.util.Set;
+
 /**
  * Creates a {@link JwtTokenData} from a JWT token.
  *
@@ -40,4 +42,29 @@ public interface TokenDecoder {
      */
     public JwtTokenData decode(final String token);
 
+    /**
+     * Verifies the JWT token, and decodes it if it is valid. The token signature is verified, and its content parsed,
+     * only once.
+     * <p>
+     * Invalid tokens don't throw an exception, instead the returned verification contains the reason for rejecting
+     * them.
+     *
+     * @param token
+     *            token to verify
+     * @return verification result, with the decoded data for valid tokens
+     */
+    public TokenVerification verify(final String token);
+
+    /**
+     * Verifies the JWT token, and decodes it if it is valid. Only the received claims are decoded, the rest are left
+     * empty.
+     *
+     * @param token
+     *            token to verify
+     * @param claims
+     *            claims to decode
+     * @return verification result, with the decoded data for valid tokens
+     */
+    public TokenVerification verify(final String token, final Set<TokenClaim> claims);
+
 }
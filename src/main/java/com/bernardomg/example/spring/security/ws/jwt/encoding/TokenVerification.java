@@ -0,0 +1,69 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding;
+
+import java.util.Objects;
+
+/**
+ * Result of verifying a JWT token. Contains either the data decoded from a valid token, or the reason why the token
+ * was rejected.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public record TokenVerification(JwtTokenData data, TokenFailure failure) {
+
+    /**
+     * Returns the verification for a rejected token.
+     *
+     * @param failure
+     *            reason for rejecting the token
+     * @return verification for a rejected token
+     */
+    public static final TokenVerification failed(final TokenFailure failure) {
+        return new TokenVerification(null, Objects.requireNonNull(failure));
+    }
+
+    /**
+     * Returns the verification for a valid token.
+     *
+     * @param data
+     *            data decoded from the token
+     * @return verification for a valid token
+     */
+    public static final TokenVerification valid(final JwtTokenData data) {
+        return new TokenVerification(Objects.requireNonNull(data), null);
+    }
+
+    /**
+     * Checks if the token was valid.
+     *
+     * @return {@code true} if the token was valid, {@code false} otherwise
+     */
+    public final boolean isValid() {
+        return failure == null;
+    }
+
+}
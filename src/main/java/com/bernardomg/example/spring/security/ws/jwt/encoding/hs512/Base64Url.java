@@ -0,0 +1,226 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Base64URL without padding, as used by JWT. Reads from and writes into existing arrays, at any offset, so no
+ * intermediate array is created.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class Base64Url {
+
+    /**
+     * Characters for each 6 bits value.
+     */
+    private static final byte[] ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_"
+        .getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Value for each character, or -1 for characters outside the alphabet.
+     */
+    private static final int[]  VALUES   = new int[128];
+
+    static {
+        Arrays.fill(VALUES, -1);
+        for (int i = 0; i < ALPHABET.length; i++) {
+            VALUES[ALPHABET[i]] = i;
+        }
+    }
+
+    /**
+     * Decodes the received characters into the output.
+     *
+     * @param input
+     *            characters to decode
+     * @param offset
+     *            first character to decode
+     * @param length
+     *            number of characters to decode
+     * @param output
+     *            array where the bytes are written, with space for {@link #decodedLength(int)} bytes
+     * @param outputOffset
+     *            position where the first byte is written
+     * @return {@code true} if all the characters were valid, {@code false} otherwise
+     */
+    static final boolean decode(final byte[] input, final int offset, final int length, final byte[] output,
+            final int outputOffset) {
+        final int end;
+        int       in;
+        int       out;
+        int       bits;
+        int       count;
+        int       value;
+        boolean   valid;
+
+        end = offset + length;
+        in = offset;
+        out = outputOffset;
+        bits = 0;
+        count = 0;
+        valid = true;
+        while (valid && (in < end)) {
+            value = toValue(input[in]);
+            if (value < 0) {
+                valid = false;
+            } else {
+                bits = (bits << 6) | value;
+                count++;
+                if (count == 4) {
+                    output[out] = (byte) (bits >> 16);
+                    output[out + 1] = (byte) (bits >> 8);
+                    output[out + 2] = (byte) bits;
+                    out += 3;
+                    bits = 0;
+                    count = 0;
+                }
+            }
+            in++;
+        }
+
+        if (valid) {
+            // Trailing characters
+            if (count == 2) {
+                output[out] = (byte) (bits >> 4);
+            } else if (count == 3) {
+                output[out] = (byte) (bits >> 10);
+                output[out + 1] = (byte) (bits >> 2);
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Returns the number of bytes encoded by the received number of characters.
+     *
+     * @param length
+     *            number of characters
+     * @return the number of encoded bytes, or -1 if no number of bytes is encoded into that many characters
+     */
+    static final int decodedLength(final int length) {
+        final int result;
+
+        if ((length % 4) == 1) {
+            result = -1;
+        } else {
+            result = ((length / 4) * 3) + Math.max((length % 4) - 1, 0);
+        }
+
+        return result;
+    }
+
+    /**
+     * Encodes the received bytes into the output.
+     *
+     * @param input
+     *            bytes to encode
+     * @param offset
+     *            first byte to encode
+     * @param length
+     *            number of bytes to encode
+     * @param output
+     *            array where the characters are written, with space for {@link #encodedLength(int)} characters
+     * @param outputOffset
+     *            position where the first character is written
+     * @return position after the last character written
+     */
+    static final int encode(final byte[] input, final int offset, final int length, final byte[] output,
+            final int outputOffset) {
+        final int end;
+        final int remaining;
+        int       in;
+        int       out;
+        int       bits;
+
+        end = offset + length - (length % 3);
+        in = offset;
+        out = outputOffset;
+        while (in < end) {
+            bits = ((input[in] & 0xff) << 16) | ((input[in + 1] & 0xff) << 8) | (input[in + 2] & 0xff);
+            output[out] = ALPHABET[bits >>> 18];
+            output[out + 1] = ALPHABET[(bits >>> 12) & 0x3f];
+            output[out + 2] = ALPHABET[(bits >>> 6) & 0x3f];
+            output[out + 3] = ALPHABET[bits & 0x3f];
+            in += 3;
+            out += 4;
+        }
+
+        remaining = length % 3;
+        if (remaining == 1) {
+            bits = input[in] & 0xff;
+            output[out] = ALPHABET[bits >>> 2];
+            output[out + 1] = ALPHABET[(bits << 4) & 0x3f];
+            out += 2;
+        } else if (remaining == 2) {
+            bits = ((input[in] & 0xff) << 8) | (input[in + 1] & 0xff);
+            output[out] = ALPHABET[bits >>> 10];
+            output[out + 1] = ALPHABET[(bits >>> 4) & 0x3f];
+            output[out + 2] = ALPHABET[(bits << 2) & 0x3f];
+            out += 3;
+        }
+
+        return out;
+    }
+
+    /**
+     * Returns the number of characters needed to encode the received number of bytes.
+     *
+     * @param length
+     *            number of bytes
+     * @return the number of characters
+     */
+    static final int encodedLength(final int length) {
+        return ((length * 4) + 2) / 3;
+    }
+
+    /**
+     * Returns the value for the character.
+     *
+     * @param character
+     *            character to transform
+     * @return the character value, or -1 if it is not in the alphabet
+     */
+    private static final int toValue(final byte character) {
+        final int value;
+
+        if (character < 0) {
+            value = -1;
+        } else {
+            value = VALUES[character];
+        }
+
+        return value;
+    }
+
+    private Base64Url() {
+        super();
+    }
+
+}
@@ -0,0 +1,211 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Objects;
+
+import javax.crypto.Mac;
+import javax.crypto.SecretKey;
+
+import lombok.Getter;
+
+/**
+ * HS512 key, with its id. All the tokens signed with it have the same header, so the header is encoded just once.
+ * <p>
+ * Each thread gets its own {@code Mac}, cloned from one initialized with the key, and reuses it for all the tokens.
+ * With virtual threads these are not reused, as each request runs on a new thread, but cloning is still cheaper than
+ * creating and initializing a new {@code Mac}.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class Hs512Key {
+
+    /**
+     * MAC algorithm.
+     */
+    private static final String    ALGORITHM        = "HmacSHA512";
+
+    /**
+     * Minimum key size, in bytes.
+     */
+    private static final int       MINIMUM_SIZE     = 64;
+
+    /**
+     * Signature size, in bytes.
+     */
+    static final int               SIGNATURE_LENGTH = 64;
+
+    /**
+     * Encoded header, including the separator after it.
+     */
+    private final byte[]           header;
+
+    /**
+     * Key id.
+     */
+    @Getter
+    private final String           id;
+
+    /**
+     * MAC for each thread.
+     */
+    private final ThreadLocal<Mac> macs;
+
+    /**
+     * Builds a key with the received arguments.
+     *
+     * @param keyId
+     *            key id, added to the header
+     * @param key
+     *            HMAC key
+     * @throws IllegalArgumentException
+     *             if the key is too short for HS512, or can't be used
+     */
+    public Hs512Key(final String keyId, final SecretKey key) {
+        super();
+
+        final Mac    prototype;
+        final byte[] json;
+        final int    length;
+
+        id = Objects.requireNonNull(keyId);
+        Objects.requireNonNull(key);
+        if (key.getEncoded().length < MINIMUM_SIZE) {
+            throw new IllegalArgumentException("HS512 requires a key of at least " + MINIMUM_SIZE + " bytes");
+        }
+
+        try {
+            prototype = Mac.getInstance(ALGORITHM);
+            prototype.init(key);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("Can't use the key for " + ALGORITHM, e);
+        }
+        macs = ThreadLocal.withInitial(() -> copy(prototype));
+
+        // Same header as the one written by JJWT
+        json = ("{\"kid\":\"" + keyId + "\",\"alg\":\"HS512\"}").getBytes(StandardCharsets.UTF_8);
+        length = Base64Url.encodedLength(json.length);
+        header = new byte[length + 1];
+        Base64Url.encode(json, 0, json.length, header, 0);
+        header[length] = '.';
+    }
+
+    /**
+     * Returns a copy of the MAC.
+     *
+     * @param mac
+     *            MAC to copy
+     * @return a copy of the MAC
+     */
+    private static final Mac copy(final Mac mac) {
+        try {
+            return (Mac) mac.clone();
+        } catch (final CloneNotSupportedException e) {
+            throw new IllegalStateException("The " + ALGORITHM + " provider doesn't support copying the MAC", e);
+        }
+    }
+
+    /**
+     * Returns if the token starts with the header for this key.
+     *
+     * @param token
+     *            token to check
+     * @param headerEnd
+     *            position of the separator after the token header
+     * @return {@code true} if the token header is the header for this key, {@code false} otherwise
+     */
+    final boolean hasHeader(final byte[] token, final int headerEnd) {
+        return Arrays.equals(token, 0, headerEnd + 1, header, 0, header.length);
+    }
+
+    /**
+     * Returns if the signature is valid for the signed part of the token. The comparison takes the same time no matter
+     * where the signatures differ.
+     *
+     * @param token
+     *            token to check
+     * @param length
+     *            length of the signed part
+     * @param signature
+     *            signature to check
+     * @return {@code true} if the signature is valid, {@code false} otherwise
+     */
+    final boolean isValid(final byte[] token, final int length, final byte[] signature) {
+        final Mac mac;
+
+        mac = macs.get();
+        mac.update(token, 0, length);
+
+        return MessageDigest.isEqual(mac.doFinal(), signature);
+    }
+
+    /**
+     * Signs the token, and writes the signature at its end.
+     *
+     * @param token
+     *            token to sign, with space at the end for the encoded signature
+     * @param length
+     *            length of the signed part
+     */
+    final void sign(final byte[] token, final int length) {
+        final Mac    mac;
+        final byte[] signature;
+
+        mac = macs.get();
+        mac.update(token, 0, length);
+        signature = mac.doFinal();
+
+        token[length] = '.';
+        Base64Url.encode(signature, 0, signature.length, token, length + 1);
+    }
+
+    /**
+     * Copies the header into the token.
+     *
+     * @param token
+     *            token where the header is copied
+     * @return length of the header, including the separator
+     */
+    final int writeHeader(final byte[] token) {
+        System.arraycopy(header, 0, token, 0, header.length);
+
+        return header.length;
+    }
+
+    /**
+     * Returns the length of the header, including the separator.
+     *
+     * @return the length of the header
+     */
+    final int getHeaderLength() {
+        return header.length;
+    }
+
+}
@@ -0,0 +1,437 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.CustomClaims;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PermissionsCompression;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token decoder which only accepts HS512 tokens, with the exact header written for its key. Any other token is rejected
+ * as unsupported.
+ * <p>
+ * The token is verified and read straight from its bytes. The header is compared with the expected one, instead of
+ * being parsed, and the claims are read with a streaming reader, which only creates the requested claims.
+ * <p>
+ * The result is the same as with the JJWT decoder, for all the tokens this decoder supports.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class Hs512TokenDecoder implements TokenDecoder {
+
+    /**
+     * All the claims. Used when no claim is filtered.
+     */
+    private static final Set<TokenClaim> ALL_CLAIMS  = Collections.unmodifiableSet(EnumSet.allOf(TokenClaim.class));
+
+    /**
+     * Audience claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             AUDIENCE    = 3;
+
+    /**
+     * Known claim names.
+     */
+    private static final byte[][]        CLAIM_NAMES = toBytes("jti", "iss", "sub", "aud", "iat", "exp", "nbf",
+        CustomClaims.PERMISSIONS, CustomClaims.COMPRESSED_PERMISSIONS, CustomClaims.VERSION);
+
+    /**
+     * Compressed permissions claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             COMPRESSED  = 8;
+
+    /**
+     * Expiration claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             EXPIRATION  = 5;
+
+    /**
+     * Id claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             ID          = 0;
+
+    /**
+     * Issued at claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             ISSUED_AT   = 4;
+
+    /**
+     * Issuer claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             ISSUER      = 1;
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final long            MILLIS      = 1000L;
+
+    /**
+     * Not before claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             NOT_BEFORE  = 6;
+
+    /**
+     * Permissions claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             PERMISSIONS = 7;
+
+    /**
+     * Subject claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             SUBJECT     = 2;
+
+    /**
+     * Version claim position in {@link #CLAIM_NAMES}.
+     */
+    private static final int             VERSION     = 9;
+
+    /**
+     * Returns the names as ASCII bytes.
+     *
+     * @param names
+     *            names to transform
+     * @return the names as bytes
+     */
+    private static final byte[][] toBytes(final String... names) {
+        final byte[][] bytes;
+
+        bytes = new byte[names.length][];
+        for (int i = 0; i < names.length; i++) {
+            bytes[i] = names[i].getBytes(StandardCharsets.US_ASCII);
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Clock for checking the token dates.
+     */
+    private final Clock    clock;
+
+    /**
+     * Key for verifying tokens.
+     */
+    private final Hs512Key key;
+
+    /**
+     * Builds a decoder with the received key.
+     *
+     * @param hs512Key
+     *            key for verifying tokens
+     */
+    public Hs512TokenDecoder(final Hs512Key hs512Key) {
+        this(hs512Key, Clock.systemUTC());
+    }
+
+    /**
+     * Builds a decoder with the received key, which checks the token dates against the received clock.
+     *
+     * @param hs512Key
+     *            key for verifying tokens
+     * @param tokenClock
+     *            clock for checking the token dates
+     */
+    public Hs512TokenDecoder(final Hs512Key hs512Key, final Clock tokenClock) {
+        super();
+
+        key = Objects.requireNonNull(hs512Key);
+        clock = Objects.requireNonNull(tokenClock);
+    }
+
+    @Override
+    public final JwtTokenData decode(final String token) {
+        final TokenVerification verification;
+
+        verification = verify(token, ALL_CLAIMS);
+        if (!verification.isValid()) {
+            throw new IllegalArgumentException("Invalid token: " + verification.failure());
+        }
+
+        return verification.data();
+    }
+
+    @Override
+    public final TokenVerification verify(final String token) {
+        return verify(token, ALL_CLAIMS);
+    }
+
+    @Override
+    public final TokenVerification verify(final String token, final Set<TokenClaim> claims) {
+        final byte[]      bytes;
+        final int         headerEnd;
+        final int         payloadEnd;
+        final byte[]      signature;
+        TokenVerification verification;
+
+        if (token == null) {
+            return TokenVerification.failed(TokenFailure.MALFORMED);
+        }
+
+        // Tokens only contain ASCII characters, anything else will fail the Base64 decoding
+        bytes = token.getBytes(StandardCharsets.ISO_8859_1);
+        headerEnd = indexOf(bytes, 0);
+        payloadEnd = indexOf(bytes, headerEnd + 1);
+        if ((headerEnd < 0) || (payloadEnd < 0) || (indexOf(bytes, payloadEnd + 1) >= 0)) {
+            log.debug("Token is malformed: it doesn't have three parts");
+            verification = TokenVerification.failed(TokenFailure.MALFORMED);
+        } else if (!key.hasHeader(bytes, headerEnd)) {
+            if (isJsonObject(bytes, headerEnd)) {
+                log.debug("Token is not supported: unexpected header");
+                verification = TokenVerification.failed(TokenFailure.UNSUPPORTED);
+            } else {
+                log.debug("Token is malformed: invalid header");
+                verification = TokenVerification.failed(TokenFailure.MALFORMED);
+            }
+        } else if (Base64Url.decodedLength(bytes.length - payloadEnd - 1) != Hs512Key.SIGNATURE_LENGTH) {
+            log.debug("Token signature is invalid: unexpected length");
+            verification = TokenVerification.failed(TokenFailure.INVALID_SIGNATURE);
+        } else {
+            signature = new byte[Hs512Key.SIGNATURE_LENGTH];
+            if (!Base64Url.decode(bytes, payloadEnd + 1, bytes.length - payloadEnd - 1, signature, 0)) {
+                log.debug("Token is malformed: invalid signature encoding");
+                verification = TokenVerification.failed(TokenFailure.MALFORMED);
+            } else if (!key.isValid(bytes, payloadEnd, signature)) {
+                log.debug("Token signature is invalid");
+                verification = TokenVerification.failed(TokenFailure.INVALID_SIGNATURE);
+            } else {
+                verification = read(bytes, headerEnd + 1, payloadEnd, claims);
+            }
+        }
+
+        return verification;
+    }
+
+    /**
+     * Returns the position of the next separator.
+     *
+     * @param bytes
+     *            token bytes
+     * @param from
+     *            position to start searching
+     * @return position of the next separator, or -1 if there is none
+     */
+    private final int indexOf(final byte[] bytes, final int from) {
+        int index;
+
+        index = -1;
+        for (int i = from; (index < 0) && (i < bytes.length); i++) {
+            if (bytes[i] == '.') {
+                index = i;
+            }
+        }
+
+        return index;
+    }
+
+    /**
+     * Returns if the header is a JSON object. Only used for unexpected headers, to tell apart malformed tokens from
+     * unsupported ones.
+     *
+     * @param bytes
+     *            token bytes
+     * @param headerEnd
+     *            end of the encoded header
+     * @return {@code true} if the header is a JSON object, {@code false} otherwise
+     */
+    private final boolean isJsonObject(final byte[] bytes, final int headerEnd) {
+        final int              length;
+        final byte[]           json;
+        final JsonClaimsReader reader;
+        boolean                valid;
+
+        length = Base64Url.decodedLength(headerEnd);
+        if (length <= 0) {
+            valid = false;
+        } else {
+            json = new byte[length];
+            valid = Base64Url.decode(bytes, 0, headerEnd, json, 0);
+            if (valid) {
+                reader = new JsonClaimsReader(json, length);
+                try {
+                    reader.beginObject();
+                    while (reader.hasNextField()) {
+                        reader.nextName(CLAIM_NAMES);
+                        reader.skipValue();
+                    }
+                } catch (final IllegalArgumentException e) {
+                    valid = false;
+                }
+            }
+        }
+
+        return valid;
+    }
+
+    /**
+     * Reads the claims, and checks the token dates. Values with an unexpected type are handled as the JJWT decoder
+     * does.
+     *
+     * @param bytes
+     *            token bytes
+     * @param start
+     *            start of the encoded claims
+     * @param end
+     *            end of the encoded claims
+     * @param requested
+     *            claims to include in the token data
+     * @return the verification result
+     */
+    private final TokenVerification read(final byte[] bytes, final int start, final int end,
+            final Set<TokenClaim> requested) {
+        final int                              length;
+        final byte[]                           json;
+        final JsonClaimsReader                 reader;
+        final JwtTokenData.JwtTokenDataBuilder builder;
+        final long                             now;
+        Long                                   expiration;
+        Long                                   notBefore;
+        TokenVerification                      verification;
+        int                                    claim;
+        Collection<String>                     audience;
+        List<String>                           permissions;
+
+        length = Base64Url.decodedLength(end - start);
+        if (length < 0) {
+            log.debug("Token is malformed: invalid claims encoding");
+            return TokenVerification.failed(TokenFailure.MALFORMED);
+        }
+        json = new byte[length];
+        if (!Base64Url.decode(bytes, start, end - start, json, 0)) {
+            log.debug("Token is malformed: invalid claims encoding");
+            return TokenVerification.failed(TokenFailure.MALFORMED);
+        }
+
+        builder = JwtTokenData.builder();
+        expiration = null;
+        notBefore = null;
+        try {
+            reader = new JsonClaimsReader(json, length);
+            reader.beginObject();
+            while (reader.hasNextField()) {
+                claim = reader.nextName(CLAIM_NAMES);
+                if (reader.nextIsNull()) {
+                    // Null claims are ignored
+                } else if ((claim == EXPIRATION) && reader.nextIsNumber()) {
+                    expiration = reader.nextLong();
+                } else if ((claim == NOT_BEFORE) && reader.nextIsNumber()) {
+                    notBefore = reader.nextLong();
+                } else if ((claim == EXPIRATION) || (claim == NOT_BEFORE)) {
+                    throw new IllegalArgumentException("Date claims must be numbers");
+                } else if (!isRequested(claim, requested)) {
+                    reader.skipValue();
+                } else if ((claim == AUDIENCE) && reader.nextIsArray()) {
+                    audience = new LinkedHashSet<>();
+                    reader.nextStrings(audience);
+                    builder.withAudience(audience);
+                } else if ((claim == AUDIENCE) && reader.nextIsString()) {
+                    builder.withAudience(Set.of(reader.nextString()));
+                } else if ((claim == PERMISSIONS) && reader.nextIsArray()) {
+                    permissions = new ArrayList<>();
+                    reader.nextStrings(permissions);
+                    builder.withPermissions(Collections.unmodifiableList(permissions));
+                } else if ((claim == COMPRESSED) && reader.nextIsString()) {
+                    builder.withPermissions(PermissionsCompression.decompress(reader.nextString()));
+                } else if ((claim == VERSION) && reader.nextIsNumber()) {
+                    builder.withVersion(reader.nextLong());
+                } else if ((claim == ISSUED_AT) && reader.nextIsNumber()) {
+                    builder.withIssuedAt(Instant.ofEpochSecond(reader.nextLong()));
+                } else if ((claim == ID) && reader.nextIsString()) {
+                    builder.withId(reader.nextString());
+                } else if ((claim == ISSUER) && reader.nextIsString()) {
+                    builder.withIssuer(reader.nextString());
+                } else if ((claim == SUBJECT) && reader.nextIsString()) {
+                    builder.withSubject(reader.nextString());
+                } else {
+                    reader.skipValue();
+                }
+            }
+        } catch (final IllegalArgumentException e) {
+            log.debug("Token is malformed: {}", e.getMessage());
+            return TokenVerification.failed(TokenFailure.MALFORMED);
+        }
+
+        now = clock.millis();
+        if ((expiration != null) && (now > (expiration * MILLIS))) {
+            log.debug("Token has expired");
+            verification = TokenVerification.failed(TokenFailure.EXPIRED);
+        } else if ((notBefore != null) && (now < (notBefore * MILLIS))) {
+            log.debug("Token is not yet valid");
+            verification = TokenVerification.failed(TokenFailure.NOT_YET_VALID);
+        } else {
+            if ((expiration != null) && requested.contains(TokenClaim.EXPIRATION)) {
+                builder.withExpiration(Instant.ofEpochSecond(expiration));
+            }
+            if ((notBefore != null) && requested.contains(TokenClaim.NOT_BEFORE)) {
+                builder.withNotBefore(Instant.ofEpochSecond(notBefore));
+            }
+            verification = TokenVerification.valid(builder.build());
+        }
+
+        return verification;
+    }
+
+    /**
+     * Returns if the claim is requested.
+     *
+     * @param claim
+     *            claim position in {@link #CLAIM_NAMES}
+     * @param requested
+     *            requested claims
+     * @return {@code true} if the claim is requested, {@code false} otherwise
+     */
+    private final boolean isRequested(final int claim, final Set<TokenClaim> requested) {
+        return switch (claim) {
+            case ID -> requested.contains(TokenClaim.ID);
+            case ISSUER -> requested.contains(TokenClaim.ISSUER);
+            case SUBJECT -> requested.contains(TokenClaim.SUBJECT);
+            case AUDIENCE -> requested.contains(TokenClaim.AUDIENCE);
+            case ISSUED_AT -> requested.contains(TokenClaim.ISSUED_AT);
+            case PERMISSIONS, COMPRESSED -> requested.contains(TokenClaim.PERMISSIONS);
+            case VERSION -> requested.contains(TokenClaim.VERSION);
+            default -> false;
+        };
+    }
+
+}
@@ -0,0 +1,144 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.CustomClaims;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PermissionsCompression;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token encoder which signs with HS512. The claims are written straight into the token bytes, after a precomputed
+ * header.
+ * <p>
+ * Claims are written in the same order, and with the same rules, as the JJWT encoder, so both of them create the same
+ * token from the same data.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class Hs512TokenEncoder implements TokenEncoder {
+
+    /**
+     * Key for signing tokens.
+     */
+    private final Hs512Key key;
+
+    /**
+     * Builds an encoder with the received key.
+     *
+     * @param hs512Key
+     *            key for signing tokens
+     */
+    public Hs512TokenEncoder(final Hs512Key hs512Key) {
+        super();
+
+        key = Objects.requireNonNull(hs512Key);
+    }
+
+    @Override
+    public final String encode(final JwtTokenData data) {
+        final JsonClaimsWriter writer;
+        final byte[]           claims;
+        final byte[]           token;
+        final int              length;
+        final String           encoded;
+
+        writer = new JsonClaimsWriter();
+        writeString(writer, "jti", data.id());
+        writeString(writer, "iss", data.issuer());
+        writeString(writer, "sub", data.subject());
+        if ((data.audience() != null) && !data.audience()
+            .isEmpty()) {
+            writer.writeStrings("aud", data.audience());
+        }
+        writeDate(writer, "iat", data.issuedAt());
+        writeDate(writer, "exp", data.expiration());
+        writeDate(writer, "nbf", data.notBefore());
+        if (data.permissions() != null) {
+            if (PermissionsCompression.shouldCompress(data.permissions())) {
+                writer.writeString(CustomClaims.COMPRESSED_PERMISSIONS,
+                    PermissionsCompression.compress(data.permissions()));
+            } else {
+                writer.writeStrings(CustomClaims.PERMISSIONS, data.permissions());
+            }
+        }
+        if (data.version() != null) {
+            writer.writeNumber(CustomClaims.VERSION, data.version());
+        }
+        claims = writer.end();
+
+        // Header, claims and signature, all of them already separated
+        token = new byte[key.getHeaderLength() + Base64Url.encodedLength(writer.getLength()) + 1
+                + Base64Url.encodedLength(Hs512Key.SIGNATURE_LENGTH)];
+        length = Base64Url.encode(claims, 0, writer.getLength(), token, key.writeHeader(token));
+        key.sign(token, length);
+        encoded = new String(token, StandardCharsets.ISO_8859_1);
+
+        log.debug("Created token from {}", data);
+
+        return encoded;
+    }
+
+    /**
+     * Writes a date claim, as seconds since the epoch. Null dates are not written.
+     *
+     * @param writer
+     *            claims writer
+     * @param name
+     *            claim name
+     * @param date
+     *            claim value
+     */
+    private final void writeDate(final JsonClaimsWriter writer, final String name, final Instant date) {
+        if (date != null) {
+            writer.writeNumber(name, date.getEpochSecond());
+        }
+    }
+
+    /**
+     * Writes a string claim. Null and empty strings are not written.
+     *
+     * @param writer
+     *            claims writer
+     * @param name
+     *            claim name
+     * @param value
+     *            claim value
+     */
+    private final void writeString(final JsonClaimsWriter writer, final String name, final String value) {
+        if ((value != null) && !value.isEmpty()) {
+            writer.writeString(name, value);
+        }
+    }
+
+}
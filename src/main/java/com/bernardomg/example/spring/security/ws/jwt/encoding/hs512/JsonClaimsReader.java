@@ -0,0 +1,508 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Minimal streaming reader for a JSON object with the token claims. Reads the fields one by one, straight from the
+ * bytes, and only creates the values which are asked for. Any other value is skipped without creating anything.
+ * <p>
+ * Field names are matched against a list of known names, so no string is created for them.
+ * <p>
+ * Any malformed JSON is rejected with an {@code IllegalArgumentException}.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class JsonClaimsReader {
+
+    /**
+     * Maximum nesting for skipped values.
+     */
+    private static final int MAXIMUM_DEPTH = 32;
+
+    /**
+     * Position after the last byte.
+     */
+    private final int        end;
+
+    /**
+     * Flags the next field as the first one in the object.
+     */
+    private boolean          first         = true;
+
+    /**
+     * JSON to read.
+     */
+    private final byte[]     json;
+
+    /**
+     * Current position.
+     */
+    private int              position;
+
+    /**
+     * Builds a reader for the received JSON.
+     *
+     * @param source
+     *            JSON to read
+     * @param length
+     *            number of bytes to read
+     */
+    JsonClaimsReader(final byte[] source, final int length) {
+        super();
+
+        json = source;
+        end = length;
+    }
+
+    /**
+     * Starts reading the claims object.
+     */
+    final void beginObject() {
+        skipWhitespace();
+        expect('{');
+    }
+
+    /**
+     * Moves to the next field in the object. If there are no more fields, checks nothing follows the object.
+     *
+     * @return {@code true} if there is another field, {@code false} if the object ended
+     */
+    final boolean hasNextField() {
+        final boolean next;
+
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            skipWhitespace();
+            if (position != end) {
+                throw new IllegalArgumentException("Unexpected content after the claims");
+            }
+            next = false;
+        } else {
+            if (!first) {
+                expect(',');
+                skipWhitespace();
+            }
+            first = false;
+            next = true;
+        }
+
+        return next;
+    }
+
+    /**
+     * Returns if the next value is {@code null}, and skips it in that case.
+     *
+     * @return {@code true} if the value was {@code null}, {@code false} otherwise
+     */
+    final boolean nextIsNull() {
+        final boolean isNull;
+
+        skipWhitespace();
+        if (peek() == 'n') {
+            expectLiteral("null");
+            isNull = true;
+        } else {
+            isNull = false;
+        }
+
+        return isNull;
+    }
+
+    /**
+     * Returns if the next value is an array.
+     *
+     * @return {@code true} if the next value is an array, {@code false} otherwise
+     */
+    final boolean nextIsArray() {
+        skipWhitespace();
+        return peek() == '[';
+    }
+
+    /**
+     * Returns if the next value is a number.
+     *
+     * @return {@code true} if the next value is a number, {@code false} otherwise
+     */
+    final boolean nextIsNumber() {
+        final byte next;
+
+        skipWhitespace();
+        next = peek();
+        return (next == '-') || ((next >= '0') && (next <= '9'));
+    }
+
+    /**
+     * Returns if the next value is a string.
+     *
+     * @return {@code true} if the next value is a string, {@code false} otherwise
+     */
+    final boolean nextIsString() {
+        skipWhitespace();
+        return peek() == '"';
+    }
+
+    /**
+     * Reads a number. Decimals are truncated.
+     *
+     * @return the number
+     */
+    final long nextLong() {
+        final int start;
+        boolean   decimal;
+        byte      current;
+        long      result;
+
+        skipWhitespace();
+        start = position;
+        decimal = false;
+        if (peek() == '-') {
+            position++;
+        }
+        while ((position < end) && (((current = json[position]) >= '0') && (current <= '9')
+                || (current == '.') || (current == 'e') || (current == 'E') || (current == '+') || (current == '-'))) {
+            decimal |= (current == '.') || (current == 'e') || (current == 'E');
+            position++;
+        }
+
+        try {
+            if (decimal) {
+                result = (long) Double.parseDouble(new String(json, start, position - start, StandardCharsets.US_ASCII));
+            } else {
+                result = Long.parseLong(new String(json, start, position - start, StandardCharsets.US_ASCII));
+            }
+        } catch (final NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number", e);
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads the name for the next field, and the separator after it.
+     *
+     * @param names
+     *            known names, as ASCII bytes
+     * @return index of the name in the known names, or -1 if it is not one of them
+     */
+    final int nextName(final byte[][] names) {
+        final int start;
+        final int length;
+        int       index;
+        String    escaped;
+
+        skipWhitespace();
+        expect('"');
+        start = position;
+        while ((position < end) && (json[position] != '"') && (json[position] != '\\')) {
+            position++;
+        }
+
+        index = -1;
+        if ((position < end) && (json[position] == '\\')) {
+            // Escaped name, read as a string
+            position = start - 1;
+            escaped = nextString();
+            for (int i = 0; (index < 0) && (i < names.length); i++) {
+                if (escaped.equals(new String(names[i], StandardCharsets.US_ASCII))) {
+                    index = i;
+                }
+            }
+        } else {
+            length = position - start;
+            expect('"');
+            for (int i = 0; (index < 0) && (i < names.length); i++) {
+                if ((names[i].length == length)
+                        && Arrays.equals(json, start, position - 1, names[i], 0, length)) {
+                    index = i;
+                }
+            }
+        }
+
+        skipWhitespace();
+        expect(':');
+
+        return index;
+    }
+
+    /**
+     * Reads a string.
+     *
+     * @return the string
+     */
+    final String nextString() {
+        final int     start;
+        final String  result;
+        boolean       ascii;
+        StringBuilder builder;
+        byte          current;
+
+        skipWhitespace();
+        expect('"');
+        start = position;
+        ascii = true;
+        while ((position < end) && ((current = json[position]) != '"') && (current != '\\')) {
+            if (current < 0) {
+                ascii = false;
+            } else if (current < ' ') {
+                throw new IllegalArgumentException("Unescaped control character in string");
+            }
+            position++;
+        }
+
+        if (position >= end) {
+            throw new IllegalArgumentException("Unterminated string");
+        } else if (json[position] == '"') {
+            // No escapes
+            if (ascii) {
+                result = new String(json, start, position - start, StandardCharsets.ISO_8859_1);
+            } else {
+                result = new String(json, start, position - start, StandardCharsets.UTF_8);
+            }
+            position++;
+        } else {
+            builder = new StringBuilder(new String(json, start, position - start, StandardCharsets.UTF_8));
+            readEscaped(builder);
+            result = builder.toString();
+        }
+
+        return result;
+    }
+
+    /**
+     * Reads an array of strings into the received collection.
+     *
+     * @param target
+     *            collection where the strings are added
+     */
+    final void nextStrings(final Collection<String> target) {
+        boolean firstValue;
+
+        skipWhitespace();
+        expect('[');
+        skipWhitespace();
+        firstValue = true;
+        while (peek() != ']') {
+            if (!firstValue) {
+                expect(',');
+            }
+            firstValue = false;
+            target.add(nextString());
+            skipWhitespace();
+        }
+        position++;
+    }
+
+    /**
+     * Skips the next value.
+     */
+    final void skipValue() {
+        skipValue(0);
+    }
+
+    /**
+     * Moves past the expected character.
+     *
+     * @param expected
+     *            expected character
+     */
+    private final void expect(final char expected) {
+        if (peek() != expected) {
+            throw new IllegalArgumentException("Expected '" + expected + "' at " + position);
+        }
+        position++;
+    }
+
+    /**
+     * Moves past the expected literal.
+     *
+     * @param literal
+     *            expected literal
+     */
+    private final void expectLiteral(final String literal) {
+        for (int i = 0; i < literal.length(); i++) {
+            expect(literal.charAt(i));
+        }
+    }
+
+    /**
+     * Returns the current byte, without moving.
+     *
+     * @return the current byte
+     */
+    private final byte peek() {
+        if (position >= end) {
+            throw new IllegalArgumentException("Unexpected end of the claims");
+        }
+        return json[position];
+    }
+
+    /**
+     * Reads the rest of a string which contains escapes.
+     *
+     * @param builder
+     *            builder with the string read until now
+     */
+    private final void readEscaped(final StringBuilder builder) {
+        int  start;
+        byte current;
+
+        while (peek() != '"') {
+            current = json[position];
+            if (current == '\\') {
+                position++;
+                current = peek();
+                position++;
+                switch (current) {
+                    case '"', '\\', '/' -> builder.append((char) current);
+                    case 'b' -> builder.append('\b');
+                    case 'f' -> builder.append('\f');
+                    case 'n' -> builder.append('\n');
+                    case 'r' -> builder.append('\r');
+                    case 't' -> builder.append('\t');
+                    case 'u' -> builder.append(readUnicode());
+                    default -> throw new IllegalArgumentException("Invalid escape at " + position);
+                }
+            } else {
+                start = position;
+                while ((position < end) && ((current = json[position]) != '"') && (current != '\\')) {
+                    if ((current >= 0) && (current < ' ')) {
+                        throw new IllegalArgumentException("Unescaped control character in string");
+                    }
+                    position++;
+                }
+                builder.append(new String(json, start, position - start, StandardCharsets.UTF_8));
+            }
+        }
+        position++;
+    }
+
+    /**
+     * Reads the four hex digits in a unicode escape.
+     *
+     * @return the escaped character
+     */
+    private final char readUnicode() {
+        int value;
+        int digit;
+
+        if ((position + 4) > end) {
+            throw new IllegalArgumentException("Unterminated unicode escape");
+        }
+        value = 0;
+        for (int i = 0; i < 4; i++) {
+            digit = Character.digit(json[position], 16);
+            if (digit < 0) {
+                throw new IllegalArgumentException("Invalid unicode escape at " + position);
+            }
+            value = (value << 4) | digit;
+            position++;
+        }
+
+        return (char) value;
+    }
+
+    /**
+     * Skips the next value, which may contain other values.
+     *
+     * @param depth
+     *            nesting for the value
+     */
+    private final void skipValue(final int depth) {
+        final byte    next;
+        final char    close;
+        boolean       firstValue;
+
+        if (depth > MAXIMUM_DEPTH) {
+            throw new IllegalArgumentException("Claims nested too deep");
+        }
+
+        skipWhitespace();
+        next = peek();
+        if (next == '"') {
+            skipString();
+        } else if ((next == '{') || (next == '[')) {
+            close = (next == '{') ? '}' : ']';
+            position++;
+            skipWhitespace();
+            firstValue = true;
+            while (peek() != close) {
+                if (!firstValue) {
+                    expect(',');
+                    skipWhitespace();
+                }
+                firstValue = false;
+                if (close == '}') {
+                    skipString();
+                    skipWhitespace();
+                    expect(':');
+                }
+                skipValue(depth + 1);
+                skipWhitespace();
+            }
+            position++;
+        } else if (next == 't') {
+            expectLiteral("true");
+        } else if (next == 'f') {
+            expectLiteral("false");
+        } else if (next == 'n') {
+            expectLiteral("null");
+        } else {
+            nextLong();
+        }
+    }
+
+    /**
+     * Skips a string, without reading it.
+     */
+    private final void skipString() {
+        expect('"');
+        while (peek() != '"') {
+            if (json[position] == '\\') {
+                position++;
+            }
+            position++;
+        }
+        position++;
+    }
+
+    /**
+     * Moves past any whitespace.
+     */
+    private final void skipWhitespace() {
+        byte current;
+
+        while ((position < end) && (((current = json[position]) == ' ') || (current == '\n') || (current == '\r')
+                || (current == '\t'))) {
+            position++;
+        }
+    }
+
+}
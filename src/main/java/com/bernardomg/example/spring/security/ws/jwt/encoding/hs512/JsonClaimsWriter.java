@@ -0,0 +1,269 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.hs512;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Minimal JSON object writer, only for the token claims. Claims are written straight into a growing byte array, as
+ * UTF-8.
+ * <p>
+ * Strings are escaped the same way Jackson does, so the result is byte by byte the same as the one written by JJWT.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+final class JsonClaimsWriter {
+
+    /**
+     * Hexadecimal digits, for escaped characters.
+     */
+    private static final byte[] HEX           = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    /**
+     * Initial buffer size. Enough for most tokens.
+     */
+    private static final int    INITIAL_SIZE  = 256;
+
+    /**
+     * Maximum bytes written for a single character, when it is escaped.
+     */
+    private static final int    MAX_CHAR_SIZE = 6;
+
+    /**
+     * Written bytes.
+     */
+    private byte[]              json          = new byte[INITIAL_SIZE];
+
+    /**
+     * Number of written bytes.
+     */
+    private int                 length;
+
+    /**
+     * Builds a writer, which starts the claims object.
+     */
+    public JsonClaimsWriter() {
+        super();
+
+        write('{');
+    }
+
+    /**
+     * Ends the claims object, and returns the written bytes. The array may be bigger than the written bytes, use
+     * {@link #getLength()} to know their size.
+     *
+     * @return the written bytes
+     */
+    public final byte[] end() {
+        write('}');
+
+        return json;
+    }
+
+    /**
+     * Returns the number of written bytes.
+     *
+     * @return the number of written bytes
+     */
+    public final int getLength() {
+        return length;
+    }
+
+    /**
+     * Writes a numeric claim.
+     *
+     * @param name
+     *            claim name
+     * @param value
+     *            claim value
+     */
+    public final void writeNumber(final String name, final long value) {
+        writeName(name);
+        writeAscii(Long.toString(value));
+    }
+
+    /**
+     * Writes a string claim.
+     *
+     * @param name
+     *            claim name
+     * @param value
+     *            claim value
+     */
+    public final void writeString(final String name, final String value) {
+        writeName(name);
+        writeQuoted(value);
+    }
+
+    /**
+     * Writes an array of strings claim.
+     *
+     * @param name
+     *            claim name
+     * @param values
+     *            claim values
+     */
+    public final void writeStrings(final String name, final Collection<String> values) {
+        boolean first;
+
+        writeName(name);
+        write('[');
+        first = true;
+        for (final String value : values) {
+            if (!first) {
+                write(',');
+            }
+            writeQuoted(value);
+            first = false;
+        }
+        write(']');
+    }
+
+    /**
+     * Makes sure there is space for the received number of bytes.
+     *
+     * @param size
+     *            bytes to write
+     */
+    private final void ensureCapacity(final int size) {
+        if ((length + size) > json.length) {
+            json = Arrays.copyOf(json, Math.max(json.length * 2, length + size));
+        }
+    }
+
+    /**
+     * Writes a single byte.
+     *
+     * @param value
+     *            byte to write
+     */
+    private final void write(final int value) {
+        ensureCapacity(1);
+        json[length] = (byte) value;
+        length++;
+    }
+
+    /**
+     * Writes a string which is known to contain only ASCII characters, which don't need escaping.
+     *
+     * @param value
+     *            string to write
+     */
+    private final void writeAscii(final String value) {
+        final int size;
+
+        size = value.length();
+        ensureCapacity(size);
+        for (int i = 0; i < size; i++) {
+            json[length] = (byte) value.charAt(i);
+            length++;
+        }
+    }
+
+    /**
+     * Writes the claim name, preceded by a comma if it is not the first claim.
+     *
+     * @param name
+     *            claim name
+     */
+    private final void writeName(final String name) {
+        if (length > 1) {
+            write(',');
+        }
+        write('"');
+        writeAscii(name);
+        write('"');
+        write(':');
+    }
+
+    /**
+     * Writes a quoted and escaped string.
+     *
+     * @param value
+     *            string to write
+     */
+    private final void writeQuoted(final String value) {
+        final int size;
+        char      character;
+
+        size = value.length();
+        // Enough for the quotes, and for escaping all the characters
+        ensureCapacity((size * MAX_CHAR_SIZE) + 2);
+        json[length] = '"';
+        length++;
+        for (int i = 0; i < size; i++) {
+            character = value.charAt(i);
+            if ((character < 0x20) || (character == '"') || (character == '\\')) {
+                writeEscaped(character);
+            } else if (character < 0x80) {
+                json[length] = (byte) character;
+                length++;
+            } else if (character < 0x800) {
+                json[length] = (byte) (0xC0 | (character >> 6));
+                json[length + 1] = (byte) (0x80 | (character & 0x3F));
+                length += 2;
+            } else if (Character.isSurrogate(character)) {
+                // Jackson escapes surrogates, instead of writing the code point
+                writeEscaped(character);
+            } else {
+                json[length] = (byte) (0xE0 | (character >> 12));
+                json[length + 1] = (byte) (0x80 | ((character >> 6) & 0x3F));
+                json[length + 2] = (byte) (0x80 | (character & 0x3F));
+                length += 3;
+            }
+        }
+        json[length] = '"';
+        length++;
+    }
+
+    /**
+     * Writes an escaped character.
+     *
+     * @param character
+     *            character to escape
+     */
+    private final void writeEscaped(final char character) {
+        write('\\');
+        switch (character) {
+            case '"', '\\' -> write(character);
+            case '\b' -> write('b');
+            case '\t' -> write('t');
+            case '\n' -> write('n');
+            case '\f' -> write('f');
+            case '\r' -> write('r');
+            default -> {
+                write('u');
+                write(HEX[character >> 12]);
+                write(HEX[(character >> 8) & 0xF]);
+                write(HEX[(character >> 4) & 0xF]);
+                write(HEX[character & 0xF]);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
+
+import java.security.Key;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PublicKeySource;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.InvalidKeyException;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Ring of signing keys. One of them signs new tokens, while all of them verify tokens, so keys can be rotated without
+ * rejecting the tokens signed with the previous key.
+ * <p>
+ * Used as the key locator when parsing tokens. The key is found by the id in the token header, with a single map
+ * lookup, no matter how many keys there are. Tokens without a key id are verified with the current key.
+ * <p>
+ * The keys can be replaced at any moment. All of them are replaced at once, so a token is never verified with a mix of
+ * the old and new keys.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class JjwtKeyRing extends LocatorAdapter<Key> implements PublicKeySource {
+
+    /**
+     * Keys in the ring at a given moment.
+     *
+     * @param current
+     *            key for signing tokens
+     * @param keys
+     *            keys for verifying tokens, by id
+     * @param publicKeys
+     *            public keys from all the keys
+     */
+    private static record Keys(JjwtSigningKey current, Map<String, JjwtSigningKey> keys,
+            Collection<Map<String, ?>> publicKeys) {
+
+        private static final Keys of(final JjwtSigningKey current, final Collection<JjwtSigningKey> keys) {
+            final Map<String, JjwtSigningKey> byId;
+
+            byId = keys.stream()
+                .collect(Collectors.toUnmodifiableMap(JjwtSigningKey::getId, Function.identity(), (a, b) -> a));
+            if (!byId.containsKey(current.getId())) {
+                throw new IllegalArgumentException("The current key " + current.getId() + " is not in the ring");
+            }
+
+            return new Keys(current, byId, byId.values()
+                .stream()
+                .map(JjwtSigningKey::getPublicKeys)
+                .flatMap(Collection::stream)
+                .toList());
+        }
+
+    }
+
+    /**
+     * Keys in the ring.
+     */
+    private volatile Keys keys;
+
+    /**
+     * Builds a ring with the received keys.
+     *
+     * @param current
+     *            key for signing tokens
+     * @param verificationKeys
+     *            keys for verifying tokens, which must include the current key
+     */
+    public JjwtKeyRing(final JjwtSigningKey current, final Collection<JjwtSigningKey> verificationKeys) {
+        super();
+
+        keys = Keys.of(Objects.requireNonNull(current), Objects.requireNonNull(verificationKeys));
+    }
+
+    /**
+     * Builds a ring with a single key.
+     *
+     * @param key
+     *            key for signing and verifying tokens
+     */
+    public JjwtKeyRing(final JjwtSigningKey key) {
+        this(key, List.of(key));
+    }
+
+    /**
+     * Returns the id of the key which signs new tokens.
+     *
+     * @return the id of the current key
+     */
+    public final String getCurrentId() {
+        return keys.current()
+            .getId();
+    }
+
+    /**
+     * Returns the ids of all the keys in the ring.
+     *
+     * @return the key ids
+     */
+    public final Collection<String> getIds() {
+        return keys.keys()
+            .keySet();
+    }
+
+    @Override
+    public final Collection<Map<String, ?>> getPublicKeys() {
+        return keys.publicKeys();
+    }
+
+    /**
+     * Signs the token being built with the current key.
+     *
+     * @param builder
+     *            token builder
+     * @return the token builder, ready to sign
+     */
+    public final JwtBuilder sign(final JwtBuilder builder) {
+        return keys.current()
+            .sign(builder);
+    }
+
+    /**
+     * Replaces all the keys in the ring.
+     *
+     * @param current
+     *            key for signing tokens
+     * @param verificationKeys
+     *            keys for verifying tokens, which must include the current key
+     */
+    public final void update(final JjwtSigningKey current, final Collection<JjwtSigningKey> verificationKeys) {
+        keys = Keys.of(Objects.requireNonNull(current), Objects.requireNonNull(verificationKeys));
+    }
+
+    @Override
+    protected final Key locate(final ProtectedHeader header) {
+        final Keys           ring;
+        final String         id;
+        final JjwtSigningKey key;
+
+        ring = keys;
+        id = header.getKeyId();
+        if (id == null) {
+            // Tokens signed before there were key ids
+            key = ring.current();
+        } else {
+            key = ring.keys()
+                .get(id);
+        }
+
+        if (key == null) {
+            log.debug("Token signed with unknown key {}", id);
+            throw new InvalidKeyException("Unknown signing key " + id);
+        }
+
+        return key.getVerificationKey(header.getAlgorithm());
+    }
+
+}
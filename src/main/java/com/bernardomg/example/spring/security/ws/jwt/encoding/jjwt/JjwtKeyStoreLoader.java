@@ -0,0 +1,307 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.KeyStore;
+import java.security.PublicKey;
+import java.security.cert.Certificate;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Loads a key ring from a PKCS12 key store file. The file can be changed while the application runs, and calling
+ * {@link #refresh()} applies the changes, without a restart.
+ * <p>
+ * Each key store entry is a key in the ring, and its alias is the key id. Entries are sorted by their creation date,
+ * and the newest one signs new tokens. A new key can be published before it starts signing, by giving it an activation
+ * delay, so clients caching the public keys get to read it first.
+ * <p>
+ * Once a key stops signing, it is kept while the tokens it signed can still be valid. After that it is retired, and
+ * tokens signed with it are rejected.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class JjwtKeyStoreLoader {
+
+    /**
+     * Key store entry.
+     *
+     * @param key
+     *            signing key
+     * @param activation
+     *            when the key starts signing tokens
+     */
+    private static record Entry(JjwtSigningKey key, Instant activation) {
+
+    }
+
+    /**
+     * Time after creating a key before it starts signing tokens.
+     */
+    private final Duration    activationDelay;
+
+    /**
+     * Clock for checking the key dates.
+     */
+    private final Clock       clock;
+
+    /**
+     * Key store entries, sorted by activation.
+     */
+    private List<Entry>       entries;
+
+    /**
+     * Key store file.
+     */
+    private final Path        file;
+
+    /**
+     * Last modification time for the key store, when it was read.
+     */
+    private FileTime          lastModified;
+
+    /**
+     * Key store password.
+     */
+    private final char[]      password;
+
+    /**
+     * Key ring built from the key store.
+     */
+    private final JjwtKeyRing ring;
+
+    /**
+     * Time a token is valid. Keys are kept for this time after they stop signing.
+     */
+    private final Duration    validity;
+
+    /**
+     * Builds a loader with the received arguments, and loads the key store.
+     *
+     * @param store
+     *            key store file
+     * @param pass
+     *            key store password
+     * @param delay
+     *            time after creating a key before it starts signing tokens
+     * @param tokenValidity
+     *            time a token is valid
+     * @param clck
+     *            clock for checking the key dates
+     * @throws UncheckedIOException
+     *             if the key store can't be read
+     * @throws IllegalArgumentException
+     *             if the key store contains no valid key
+     */
+    public JjwtKeyStoreLoader(final Path store, final char[] pass, final Duration delay, final Duration tokenValidity,
+            final Clock clck) {
+        super();
+
+        file = Objects.requireNonNull(store);
+        password = Objects.requireNonNull(pass)
+            .clone();
+        activationDelay = Objects.requireNonNull(delay);
+        validity = Objects.requireNonNull(tokenValidity);
+        clock = Objects.requireNonNull(clck);
+
+        lastModified = getLastModified();
+        entries = read();
+        ring = build(null);
+    }
+
+    /**
+     * Returns the key ring. It is the same ring on each call, updated by {@link #refresh()}.
+     *
+     * @return the key ring
+     */
+    public final JjwtKeyRing getKeyRing() {
+        return ring;
+    }
+
+    /**
+     * Updates the key ring. The key store is read again if it was modified. Otherwise, only the current key and the
+     * retired keys are checked.
+     * <p>
+     * If the key store can't be read, the ring is kept as it is.
+     */
+    public final synchronized void refresh() {
+        final FileTime modified;
+
+        try {
+            modified = getLastModified();
+            if (!modified.equals(lastModified)) {
+                log.info("Reloading key store {}", file);
+                entries = read();
+                lastModified = modified;
+            }
+            build(ring);
+        } catch (final UncheckedIOException | IllegalArgumentException e) {
+            log.error("Couldn't reload key store {}, keeping the current keys", file, e);
+        }
+    }
+
+    /**
+     * Builds the ring from the entries. The current key is the last one already active, or the first one if none is
+     * active yet.
+     *
+     * @param existing
+     *            ring to update, or {@code null} to build a new one
+     * @return the ring with the active keys
+     */
+    private final JjwtKeyRing build(final JjwtKeyRing existing) {
+        final Instant              now;
+        final List<JjwtSigningKey> keys;
+        final JjwtSigningKey       current;
+        final JjwtKeyRing          result;
+        int                        currentIndex;
+        Instant                    retirement;
+
+        now = clock.instant();
+        currentIndex = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            if (!entries.get(i)
+                .activation()
+                .isAfter(now)) {
+                currentIndex = i;
+            }
+        }
+
+        keys = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            if (i < currentIndex) {
+                // Older keys are kept while the tokens they signed are valid
+                retirement = entries.get(i + 1)
+                    .activation()
+                    .plus(validity);
+                if (now.isBefore(retirement)) {
+                    keys.add(entries.get(i)
+                        .key());
+                } else {
+                    log.debug("Key {} is retired", entries.get(i)
+                        .key()
+                        .getId());
+                }
+            } else {
+                keys.add(entries.get(i)
+                    .key());
+            }
+        }
+        current = entries.get(currentIndex)
+            .key();
+
+        if (existing == null) {
+            result = new JjwtKeyRing(current, keys);
+        } else {
+            if (!existing.getCurrentId()
+                .equals(current.getId())) {
+                log.info("Tokens will be signed with key {}", current.getId());
+            }
+            existing.update(current, keys);
+            result = existing;
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the key store last modification time.
+     *
+     * @return the key store last modification time
+     */
+    private final FileTime getLastModified() {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads all the entries in the key store.
+     *
+     * @return the key store entries, sorted by activation
+     */
+    private final List<Entry> read() {
+        final KeyStore    store;
+        final List<Entry> read;
+        Key               key;
+        Certificate       certificate;
+        PublicKey         publicKey;
+
+        read = new ArrayList<>();
+        try (InputStream input = Files.newInputStream(file)) {
+            store = KeyStore.getInstance("PKCS12");
+            store.load(input, password);
+            for (final String alias : Collections.list(store.aliases())) {
+                if (store.isKeyEntry(alias)) {
+                    key = store.getKey(alias, password);
+                    certificate = store.getCertificate(alias);
+                    if (certificate == null) {
+                        publicKey = null;
+                    } else {
+                        publicKey = certificate.getPublicKey();
+                    }
+                    read.add(new Entry(JjwtSigningKey.of(alias, key, publicKey), store.getCreationDate(alias)
+                        .toInstant()
+                        .plus(activationDelay)));
+                }
+            }
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalArgumentException("Couldn't read key store " + file, e);
+        }
+
+        if (read.isEmpty()) {
+            throw new IllegalArgumentException("Key store " + file + " contains no key");
+        }
+        read.sort(Comparator.comparing(Entry::activation));
+        log.debug("Read keys {} from {}", read.stream()
+            .map(e -> e.key()
+                .getId())
+            .toList(), file);
+
+        return read;
+    }
+
+}
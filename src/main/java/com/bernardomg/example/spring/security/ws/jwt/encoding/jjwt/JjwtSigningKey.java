@@ -0,0 +1,311 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
+
+import java.nio.charset.StandardCharsets;
+import java.security.Key;
+import java.security.KeyPair;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECKey;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import javax.crypto.SecretKey;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PublicKeySource;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.Jwks;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.MacAlgorithm;
+import io.jsonwebtoken.security.PublicJwk;
+import io.jsonwebtoken.security.SecureDigestAlgorithm;
+import io.jsonwebtoken.security.SignatureAlgorithm;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Key for signing and verifying tokens, along with its algorithm and id. The id is added to the token header, so the
+ * key can be found again when verifying the token, and this only accepts tokens signed with its same algorithm.
+ * <p>
+ * For asymmetric algorithms the public key is published as a JSON Web Key. Symmetric algorithms have no public key.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class JjwtSigningKey implements PublicKeySource {
+
+    /**
+     * Size, in bits, of the P-256 curve.
+     */
+    private static final int P256_SIZE = 256;
+
+    /**
+     * Builds a signing key for a key read from a key store. The algorithm depends on the key.
+     *
+     * @param id
+     *            key id
+     * @param key
+     *            secret or private key
+     * @param publicKey
+     *            public key, for private keys
+     * @return signing key for the key
+     * @throws IllegalArgumentException
+     *             if the key is not supported
+     */
+    public static final JjwtSigningKey of(final String id, final Key key, final PublicKey publicKey) {
+        final JjwtSigningKey signingKey;
+
+        if (key instanceof SecretKey secretKey) {
+            signingKey = switch (secretKey.getAlgorithm()) {
+                case "HmacSHA256" -> new JjwtSigningKey(id, secretKey, Jwts.SIG.HS256);
+                case "HmacSHA384" -> new JjwtSigningKey(id, secretKey, Jwts.SIG.HS384);
+                case "HmacSHA512" -> new JjwtSigningKey(id, secretKey, Jwts.SIG.HS512);
+                default -> throw new IllegalArgumentException(
+                    "Unsupported secret key " + secretKey.getAlgorithm() + " for key " + id);
+            };
+        } else if ((key instanceof PrivateKey privateKey) && (publicKey != null)) {
+            if ((privateKey instanceof ECKey ecKey) && (ecKey.getParams()
+                .getOrder()
+                .bitLength() == P256_SIZE)) {
+                signingKey = new JjwtSigningKey(id, new KeyPair(publicKey, privateKey), Jwts.SIG.ES256);
+            } else if ("EdDSA".equals(privateKey.getAlgorithm()) || "Ed25519".equals(privateKey.getAlgorithm())) {
+                signingKey = new JjwtSigningKey(id, new KeyPair(publicKey, privateKey), Jwts.SIG.EdDSA);
+            } else {
+                throw new IllegalArgumentException(
+                    "Unsupported private key " + privateKey.getAlgorithm() + " for key " + id);
+            }
+        } else {
+            throw new IllegalArgumentException("Key " + id + " is neither a secret key nor a key pair");
+        }
+
+        return signingKey;
+    }
+
+    /**
+     * Builds a signing key for the received algorithm. HMAC algorithms use the secret as key, while for the other
+     * algorithms a new key pair is generated, which will last while the application runs. The key id is taken from the
+     * key thumbprint.
+     *
+     * @param algorithm
+     *            signing algorithm
+     * @param secret
+     *            secret for HMAC algorithms
+     * @return signing key for the algorithm
+     */
+    public static final JjwtSigningKey of(final SigningAlgorithm algorithm, final String secret) {
+        return switch (algorithm) {
+            case HS256 -> new JjwtSigningKey(toSecretKey(secret), Jwts.SIG.HS256);
+            case HS384 -> new JjwtSigningKey(toSecretKey(secret), Jwts.SIG.HS384);
+            case HS512 -> new JjwtSigningKey(toSecretKey(secret), Jwts.SIG.HS512);
+            case ES256 -> new JjwtSigningKey(Jwts.SIG.ES256.keyPair()
+                .build(), Jwts.SIG.ES256);
+            case EDDSA -> new JjwtSigningKey(Jwks.CRV.Ed25519.keyPair()
+                .build(), Jwts.SIG.EdDSA);
+        };
+    }
+
+    /**
+     * Returns the secret as a key.
+     *
+     * @param secret
+     *            secret to transform
+     * @return key for the secret
+     */
+    private static final SecretKey toSecretKey(final String secret) {
+        Objects.requireNonNull(secret, "HMAC algorithms require a secret");
+
+        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Signing algorithm.
+     */
+    private final SecureDigestAlgorithm<Key, ?> algorithm;
+
+    /**
+     * Key id.
+     */
+    @Getter
+    private final String                        id;
+
+    /**
+     * Public key, as a JSON Web Key. Or {@code null} for symmetric algorithms.
+     */
+    private final PublicJwk<?>                  publicKey;
+
+    /**
+     * Key for signing tokens.
+     */
+    private final Key                           signingKey;
+
+    /**
+     * Key for verifying tokens.
+     */
+    private final Key                           verificationKey;
+
+    /**
+     * Builds a signing key for an asymmetric algorithm. The key id is taken from the public key thumbprint.
+     *
+     * @param keyPair
+     *            key pair, the private key signs and the public key verifies
+     * @param alg
+     *            signing algorithm
+     */
+    public JjwtSigningKey(final KeyPair keyPair, final SignatureAlgorithm alg) {
+        this(null, keyPair, alg);
+    }
+
+    /**
+     * Builds a signing key for an HMAC algorithm. The key id is taken from the key thumbprint.
+     *
+     * @param key
+     *            secret key, which both signs and verifies
+     * @param alg
+     *            signing algorithm
+     */
+    public JjwtSigningKey(final SecretKey key, final MacAlgorithm alg) {
+        this(null, key, alg);
+    }
+
+    /**
+     * Builds a signing key for an asymmetric algorithm.
+     *
+     * @param keyId
+     *            key id, or {@code null} to take the public key thumbprint
+     * @param keyPair
+     *            key pair, the private key signs and the public key verifies
+     * @param alg
+     *            signing algorithm
+     */
+    @SuppressWarnings("unchecked")
+    public JjwtSigningKey(final String keyId, final KeyPair keyPair, final SignatureAlgorithm alg) {
+        super();
+
+        Objects.requireNonNull(keyPair);
+
+        algorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Objects.requireNonNull(alg);
+        signingKey = keyPair.getPrivate();
+        verificationKey = keyPair.getPublic();
+        if (keyId == null) {
+            publicKey = Jwks.builder()
+                .key(keyPair.getPublic())
+                .algorithm(alg.getId())
+                .idFromThumbprint()
+                .build();
+        } else {
+            publicKey = Jwks.builder()
+                .key(keyPair.getPublic())
+                .algorithm(alg.getId())
+                .id(keyId)
+                .build();
+        }
+        id = publicKey.getId();
+    }
+
+    /**
+     * Builds a signing key for an HMAC algorithm.
+     *
+     * @param keyId
+     *            key id, or {@code null} to take the key thumbprint
+     * @param key
+     *            secret key, which both signs and verifies
+     * @param alg
+     *            signing algorithm
+     */
+    @SuppressWarnings("unchecked")
+    public JjwtSigningKey(final String keyId, final SecretKey key, final MacAlgorithm alg) {
+        super();
+
+        algorithm = (SecureDigestAlgorithm<Key, ?>) (SecureDigestAlgorithm<?, ?>) Objects.requireNonNull(alg);
+        signingKey = Objects.requireNonNull(key);
+        verificationKey = key;
+        publicKey = null;
+        if (keyId == null) {
+            // The thumbprint is a hash, the key can't be taken back from it
+            id = Jwks.builder()
+                .key(key)
+                .idFromThumbprint()
+                .build()
+                .getId();
+        } else {
+            id = keyId;
+        }
+    }
+
+    @Override
+    public final Collection<Map<String, ?>> getPublicKeys() {
+        final Collection<Map<String, ?>> keys;
+
+        if (publicKey == null) {
+            keys = List.of();
+        } else {
+            keys = List.of(publicKey);
+        }
+
+        return keys;
+    }
+
+    /**
+     * Returns the key for verifying a token signed with the received algorithm.
+     *
+     * @param alg
+     *            algorithm in the token header
+     * @return the key for verifying the token
+     * @throws UnsupportedJwtException
+     *             if the token was signed with another algorithm
+     */
+    public final Key getVerificationKey(final String alg) {
+        if (!algorithm.getId()
+            .equals(alg)) {
+            log.debug("Token signed with {} instead of {}", alg, algorithm.getId());
+            throw new UnsupportedJwtException("Unsupported signing algorithm " + alg);
+        }
+
+        return verificationKey;
+    }
+
+    /**
+     * Signs the token being built. The key id is added to the header.
+     *
+     * @param builder
+     *            token builder
+     * @return the token builder, ready to sign with this key
+     */
+    public final JwtBuilder sign(final JwtBuilder builder) {
+        builder.header()
+            .keyId(id);
+
+        return builder.signWith(signingKey, algorithm);
+    }
+
+}
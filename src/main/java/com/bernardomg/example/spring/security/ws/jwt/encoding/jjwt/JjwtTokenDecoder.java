@@ -24,31 +24,56 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
 
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 
 import javax.crypto.SecretKey;
 
+import com.bernardomg.example.spring.security.ws.jwt.encoding.CustomClaims;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PermissionsCompression;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SecurityException;
+import lombok.extern.slf4j.Slf4j;
 
 /**
  * JWT token decoder based on the JJWT library.
+ * <p>
+ * The JJWT parser verifies the signature and the registered date claims when parsing, so verifying a token requires
+ * parsing it just once.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
+@Slf4j
 public final class JjwtTokenDecoder implements TokenDecoder {
 
+    /**
+     * All the claims. Used when no claim is filtered.
+     */
+    private static final Set<TokenClaim> ALL_CLAIMS = Collections.unmodifiableSet(EnumSet.allOf(TokenClaim.class));
+
     /**
      * JWT parser for reading tokens.
      */
-    private final JwtParser parser;
+    private final JwtParser              parser;
 
     /**
      * Builds a decoder with the received parser.
@@ -62,6 +87,47 @@ public JjwtTokenDecoder(final JwtParser prsr) {
         parser = Objects.requireNonNull(prsr);
     }
 
+    /**
+     * Builds a decoder with the received keys. The key is chosen by the id in the token header, and only tokens signed
+     * with the same algorithm as that key are accepted.
+     *
+     * @param keys
+     *            signing keys for the token
+     */
+    public JjwtTokenDecoder(final JjwtKeyRing keys) {
+        this(keys, Clock.systemUTC());
+    }
+
+    /**
+     * Builds a decoder with the received keys, which checks the token dates against the received clock.
+     *
+     * @param keys
+     *            signing keys for the token
+     * @param clock
+     *            clock for checking the token dates
+     */
+    public JjwtTokenDecoder(final JjwtKeyRing keys, final Clock clock) {
+        super();
+
+        Objects.requireNonNull(keys);
+        Objects.requireNonNull(clock);
+
+        parser = Jwts.parser()
+            .keyLocator(keys)
+            .clock(() -> Date.from(clock.instant()))
+            .build();
+    }
+
+    /**
+     * Builds a decoder with the received key. Only tokens signed with the same algorithm as the key are accepted.
+     *
+     * @param key
+     *            signing key for the token
+     */
+    public JjwtTokenDecoder(final JjwtSigningKey key) {
+        this(new JjwtKeyRing(Objects.requireNonNull(key)));
+    }
+
     /**
      * Builds a decoder with the received key.
      *
@@ -80,54 +146,157 @@ public JjwtTokenDecoder(final SecretKey key) {
 
     @Override
     public final JwtTokenData decode(final String token) {
-        final Claims        claims;
-        final LocalDateTime issuedAt;
-        final LocalDateTime expiration;
-        final LocalDateTime notBefore;
+        final Claims claims;
 
         // Acquire claims
         claims = parser.parseSignedClaims(token)
             .getPayload();
 
-        // Issued at
-        if (claims.getIssuedAt() != null) {
-            issuedAt = claims.getIssuedAt()
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        return toTokenData(claims, ALL_CLAIMS);
+    }
+
+    @Override
+    public final TokenVerification verify(final String token) {
+        return verify(token, ALL_CLAIMS);
+    }
+
+    @Override
+    public final TokenVerification verify(final String token, final Set<TokenClaim> claims) {
+        TokenVerification verification;
+        Claims            payload;
+
+        try {
+            // Signature verification and parsing, done just once
+            payload = parser.parseSignedClaims(token)
+                .getPayload();
+            verification = TokenVerification.valid(toTokenData(payload, claims));
+        } catch (final ExpiredJwtException e) {
+            log.debug("Token has expired: {}", e.getMessage());
+            verification = TokenVerification.failed(TokenFailure.EXPIRED);
+        } catch (final PrematureJwtException e) {
+            log.debug("Token is not yet valid: {}", e.getMessage());
+            verification = TokenVerification.failed(TokenFailure.NOT_YET_VALID);
+        } catch (final SecurityException e) {
+            log.debug("Token signature is invalid: {}", e.getMessage());
+            verification = TokenVerification.failed(TokenFailure.INVALID_SIGNATURE);
+        } catch (final UnsupportedJwtException e) {
+            log.debug("Token is not supported: {}", e.getMessage());
+            verification = TokenVerification.failed(TokenFailure.UNSUPPORTED);
+        } catch (final JwtException | IllegalArgumentException e) {
+            log.debug("Token is malformed: {}", e.getMessage());
+            verification = TokenVerification.failed(TokenFailure.MALFORMED);
+        }
+
+        return verification;
+    }
+
+    /**
+     * Returns the permissions from the claims. These may be compressed, or stored as a list.
+     *
+     * @param claims
+     *            claims to read
+     * @return the permissions, or {@code null} if there are none
+     */
+    private final Collection<String> getPermissions(final Claims claims) {
+        final Object             permissions;
+        final Collection<String> result;
+
+        permissions = claims.get(CustomClaims.PERMISSIONS);
+        if (permissions instanceof Collection<?> values) {
+            result = values.stream()
+                .map(String::valueOf)
+                .toList();
+        } else if (claims.containsKey(CustomClaims.COMPRESSED_PERMISSIONS)) {
+            result = PermissionsCompression.decompress(claims.get(CustomClaims.COMPRESSED_PERMISSIONS, String.class));
         } else {
-            issuedAt = null;
+            result = null;
         }
 
-        // Expiration
-        if (claims.getExpiration() != null) {
-            expiration = claims.getExpiration()
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        return result;
+    }
+
+    /**
+     * Returns the subject version from the claims.
+     *
+     * @param claims
+     *            claims to read
+     * @return the version, or {@code null} if there is none
+     */
+    private final Long getVersion(final Claims claims) {
+        final Object version;
+        final Long   result;
+
+        version = claims.get(CustomClaims.VERSION);
+        if (version instanceof Number number) {
+            result = number.longValue();
         } else {
-            expiration = null;
+            result = null;
         }
 
-        // Not before
-        if (claims.getNotBefore() != null) {
-            notBefore = claims.getNotBefore()
-                .toInstant()
-                .atZone(ZoneId.systemDefault())
-                .toLocalDateTime();
+        return result;
+    }
+
+    /**
+     * Returns the date as an {@code Instant}, or {@code null} if there is no date.
+     *
+     * @param date
+     *            date to transform
+     * @return the date as an {@code Instant}
+     */
+    private final Instant toInstant(final Date date) {
+        final Instant result;
+
+        if (date == null) {
+            result = null;
         } else {
-            notBefore = null;
+            result = date.toInstant();
         }
 
-        return JwtTokenData.builder()
-            .withId(claims.getId())
-            .withSubject(claims.getSubject())
-            .withAudience(claims.getAudience())
-            .withIssuer(claims.getIssuer())
-            .withIssuedAt(issuedAt)
-            .withExpiration(expiration)
-            .withNotBefore(notBefore)
-            .build();
+        return result;
+    }
+
+    /**
+     * Transforms the claims into token data. Only the requested claims are transformed.
+     *
+     * @param claims
+     *            claims to transform
+     * @param requested
+     *            claims to include in the token data
+     * @return token data with the requested claims
+     */
+    private final JwtTokenData toTokenData(final Claims claims, final Set<TokenClaim> requested) {
+        final JwtTokenData.JwtTokenDataBuilder builder;
+
+        builder = JwtTokenData.builder();
+        if (requested.contains(TokenClaim.ID)) {
+            builder.withId(claims.getId());
+        }
+        if (requested.contains(TokenClaim.SUBJECT)) {
+            builder.withSubject(claims.getSubject());
+        }
+        if (requested.contains(TokenClaim.AUDIENCE)) {
+            builder.withAudience(claims.getAudience());
+        }
+        if (requested.contains(TokenClaim.ISSUER)) {
+            builder.withIssuer(claims.getIssuer());
+        }
+        if (requested.contains(TokenClaim.ISSUED_AT)) {
+            builder.withIssuedAt(toInstant(claims.getIssuedAt()));
+        }
+        if (requested.contains(TokenClaim.EXPIRATION)) {
+            builder.withExpiration(toInstant(claims.getExpiration()));
+        }
+        if (requested.contains(TokenClaim.NOT_BEFORE)) {
+            builder.withNotBefore(toInstant(claims.getNotBefore()));
+        }
+        if (requested.contains(TokenClaim.PERMISSIONS)) {
+            builder.withPermissions(getPermissions(claims));
+        }
+        if (requested.contains(TokenClaim.VERSION)) {
+            builder.withVersion(getVersion(claims));
+        }
+
+        return builder.build();
     }
 
 }
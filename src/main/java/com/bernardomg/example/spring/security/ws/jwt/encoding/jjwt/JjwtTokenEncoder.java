@@ -24,13 +24,14 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
 
-import java.time.ZoneId;
 import java.util.Date;
 import java.util.Objects;
 
 import javax.crypto.SecretKey;
 
+import com.bernardomg.example.spring.security.ws.jwt.encoding.CustomClaims;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PermissionsCompression;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
 
 import io.jsonwebtoken.JwtBuilder;
@@ -38,7 +39,11 @@
 import lombok.extern.slf4j.Slf4j;
 
 /**
- * JWT token encoder based on the JJWT library.
+ * JWT token encoder based on the JJWT library. Tokens are signed with the current key from a {@link JjwtKeyRing},
+ * which decides the algorithm, and the key id is added to the header.
+ * <p>
+ * Permissions are stored as a list, unless they are too big. In that case they are compressed with
+ * {@link PermissionsCompression}.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -47,20 +52,40 @@
 public final class JjwtTokenEncoder implements TokenEncoder {
 
     /**
-     * Secret key for generating tokens.
+     * Keys for signing tokens.
+     */
+    private final JjwtKeyRing keys;
+
+    /**
+     * Constructs an encoder with the received arguments.
+     *
+     * @param keyRing
+     *            keys used to sign the tokens
      */
-    private final SecretKey key;
+    public JjwtTokenEncoder(final JjwtKeyRing keyRing) {
+        super();
+
+        keys = Objects.requireNonNull(keyRing, "The key ring must not be null");
+    }
 
     /**
      * Constructs an encoder with the received arguments.
      *
+     * @param signingKey
+     *            key used to sign the tokens
+     */
+    public JjwtTokenEncoder(final JjwtSigningKey signingKey) {
+        this(new JjwtKeyRing(Objects.requireNonNull(signingKey, "The signing key must not be null")));
+    }
+
+    /**
+     * Constructs an encoder which signs with HS512.
+     *
      * @param secretKey
      *            secret key used for the token
      */
     public JjwtTokenEncoder(final SecretKey secretKey) {
-        super();
-
-        key = Objects.requireNonNull(secretKey, "The secret key must not be null");
+        this(new JjwtSigningKey(Objects.requireNonNull(secretKey, "The secret key must not be null"), Jwts.SIG.HS512));
     }
 
     @Override
@@ -82,29 +107,38 @@ public final String encode(final JwtTokenData data) {
         // TODO: Use optional
         // Issued at
         if (data.issuedAt() != null) {
-            issuedAt = java.util.Date.from(data.issuedAt()
-                .atZone(ZoneId.systemDefault())
-                .toInstant());
+            issuedAt = Date.from(data.issuedAt());
             jwtBuilder.issuedAt(issuedAt);
         }
 
         // Expiration
         if (data.expiration() != null) {
-            expiration = java.util.Date.from(data.expiration()
-                .atZone(ZoneId.systemDefault())
-                .toInstant());
+            expiration = Date.from(data.expiration());
             jwtBuilder.expiration(expiration);
         }
 
         // Not before
         if (data.notBefore() != null) {
-            notBefore = java.util.Date.from(data.notBefore()
-                .atZone(ZoneId.systemDefault())
-                .toInstant());
+            notBefore = Date.from(data.notBefore());
             jwtBuilder.notBefore(notBefore);
         }
 
-        token = jwtBuilder.signWith(key, Jwts.SIG.HS512)
+        // Permissions
+        if (data.permissions() != null) {
+            if (PermissionsCompression.shouldCompress(data.permissions())) {
+                jwtBuilder.claim(CustomClaims.COMPRESSED_PERMISSIONS,
+                    PermissionsCompression.compress(data.permissions()));
+            } else {
+                jwtBuilder.claim(CustomClaims.PERMISSIONS, data.permissions());
+            }
+        }
+
+        // Version
+        if (data.version() != null) {
+            jwtBuilder.claim(CustomClaims.VERSION, data.version());
+        }
+
+        token = keys.sign(jwtBuilder)
             .compact();
 
         log.debug("Created token from {}", data);
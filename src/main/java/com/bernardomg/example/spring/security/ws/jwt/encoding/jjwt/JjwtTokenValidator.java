@@ -24,16 +24,25 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt;
 
+import java.time.Clock;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
 import javax.crypto.SecretKey;
 
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenValidator;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
 
-import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Token validator based on the JJWT library.
+ * <p>
+ * Validation is delegated to the decoder verification, so the token is parsed just once.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -41,10 +50,20 @@
 @Slf4j
 public final class JjwtTokenValidator implements TokenValidator {
 
+    /**
+     * Claims needed to validate the token.
+     */
+    private static final Set<TokenClaim> CLAIMS = Collections.unmodifiableSet(EnumSet.of(TokenClaim.EXPIRATION));
+
+    /**
+     * Clock for checking the token expiration.
+     */
+    private final Clock                  clock;
+
     /**
      * Token decoder. Without this the token claims can't be validated.
      */
-    private final TokenDecoder tokenDecoder;
+    private final TokenDecoder           tokenDecoder;
 
     /**
      * Constructs a validator with the received arguments.
@@ -53,22 +72,47 @@ public final class JjwtTokenValidator implements TokenValidator {
      *            secret key used for the token
      */
     public JjwtTokenValidator(final SecretKey secretKey) {
+        this(new JjwtTokenDecoder(secretKey));
+    }
+
+    /**
+     * Constructs a validator with the received arguments.
+     *
+     * @param decoder
+     *            token decoder
+     */
+    public JjwtTokenValidator(final TokenDecoder decoder) {
+        this(decoder, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs a validator with the received arguments.
+     *
+     * @param decoder
+     *            token decoder
+     * @param tokenClock
+     *            clock for checking the token expiration
+     */
+    public JjwtTokenValidator(final TokenDecoder decoder, final Clock tokenClock) {
         super();
 
-        tokenDecoder = new JjwtTokenDecoder(secretKey);
+        tokenDecoder = Objects.requireNonNull(decoder);
+        clock = Objects.requireNonNull(tokenClock);
     }
 
     @Override
     public final boolean hasExpired(final String token) {
-        Boolean expired;
+        final TokenVerification verification;
+        final boolean           expired;
 
-        try {
+        verification = tokenDecoder.verify(token, CLAIMS);
+        if (verification.isValid()) {
             // Check if token is expired
-            expired = tokenDecoder.decode(token)
-                .isExpired();
-        } catch (final JwtException e) {
-            // Token parsing failed
-            log.debug("Failed parsing token", e);
+            expired = verification.data()
+                .isExpired(clock);
+        } else {
+            // Token verification failed
+            log.debug("Failed verifying token: {}", verification.failure());
             expired = true;
         }
 
@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.jwks.adapter.outbound.rest.controller;
+
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bernardomg.example.spring.security.ws.jwt.jwks.domain.model.JsonWebKeySet;
+import com.bernardomg.example.spring.security.ws.jwt.jwks.usecase.service.JwksService;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import lombok.AllArgsConstructor;
+
+/**
+ * JSON Web Key Set REST controller. Publishes the public keys, so other services can verify tokens on their own.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@RestController
+@RequestMapping("/.well-known/jwks.json")
+@AllArgsConstructor
+public class JwksController {
+
+    /**
+     * Object mapper, for writing the key set.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * JSON Web Key Set service.
+     */
+    private final JwksService  service;
+
+    /**
+     * Returns the public keys. These change rarely, so the response can be stored by any cache.
+     * <p>
+     * The key set is returned already written as JSON, so it is not wrapped into the usual response object, and any
+     * client can read it.
+     *
+     * @return the public keys
+     * @throws JsonProcessingException
+     *             if the keys can't be written
+     */
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<Resource> getKeySet() throws JsonProcessingException {
+        final JsonWebKeySet keySet;
+
+        keySet = service.getKeySet();
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .cacheControl(CacheControl.maxAge(service.getMaxAge())
+                .cachePublic())
+            .body(new ByteArrayResource(objectMapper.writeValueAsBytes(keySet)));
+    }
+
+}
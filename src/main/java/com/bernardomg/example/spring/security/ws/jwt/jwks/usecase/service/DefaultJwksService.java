@@ -0,0 +1,76 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.jwks.usecase.service;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.PublicKeySource;
+import com.bernardomg.example.spring.security.ws.jwt.jwks.domain.model.JsonWebKeySet;
+
+/**
+ * Default JSON Web Key Set service, which takes the keys from the public key source.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class DefaultJwksService implements JwksService {
+
+    /**
+     * How long the keys can be cached.
+     */
+    private final Duration        maxAge;
+
+    /**
+     * Source for the public keys.
+     */
+    private final PublicKeySource publicKeySource;
+
+    /**
+     * Builds a service with the received arguments.
+     *
+     * @param source
+     *            source for the public keys
+     * @param age
+     *            how long the keys can be cached
+     */
+    public DefaultJwksService(final PublicKeySource source, final Duration age) {
+        super();
+
+        publicKeySource = Objects.requireNonNull(source);
+        maxAge = Objects.requireNonNull(age);
+    }
+
+    @Override
+    public final JsonWebKeySet getKeySet() {
+        return new JsonWebKeySet(publicKeySource.getPublicKeys());
+    }
+
+    @Override
+    public final Duration getMaxAge() {
+        return maxAge;
+    }
+
+}
@@ -24,16 +24,24 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.login.adapter.outbound.rest.controller;
 
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.bernardomg.example.spring.security.ws.jwt.login.adapter.outbound.rest.model.LoginRequest;
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginThrottledException;
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginUnavailableException;
 import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.Credentials;
 import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.TokenLoginStatus;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.LoginRateLimiter;
 import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.LoginService;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.AllArgsConstructor;
 
 /**
@@ -47,24 +55,73 @@
 @AllArgsConstructor
 public class LoginController {
 
+    /**
+     * Seconds the client should wait before trying to log in again, after being rejected.
+     */
+    private static final String    RETRY_AFTER = "1";
+
+    /**
+     * Login rate limiter.
+     */
+    private final LoginRateLimiter rateLimiter;
+
     /**
      * Login service.
      */
-    private final LoginService service;
+    private final LoginService     service;
 
     /**
      * Logs in a user.
      *
      * @param login
      *            login request
+     * @param request
+     *            HTTP request, to limit the attempts from its address
      * @return the login status after the login attempt
      */
     @PostMapping
-    public TokenLoginStatus login(@RequestBody final LoginRequest login) {
+    public TokenLoginStatus login(@RequestBody final LoginRequest login, final HttpServletRequest request) {
         final Credentials credentials;
 
+        // Checked first, so throttled attempts don't match passwords
+        rateLimiter.check(login.username(), request.getRemoteAddr());
+
         credentials = new Credentials(login.username(), login.password());
         return service.login(credentials);
     }
 
+    /**
+     * Answers throttled logins with a {@code 429 Too Many Requests}.
+     *
+     * @param exception
+     *            throttling exception
+     * @return a response asking the client to wait before trying again
+     */
+    @ExceptionHandler(LoginThrottledException.class)
+    public ResponseEntity<Void> handleThrottled(final LoginThrottledException exception) {
+        final long seconds;
+
+        // Rounded up, so the client doesn't retry too soon
+        seconds = Math.max(1, (exception.getRetryAfter()
+            .toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(seconds))
+            .build();
+    }
+
+    /**
+     * Answers logins rejected as there are too many waiting with a {@code 503 Service Unavailable}.
+     *
+     * @param exception
+     *            rejection exception
+     * @return a response asking the client to try again later
+     */
+    @ExceptionHandler(LoginUnavailableException.class)
+    public ResponseEntity<Void> handleUnavailable(final LoginUnavailableException exception) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER)
+            .build();
+    }
+
 }
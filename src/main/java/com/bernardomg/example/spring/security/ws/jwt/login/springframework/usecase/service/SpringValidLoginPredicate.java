@@ -35,6 +35,8 @@
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.Credentials;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.PasswordUpgrader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -49,6 +51,14 @@
  * <li>Received password matchs the one encrypted for the user</li>
  * <li>User should be enabled, and valid</li>
  * </ul>
+ * <h2>Unknown usernames</h2>
+ * <p>
+ * If there is an unknown username filter, usernames which surely don't exist are rejected without loading them. Usernames
+ * which can't be loaded are marked as missing in the filter.
+ * <h2>Password upgrades</h2>
+ * <p>
+ * If there is a password upgrader, after a successful login the password is stored again when its encoding is
+ * outdated.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -59,18 +69,48 @@ public final class SpringValidLoginPredicate implements Predicate<Credentials> {
     /**
      * Password encoder, for validating passwords.
      */
-    private final PasswordEncoder    passwordEncoder;
+    private final PasswordEncoder       passwordEncoder;
+
+    /**
+     * Password upgrader, for storing again outdated passwords. May be {@code null}, in which case passwords are never
+     * upgraded.
+     */
+    private final PasswordUpgrader      passwordUpgrader;
+
+    /**
+     * Filter for usernames which surely don't exist. May be {@code null}, in which case all the usernames are loaded.
+     */
+    private final UnknownUsernameFilter unknownUsernameFilter;
 
     /**
      * User details service, to find and validate users.
      */
-    private final UserDetailsService userDetailsService;
+    private final UserDetailsService    userDetailsService;
 
     public SpringValidLoginPredicate(final UserDetailsService userDetService, final PasswordEncoder passEncoder) {
+        this(userDetService, passEncoder, null, null);
+    }
+
+    /**
+     * Constructs a validator with the received arguments.
+     *
+     * @param userDetService
+     *            user details service, to find and validate users
+     * @param passEncoder
+     *            password encoder, for validating passwords
+     * @param passUpgrader
+     *            password upgrader, or {@code null} to never upgrade passwords
+     * @param unknownFilter
+     *            unknown username filter, or {@code null} to load all the usernames
+     */
+    public SpringValidLoginPredicate(final UserDetailsService userDetService, final PasswordEncoder passEncoder,
+            final PasswordUpgrader passUpgrader, final UnknownUsernameFilter unknownFilter) {
         super();
 
         userDetailsService = Objects.requireNonNull(userDetService);
         passwordEncoder = Objects.requireNonNull(passEncoder);
+        passwordUpgrader = passUpgrader;
+        unknownUsernameFilter = unknownFilter;
     }
 
     @Override
@@ -81,11 +121,19 @@ public final boolean test(final Credentials credentials) {
         // TODO: Throw exceptions
 
         // Find the user
-        try {
-            details = Optional.ofNullable(userDetailsService.loadUserByUsername(credentials.username()
-                .toLowerCase(Locale.getDefault())));
-        } catch (final UsernameNotFoundException e) {
+        if ((unknownUsernameFilter != null) && unknownUsernameFilter.isUnknown(credentials.username())) {
+            // Surely doesn't exist, there is no need to search for it
             details = Optional.empty();
+        } else {
+            try {
+                details = Optional.ofNullable(userDetailsService.loadUserByUsername(credentials.username()
+                    .toLowerCase(Locale.ROOT)));
+            } catch (final UsernameNotFoundException e) {
+                details = Optional.empty();
+                if (unknownUsernameFilter != null) {
+                    unknownUsernameFilter.markMissing(credentials.username());
+                }
+            }
         }
 
         if (details.isEmpty()) {
@@ -97,7 +145,11 @@ public final boolean test(final Credentials credentials) {
             // Validate password
             valid = passwordEncoder.matches(credentials.password(), details.get()
                 .getPassword());
-            if (!valid) {
+            if (valid) {
+                if (passwordUpgrader != null) {
+                    passwordUpgrader.upgrade(details.get(), credentials.password());
+                }
+            } else {
                 log.debug(
                     "Received a password which doesn't match the one stored for credentials.username() {}. Failed login",
                     credentials.username());
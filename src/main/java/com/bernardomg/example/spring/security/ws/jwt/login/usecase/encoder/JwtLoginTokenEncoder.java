@@ -24,17 +24,29 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder;
 
+import java.time.Clock;
 import java.time.Duration;
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
 
 import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Encodes a JWT token including the permissions for the user.
+ * <p>
+ * Each token gets a random id, which allows revoking it.
+ * <p>
+ * When a user repository is received, the token is stateless. The user privileges and version are added to it, so it
+ * can be authorized without reading the user again.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -42,43 +54,116 @@
 @Slf4j
 public class JwtLoginTokenEncoder implements LoginTokenEncoder {
 
+    /**
+     * Clock giving the token issue date.
+     */
+    private final Clock                    clock;
+
     /**
      * Token encoder for creating authentication tokens.
      */
-    private final TokenEncoder tokenEncoder;
+    private final TokenEncoder             tokenEncoder;
+
+    /**
+     * User repository. Used to read the privileges and version for stateless tokens.
+     */
+    private final Optional<UserRepository> userRepository;
 
     /**
      * Token validity time in seconds.
      */
-    private final Duration     validity;
+    private final Duration                 validity;
 
     public JwtLoginTokenEncoder(final TokenEncoder tknEncoder, final Duration vldt) {
+        this(tknEncoder, vldt, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs an encoder which takes the issue date from the received clock.
+     *
+     * @param tknEncoder
+     *            token encoder
+     * @param vldt
+     *            token validity
+     * @param tokenClock
+     *            clock giving the token issue date
+     */
+    public JwtLoginTokenEncoder(final TokenEncoder tknEncoder, final Duration vldt, final Clock tokenClock) {
         super();
 
         tokenEncoder = Objects.requireNonNull(tknEncoder);
         validity = Objects.requireNonNull(vldt);
+        clock = Objects.requireNonNull(tokenClock);
+        userRepository = Optional.empty();
+    }
+
+    /**
+     * Constructs an encoder for stateless tokens.
+     *
+     * @param tknEncoder
+     *            token encoder
+     * @param vldt
+     *            token validity
+     * @param userRepo
+     *            user repository, to read privileges and version
+     */
+    public JwtLoginTokenEncoder(final TokenEncoder tknEncoder, final Duration vldt, final UserRepository userRepo) {
+        this(tknEncoder, vldt, userRepo, Clock.systemUTC());
+    }
+
+    /**
+     * Constructs an encoder for stateless tokens, which takes the issue date from the received clock.
+     *
+     * @param tknEncoder
+     *            token encoder
+     * @param vldt
+     *            token validity
+     * @param userRepo
+     *            user repository, to read privileges and version
+     * @param tokenClock
+     *            clock giving the token issue date
+     */
+    public JwtLoginTokenEncoder(final TokenEncoder tknEncoder, final Duration vldt, final UserRepository userRepo,
+            final Clock tokenClock) {
+        super();
+
+        tokenEncoder = Objects.requireNonNull(tknEncoder);
+        validity = Objects.requireNonNull(vldt);
+        clock = Objects.requireNonNull(tokenClock);
+        userRepository = Optional.of(userRepo);
     }
 
     @Override
     public final String encode(final String username) {
-        final LocalDateTime expiration;
-        final LocalDateTime issuedAt;
-        final String        token;
-        final JwtTokenData  data;
+        final Instant        expiration;
+        final Instant        issuedAt;
+        final String         token;
+        final JwtTokenData   data;
+        final Optional<User> user;
 
         // Issued right now
-        issuedAt = LocalDateTime.now();
+        // Both dates come from the same instant, so the validity is exact
+        issuedAt = clock.instant();
         // Expires in a number of seconds equal to validity
         // TODO: handle validity in the encoder
-        expiration = LocalDateTime.now()
-            .plus(validity);
+        expiration = issuedAt.plus(validity);
+
+        // Stateless tokens contain the user privileges and version
+        user = userRepository.flatMap(r -> r.findOne(username));
 
         // Build token data for the wrapped encoder
+        // A random id, so the token can be revoked
         data = JwtTokenData.builder()
+            .withId(UUID.randomUUID()
+                .toString())
             .withSubject(username)
             .withIssuedAt(issuedAt)
             .withNotBefore(issuedAt)
             .withExpiration(expiration)
+            .withPermissions(user.map(this::getPermissions)
+                .orElse(null))
+            .withVersion(user.map(User::version)
+                .orElse(null))
             .build();
 
         token = tokenEncoder.encode(data);
@@ -88,4 +173,19 @@ public final String encode(final String username) {
         return token;
     }
 
+    /**
+     * Returns the names of the user privileges.
+     *
+     * @param user
+     *            user to read
+     * @return the names of the user privileges
+     */
+    private final Collection<String> getPermissions(final User user) {
+        return user.privileges()
+            .stream()
+            .map(Privilege::name)
+            .distinct()
+            .toList();
+    }
+
 }
@@ -0,0 +1,74 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder;
+
+import java.util.Objects;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Login token encoder which times another encoder. The time taken to encode each token is registered in the
+ * {@code security.login.token.encoding} timer.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TimedLoginTokenEncoder implements LoginTokenEncoder {
+
+    /**
+     * Wrapped encoder.
+     */
+    private final LoginTokenEncoder encoder;
+
+    /**
+     * Timer for the encoded tokens.
+     */
+    private final Timer             timer;
+
+    /**
+     * Constructs an encoder with the received arguments.
+     *
+     * @param wrapped
+     *            encoder to time
+     * @param registry
+     *            registry for the timer
+     */
+    public TimedLoginTokenEncoder(final LoginTokenEncoder wrapped, final MeterRegistry registry) {
+        super();
+
+        encoder = Objects.requireNonNull(wrapped);
+        timer = Timer.builder("security.login.token.encoding")
+            .description("Time taken to encode a login token")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @Override
+    public final String encode(final String username) {
+        return timer.record(() -> encoder.encode(username));
+    }
+
+}
@@ -0,0 +1,129 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Objects;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginThrottledException;
+import com.bernardomg.example.spring.security.ws.jwt.ratelimit.KeyedRateLimiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Login rate limiter with token buckets for each username and for each address. An attempt needs a token from both,
+ * so a single client can't try many usernames, and many clients can't try a single username.
+ * <p>
+ * The address bucket is checked first, so attempts from a throttled address don't take tokens from the usernames they
+ * try.
+ * <p>
+ * Usernames are case insensitive. Throttled attempts are counted as {@code security.login.throttled}, tagged by the
+ * limit reached.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TokenBucketLoginRateLimiter implements LoginRateLimiter {
+
+    /**
+     * Rate limiter for the addresses.
+     */
+    private final KeyedRateLimiter addressLimiter;
+
+    /**
+     * Throttled attempts, by address.
+     */
+    private final Counter          addressThrottled;
+
+    /**
+     * Rate limiter for the usernames.
+     */
+    private final KeyedRateLimiter usernameLimiter;
+
+    /**
+     * Throttled attempts, by username.
+     */
+    private final Counter          usernameThrottled;
+
+    /**
+     * Constructs a rate limiter with the received arguments.
+     *
+     * @param usernameLimit
+     *            rate limiter for the usernames
+     * @param addressLimit
+     *            rate limiter for the addresses
+     * @param registry
+     *            registry for the throttled attempts counters
+     */
+    public TokenBucketLoginRateLimiter(final KeyedRateLimiter usernameLimit, final KeyedRateLimiter addressLimit,
+            final MeterRegistry registry) {
+        super();
+
+        usernameLimiter = Objects.requireNonNull(usernameLimit);
+        addressLimiter = Objects.requireNonNull(addressLimit);
+        usernameThrottled = getCounter("username", registry);
+        addressThrottled = getCounter("address", registry);
+    }
+
+    @Override
+    public final void check(final String username, final String address) {
+        long wait;
+
+        wait = addressLimiter.tryAcquire(address);
+        if (wait > 0) {
+            log.debug("Too many login attempts from {}", address);
+            addressThrottled.increment();
+            throw new LoginThrottledException("Too many login attempts from the same address", Duration.ofNanos(wait));
+        }
+
+        wait = usernameLimiter.tryAcquire(username.toLowerCase(Locale.ROOT));
+        if (wait > 0) {
+            log.debug("Too many login attempts for {}", username);
+            usernameThrottled.increment();
+            throw new LoginThrottledException("Too many login attempts for the same user", Duration.ofNanos(wait));
+        }
+    }
+
+    /**
+     * Returns the throttled attempts counter for the limit.
+     *
+     * @param limit
+     *            limit reached
+     * @param registry
+     *            registry for the counter
+     * @return the throttled attempts counter
+     */
+    private final Counter getCounter(final String limit, final MeterRegistry registry) {
+        return Counter.builder("security.login.throttled")
+            .description("Login attempts rejected as there were too many recently")
+            .tag("limit", limit)
+            .register(registry);
+    }
+
+}
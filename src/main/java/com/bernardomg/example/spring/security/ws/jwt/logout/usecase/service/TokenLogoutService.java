@@ -0,0 +1,102 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.logout.usecase.service;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Set;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.TokenDenylist;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Logout service which adds the token id to a denylist. The token is kept there until it expires.
+ * <p>
+ * Only tokens with an id can be revoked.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class TokenLogoutService implements LogoutService {
+
+    /**
+     * Claims required to revoke the token.
+     */
+    private static final Set<TokenClaim> CLAIMS = Collections
+        .unmodifiableSet(EnumSet.of(TokenClaim.ID, TokenClaim.SUBJECT, TokenClaim.EXPIRATION));
+
+    /**
+     * Revoked tokens.
+     */
+    private final TokenDenylist          denylist;
+
+    /**
+     * Token decoder, to read the token id and expiration.
+     */
+    private final TokenDecoder           tokenDecoder;
+
+    /**
+     * Constructs a service with the received arguments.
+     *
+     * @param decoder
+     *            token decoder
+     * @param revoked
+     *            revoked tokens
+     */
+    public TokenLogoutService(final TokenDecoder decoder, final TokenDenylist revoked) {
+        super();
+
+        tokenDecoder = Objects.requireNonNull(decoder);
+        denylist = Objects.requireNonNull(revoked);
+    }
+
+    @Override
+    public final void logout(final String token) {
+        final TokenVerification verification;
+        final JwtTokenData      data;
+
+        verification = tokenDecoder.verify(token, CLAIMS);
+        if (!verification.isValid()) {
+            // Invalid tokens are already rejected
+            log.debug("Invalid token, rejected as {}, no need to revoke it", verification.failure());
+        } else if (verification.data()
+            .id() == null) {
+            log.warn("Token for {} has no id, it can't be revoked", verification.data()
+                .subject());
+        } else {
+            data = verification.data();
+            denylist.revoke(data.id(), data.expiration());
+            log.debug("Logged out {}", data.subject());
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.jpa.repository;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.repository.PersonRepository;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * JPA implementation of the person repository. Persons are read with a projection over the users, which only selects
+ * the columns required for them.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ */
+@Slf4j
+@Transactional(readOnly = true)
+public final class JpaPersonRepository implements PersonRepository {
+
+    /**
+     * Query for streaming all the persons.
+     */
+    private static final String          STREAM_QUERY = """
+            SELECT new com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person(u.username, u.name)
+            FROM User u
+            ORDER BY u.username
+            """;
+
+    /**
+     * Entity manager, for queries which require hints.
+     */
+    private final EntityManager          entityManager;
+
+    /**
+     * Number of rows taken from the database on each round trip when streaming.
+     */
+    private final int                    fetchSize;
+
+    /**
+     * Spring person repository.
+     */
+    private final PersonSpringRepository personSpringRepository;
+
+    public JpaPersonRepository(final PersonSpringRepository personSpringRepo, final EntityManager entityMngr,
+            final int ftchSize) {
+        super();
+
+        personSpringRepository = Objects.requireNonNull(personSpringRepo,
+            "Received a null pointer as person repository");
+        entityManager = Objects.requireNonNull(entityMngr, "Received a null pointer as entity manager");
+        fetchSize = ftchSize;
+    }
+
+    @Override
+    public final long count() {
+        return personSpringRepository.countPersons();
+    }
+
+    @Override
+    public final List<Person> findPage(final String after, final int limit) {
+        final List<Person> persons;
+
+        log.debug("Finding {} persons after {}", limit, after);
+
+        if (after == null) {
+            persons = personSpringRepository.findFirstPersons(Limit.of(limit));
+        } else {
+            persons = personSpringRepository.findPersonsAfter(after, Limit.of(limit));
+        }
+
+        log.debug("Found persons: {}", persons);
+
+        return persons;
+    }
+
+    @Override
+    public final String findStamp() {
+        return String.valueOf(personSpringRepository.findStamp());
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public final Stream<Person> streamAll() {
+        log.debug("Streaming all the persons, with fetch size {}", fetchSize);
+
+        // The rows are read from a cursor, in batches of the fetch size
+        return entityManager.createQuery(STREAM_QUERY, Person.class)
+            .setHint(AvailableHints.HINT_FETCH_SIZE, fetchSize)
+            .setHint(AvailableHints.HINT_READ_ONLY, true)
+            .getResultStream();
+    }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.jpa.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserEntity;
+
+/**
+ * Read only repository for persons. Persons are projected straight from the users table, so no user entity is
+ * created.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public interface PersonSpringRepository extends Repository<UserEntity, Long> {
+
+    /**
+     * Returns the number of persons.
+     *
+     * @return the number of persons
+     */
+    @Query("SELECT COUNT(u) FROM User u")
+    public long countPersons();
+
+    /**
+     * Returns the first persons, sorted by username. Only the username and name columns are read.
+     *
+     * @param limit
+     *            maximum number of persons to read
+     * @return the first persons
+     */
+    @Query("""
+            SELECT new com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person(u.username, u.name)
+            FROM User u
+            ORDER BY u.username
+            """)
+    public List<Person> findFirstPersons(final Limit limit);
+
+    /**
+     * Returns the persons after the received username, sorted by username. Only the username and name columns are
+     * read.
+     * <p>
+     * This is a keyset query, which seeks the username in the index instead of skipping rows, so all pages take the
+     * same time to read.
+     *
+     * @param after
+     *            last username read
+     * @param limit
+     *            maximum number of persons to read
+     * @return the persons after the username
+     */
+    @Query("""
+            SELECT new com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person(u.username, u.name)
+            FROM User u
+            WHERE u.username > :after
+            ORDER BY u.username
+            """)
+    public List<Person> findPersonsAfter(@Param("after") final String after, final Limit limit);
+
+    /**
+     * Returns the stamp for the users table. It is increased each time a user changes through JPA, and read from a
+     * single row, by its primary key.
+     *
+     * @return the stamp for the users table
+     */
+    @Query(value = "SELECT stamp FROM table_stamps WHERE name = 'users'", nativeQuery = true)
+    public long findStamp();
+
+}
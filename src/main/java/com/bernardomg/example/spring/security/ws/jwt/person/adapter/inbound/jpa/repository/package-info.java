@@ -23,7 +23,7 @@
  */
 
 /**
- * User-based person repository.
+ * JPA person repositories.
  */
 
-package com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.user.repository;
+package com.bernardomg.example.spring.security.ws.jwt.person.adapter.inbound.jpa.repository;
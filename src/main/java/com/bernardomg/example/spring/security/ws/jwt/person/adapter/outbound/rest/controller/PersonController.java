@@ -24,14 +24,33 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.person.adapter.outbound.rest.controller;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.exception.InvalidCursorException;
 import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonPage;
 import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.PersonService;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.AllArgsConstructor;
 
 /**
@@ -45,14 +64,153 @@
 @AllArgsConstructor
 public class PersonController {
 
+    /**
+     * Buffer size for the exported persons.
+     */
+    private static final int    BUFFER_SIZE    = 8192;
+
+    /**
+     * Separator between exported persons.
+     */
+    private static final int    LINE_SEPARATOR = '\n';
+
+    /**
+     * Object mapper, for writing exported persons.
+     */
+    private final ObjectMapper  objectMapper;
+
     /**
      * Person service.
      */
     private final PersonService service;
 
+    /**
+     * Returns the number of persons.
+     *
+     * @return the number of persons
+     */
+    @GetMapping(path = "/count", produces = MediaType.APPLICATION_JSON_VALUE)
+    public long count() {
+        return service.count();
+    }
+
+    /**
+     * Exports all the persons as newline delimited JSON. Persons are written as they are read, so the response starts
+     * before the query finishes, and they are never all kept in memory.
+     *
+     * @return the streamed persons
+     */
+    @GetMapping(path = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export() {
+        final StreamingResponseBody body;
+
+        body = this::write;
+
+        return ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_NDJSON)
+            .body(body);
+    }
+
+    /**
+     * Answers requests with a cursor which can't be decoded with a {@code 400 Bad Request}.
+     *
+     * @param exception
+     *            invalid cursor exception
+     * @return a response rejecting the request
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<Void> handleInvalidCursor(final InvalidCursorException exception) {
+        return ResponseEntity.badRequest()
+            .build();
+    }
+
+    /**
+     * Returns a page of persons. Each page gets a weak ETag, built from the persons stamp and the page parameters. If
+     * the request already contains it, a {@code 304 Not Modified} is returned, and the persons are not read.
+     *
+     * @param cursor
+     *            cursor returned by the previous page
+     * @param size
+     *            page size
+     * @param request
+     *            request, to check the ETag
+     * @param response
+     *            response, to set the cache headers
+     * @return a page of persons, or {@code null} if it was not modified
+     */
     @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
-    public Iterable<Person> readAll() {
-        return service.getAll();
+    public PersonPage readAll(@RequestParam(name = "cursor", required = false) final String cursor,
+            @RequestParam(name = "size", required = false) final Integer size, final WebRequest request,
+            final HttpServletResponse response) {
+        final String     etag;
+        final PersonPage page;
+
+        etag = getEtag(cursor, size);
+
+        // Clients can store the response, but they have to validate it first
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache()
+            .cachePrivate()
+            .getHeaderValue());
+        if (request.checkNotModified(etag)) {
+            // The client already has this page
+            page = null;
+        } else {
+            page = service.getAll(cursor, size);
+        }
+
+        return page;
+    }
+
+    /**
+     * Returns the weak ETag for a page of persons. It changes when any person changes, so a page is never considered
+     * not modified after a change, even if the change is not in that page.
+     *
+     * @param cursor
+     *            cursor for the page
+     * @param size
+     *            page size
+     * @return the ETag for the page
+     */
+    private final String getEtag(final String cursor, final Integer size) {
+        return "W/\"" + service.getStamp() + ":" + Objects.toString(cursor, "") + ":" + Objects.toString(size, "")
+                + "\"";
+    }
+
+    /**
+     * Writes all the persons into the output, one JSON object per line. The output is flushed after the first person,
+     * and then each time the buffer fills.
+     *
+     * @param output
+     *            output to write into
+     * @throws IOException
+     *             if the persons can't be written
+     */
+    private final void write(final OutputStream output) throws IOException {
+        final OutputStream buffered;
+        final ObjectWriter writer;
+        final boolean[]    first;
+
+        buffered = new BufferedOutputStream(output, BUFFER_SIZE);
+        writer = objectMapper.writerFor(Person.class);
+        first = new boolean[] { true };
+        try {
+            service.exportAll(person -> {
+                try {
+                    buffered.write(writer.writeValueAsBytes(person));
+                    buffered.write(LINE_SEPARATOR);
+                    if (first[0]) {
+                        // Sends the first person as soon as possible
+                        buffered.flush();
+                        first[0] = false;
+                    }
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
     }
 
 }
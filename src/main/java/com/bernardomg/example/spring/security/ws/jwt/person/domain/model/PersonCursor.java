@@ -0,0 +1,81 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.person.domain.model;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.exception.InvalidCursorException;
+
+/**
+ * Cursor for paginating persons. It points to the last person read, and is encoded into an opaque token which is sent
+ * to clients.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class PersonCursor {
+
+    /**
+     * Decodes the cursor into the id of the last person read.
+     *
+     * @param cursor
+     *            cursor to decode
+     * @return the id of the last person read
+     * @throws InvalidCursorException
+     *             if the cursor is not valid
+     */
+    public static final String decode(final String cursor) {
+        final byte[] decoded;
+
+        try {
+            decoded = Base64.getUrlDecoder()
+                .decode(cursor);
+        } catch (final IllegalArgumentException e) {
+            throw new InvalidCursorException("Invalid cursor " + cursor, e);
+        }
+
+        return new String(decoded, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Encodes the cursor pointing after the received person.
+     *
+     * @param person
+     *            last person read
+     * @return the cursor pointing after the person
+     */
+    public static final String encode(final Person person) {
+        return Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(person.id()
+                .getBytes(StandardCharsets.UTF_8));
+    }
+
+    private PersonCursor() {
+        super();
+    }
+
+}
@@ -24,7 +24,8 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.person.domain.repository;
 
-import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
 
@@ -36,10 +37,40 @@
 public interface PersonRepository {
 
     /**
-     * Returns all the people.
+     * Returns the number of people.
+     *
+     * @return the number of people
+     */
+    public long count();
+
+    /**
+     * Returns a page of people, sorted by id. The page starts after the received id, or with the first person if there
+     * is no id.
+     *
+     * @param after
+     *            id of the last person read, or {@code null} to start from the first one
+     * @param limit
+     *            maximum number of people to read
+     * @return a page of people
+     */
+    public List<Person> findPage(final String after, final int limit);
+
+    /**
+     * Returns a stamp for the current state of the people. The stamp changes each time a person is added, removed or
+     * updated, so it can be used to find out if they changed, without reading them.
+     *
+     * @return a stamp for the current state of the people
+     */
+    public String findStamp();
+
+    /**
+     * Returns all the people as a stream, sorted by id. People are read while the stream is consumed, so they are
+     * never all kept in memory.
+     * <p>
+     * The stream must be consumed inside a transaction, and closed afterwards.
      *
      * @return all the people
      */
-    public Collection<Person> findAll();
+    public Stream<Person> streamAll();
 
 }
@@ -24,39 +24,121 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.person.usecase.service;
 
-import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonCursor;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonPage;
 import com.bernardomg.example.spring.security.ws.jwt.person.domain.repository.PersonRepository;
 
 import lombok.extern.slf4j.Slf4j;
 
 /**
  * Default person service, which just takes the data from the person repository.
+ * <p>
+ * The page size is capped, so no request can read all the people at once. To find out if there is a next page, an
+ * additional person is read.
  */
 @Slf4j
-@Service
 public final class DefaultPersonService implements PersonService {
 
+    /**
+     * Page size used when none is received.
+     */
+    private final int              defaultSize;
+
+    /**
+     * Maximum page size.
+     */
+    private final int              maxSize;
+
     /**
      * Person repository to read the data.
      */
     private final PersonRepository personRepository;
 
-    public DefaultPersonService(final PersonRepository personRepo) {
+    public DefaultPersonService(final PersonRepository personRepo, final int dfltSize, final int mxSize) {
         super();
 
         personRepository = Objects.requireNonNull(personRepo);
+        defaultSize = dfltSize;
+        maxSize = mxSize;
     }
 
     @Override
-    public final Collection<Person> getAll() {
-        log.debug("Reading all persons");
+    public final long count() {
+        log.debug("Counting persons");
+
+        return personRepository.count();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public final void exportAll(final Consumer<Person> consumer) {
+        log.debug("Exporting all persons");
+
+        try (final Stream<Person> persons = personRepository.streamAll()) {
+            persons.forEach(consumer);
+        }
+    }
+
+    @Override
+    public final PersonPage getAll(final String cursor, final Integer size) {
+        final int          pageSize;
+        final String       after;
+        final List<Person> persons;
+        final List<Person> content;
+        final String       next;
+
+        pageSize = getPageSize(size);
+        if (cursor == null) {
+            after = null;
+        } else {
+            after = PersonCursor.decode(cursor);
+        }
+
+        log.debug("Reading {} persons after {}", pageSize, after);
+
+        // Reads an additional person to find out if there is a next page
+        persons = personRepository.findPage(after, pageSize + 1);
+        if (persons.size() > pageSize) {
+            content = persons.subList(0, pageSize);
+            next = PersonCursor.encode(content.get(pageSize - 1));
+        } else {
+            content = persons;
+            next = null;
+        }
+
+        return new PersonPage(content, next);
+    }
+
+    @Override
+    public final String getStamp() {
+        return personRepository.findStamp();
+    }
+
+    /**
+     * Returns the page size to use. This is the received size, kept between one and the maximum size.
+     *
+     * @param size
+     *            requested size
+     * @return the page size to use
+     */
+    private final int getPageSize(final Integer size) {
+        final int pageSize;
+
+        if (size == null) {
+            pageSize = defaultSize;
+        } else {
+            pageSize = Math.max(1, Math.min(size, maxSize));
+        }
 
-        return personRepository.findAll();
+        return pageSize;
     }
 
 }
@@ -24,9 +24,11 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.person.usecase.service;
 
-import java.util.Collection;
+import java.util.function.Consumer;
 
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.exception.InvalidCursorException;
 import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonPage;
 
 /**
  * Person service.
@@ -34,10 +36,40 @@
 public interface PersonService {
 
     /**
-     * Returns all the people.
-     * 
-     * @return all the people
+     * Returns the number of people.
+     *
+     * @return the number of people
      */
-    public Collection<Person> getAll();
+    public long count();
+
+    /**
+     * Sends all the people to the consumer, sorted by id. People are read one by one, so they are never all kept in
+     * memory.
+     *
+     * @param consumer
+     *            consumer for the people
+     */
+    public void exportAll(final Consumer<Person> consumer);
+
+    /**
+     * Returns a page of people, sorted by id. Pages are read with a cursor, taken from the previous page.
+     *
+     * @param cursor
+     *            cursor returned by the previous page, or {@code null} for the first page
+     * @param size
+     *            page size, or {@code null} for the default size
+     * @return a page of people
+     * @throws InvalidCursorException
+     *             if the cursor is not valid
+     */
+    public PersonPage getAll(final String cursor, final Integer size);
+
+    /**
+     * Returns a stamp for the current state of the people. It changes each time the people change, and is much cheaper
+     * to read than the people themselves.
+     *
+     * @return a stamp for the current state of the people
+     */
+    public String getStamp();
 
 }
@@ -0,0 +1,151 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.ratelimit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Token bucket rate limiter, with a bucket for each key. Each bucket holds up to a capacity of tokens, and gets a new
+ * one after each refill interval. Each acquire takes a token, and is rejected if there are none.
+ * <h2>Lock free</h2>
+ * <p>
+ * Buckets are implemented with the generic cell rate algorithm, which is equivalent to a token bucket. Instead of
+ * counting tokens, each bucket stores the time at which it will be full again. This is a single long, updated with a
+ * compare and set, so acquires never lock.
+ * <h2>Memory</h2>
+ * <p>
+ * The buckets are bounded in number. A bucket not used for the time it takes to fill up is evicted, as it is the same
+ * as a new one.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class KeyedRateLimiter {
+
+    /**
+     * Buckets, by key. Each one stores the nano time at which it will be full.
+     */
+    private final Cache<String, AtomicLong> buckets;
+
+    /**
+     * Nano time to fill an empty bucket.
+     */
+    private final long                      fillTime;
+
+    /**
+     * Nano time to add a token.
+     */
+    private final long                      interval;
+
+    /**
+     * Source of nano times.
+     */
+    private final LongSupplier              nanoTime;
+
+    /**
+     * Constructs a rate limiter with the received arguments.
+     *
+     * @param capacity
+     *            maximum tokens in each bucket
+     * @param refillInterval
+     *            time to add a token to a bucket
+     * @param maximumKeys
+     *            maximum number of buckets to keep
+     */
+    public KeyedRateLimiter(final int capacity, final Duration refillInterval, final long maximumKeys) {
+        this(capacity, refillInterval, maximumKeys, System::nanoTime);
+    }
+
+    /**
+     * Constructs a rate limiter with the received arguments.
+     *
+     * @param capacity
+     *            maximum tokens in each bucket
+     * @param refillInterval
+     *            time to add a token to a bucket
+     * @param maximumKeys
+     *            maximum number of buckets to keep
+     * @param nanos
+     *            source of nano times
+     */
+    public KeyedRateLimiter(final int capacity, final Duration refillInterval, final long maximumKeys,
+            final LongSupplier nanos) {
+        super();
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("The capacity should be at least one");
+        }
+
+        interval = refillInterval.toNanos();
+        fillTime = capacity * interval;
+        nanoTime = nanos;
+        buckets = Caffeine.newBuilder()
+            .maximumSize(maximumKeys)
+            .expireAfterAccess(Duration.ofNanos(fillTime))
+            .ticker(nanos::getAsLong)
+            .build();
+    }
+
+    /**
+     * Takes a token from the bucket for the key.
+     *
+     * @param key
+     *            key for the bucket
+     * @return zero if a token was taken, otherwise the nanos until there is one
+     */
+    public final long tryAcquire(final String key) {
+        final AtomicLong bucket;
+        final long       now;
+        long             current;
+        long             full;
+        long             wait;
+        boolean          updated;
+
+        now = nanoTime.getAsLong();
+        // New buckets are full
+        bucket = buckets.get(key, k -> new AtomicLong(now));
+        wait = 0;
+        updated = false;
+        while (!updated && (wait == 0)) {
+            current = bucket.get();
+            // A bucket which was full in the past is just full now
+            full = Math.max(current - now, 0) + now + interval;
+            if ((full - now) > fillTime) {
+                // Taking a token would go over the capacity
+                wait = full - now - fillTime;
+            } else {
+                updated = bucket.compareAndSet(current, full);
+            }
+        }
+
+        return wait;
+    }
+
+}
@@ -0,0 +1,158 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.revocation;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Denylist which keeps the revoked tokens in memory, and optionally in a file, so they are kept after a restart.
+ * <p>
+ * Revoked tokens are kept in a concurrent hash map, so checking a token is a single lookup, without locks. A Bloom
+ * filter in front of it doesn't pay off, as hashing the id for the filter costs as much as the lookup, which is shown
+ * by {@code TokenDenylistBenchmark}.
+ * <h2>Pruning</h2>
+ * <p>
+ * Revoked tokens are kept until they expire. Expired tokens are removed when pruning, which also rewrites the file
+ * without them.
+ * <p>
+ * Revoking and pruning are synchronized, as they are rare, and this keeps the file in line with the revoked tokens.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class InMemoryTokenDenylist implements TokenDenylist, AutoCloseable {
+
+    /**
+     * Clock for the token expiration.
+     */
+    private final Clock                        clock;
+
+    /**
+     * File for the revoked tokens, if they are persisted.
+     */
+    private final Optional<MappedDenylistFile> file;
+
+    /**
+     * Revoked tokens, with their expiration date.
+     */
+    private final Map<String, Instant>         revoked = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a denylist which only keeps the revoked tokens in memory.
+     *
+     * @param tokenClock
+     *            clock for the token expiration
+     */
+    public InMemoryTokenDenylist(final Clock tokenClock) {
+        super();
+
+        clock = Objects.requireNonNull(tokenClock);
+        file = Optional.empty();
+    }
+
+    /**
+     * Constructs a denylist which stores the revoked tokens in the file. The tokens already in it are loaded, except
+     * for those already expired.
+     *
+     * @param tokenClock
+     *            clock for the token expiration
+     * @param denylistFile
+     *            file for the revoked tokens
+     */
+    public InMemoryTokenDenylist(final Clock tokenClock, final MappedDenylistFile denylistFile) {
+        super();
+
+        clock = Objects.requireNonNull(tokenClock);
+        file = Optional.of(denylistFile);
+
+        revoked.putAll(denylistFile.read());
+        log.info("Loaded {} revoked tokens", revoked.size());
+        prune();
+    }
+
+    @Override
+    public final void close() {
+        file.ifPresent(MappedDenylistFile::close);
+    }
+
+    @Override
+    public final boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public final boolean isRevoked(final String id) {
+        return (id != null) && revoked.containsKey(id);
+    }
+
+    /**
+     * Removes the expired tokens. The file is rewritten, so it no longer contains them.
+     */
+    public final synchronized void prune() {
+        final Instant now;
+        final int     size;
+
+        now = clock.instant();
+        size = revoked.size();
+        revoked.values()
+            .removeIf(expiration -> !expiration.isAfter(now));
+
+        if (revoked.size() < size) {
+            file.ifPresent(f -> f.rewrite(revoked));
+            log.debug("Pruned {} expired tokens, {} are still revoked", size - revoked.size(), revoked.size());
+        }
+    }
+
+    @Override
+    public final synchronized void revoke(final String id, final Instant expiration) {
+        Objects.requireNonNull(id);
+
+        if (!expiration.isAfter(clock.instant())) {
+            // Already rejected as expired
+            log.debug("Token {} already expired, no need to revoke it", id);
+        } else if (revoked.putIfAbsent(id, expiration) == null) {
+            file.ifPresent(f -> f.append(id, expiration));
+            log.debug("Revoked token {} until {}", id, expiration);
+        }
+    }
+
+    /**
+     * Returns the number of revoked tokens. This includes the expired ones not yet pruned.
+     *
+     * @return the number of revoked tokens
+     */
+    public final int size() {
+        return revoked.size();
+    }
+
+}
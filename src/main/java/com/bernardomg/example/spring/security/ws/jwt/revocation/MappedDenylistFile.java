@@ -0,0 +1,415 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.revocation;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revoked tokens file. The file is mapped into memory, so storing a token is just copying it into the mapped buffer.
+ * <h2>Format</h2>
+ * <p>
+ * The file starts with a header, containing a marker and the position after the last entry. Then come the entries,
+ * each of them made of the expiration epoch seconds, the id length and the UTF-8 id.
+ * <p>
+ * An entry is written before moving the end position, so a partially written entry is never read. Reading stops at
+ * the first entry which can't be read.
+ * <h2>Size</h2>
+ * <p>
+ * The file grows when it is full, doubling its size. Expired entries are removed by writing the remaining ones into a
+ * temporary file, next to this one, which then replaces it with an atomic move. If the process stops while rewriting,
+ * the previous file is kept whole, so no revoked token is lost.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class MappedDenylistFile implements AutoCloseable {
+
+    /**
+     * Position of the end position.
+     */
+    private static final int  END_POSITION   = Integer.BYTES;
+
+    /**
+     * Entry size, without the id.
+     */
+    private static final int  ENTRY_OVERHEAD = Long.BYTES + Short.BYTES;
+
+    /**
+     * Header size. The entries start after it.
+     */
+    private static final int  HEADER         = 2 * Integer.BYTES;
+
+    /**
+     * Marker for denylist files.
+     */
+    private static final int  MARKER         = 0x4a544931;
+
+    /**
+     * Maximum id size, in bytes.
+     */
+    private static final int  MAX_ID_SIZE    = Short.MAX_VALUE;
+
+    /**
+     * Mapped file contents.
+     */
+    private MappedByteBuffer  buffer;
+
+    /**
+     * File channel, to map the file.
+     */
+    private FileChannel       channel;
+
+    /**
+     * Position after the last entry.
+     */
+    private int               end;
+
+    /**
+     * Mapped file.
+     */
+    private final Path        path;
+
+    /**
+     * Temporary file, where the entries are written when rewriting the file.
+     */
+    private final Path        temporary;
+
+    /**
+     * Opens the file, creating it if it doesn't exist.
+     *
+     * @param file
+     *            file to open
+     * @param initialSize
+     *            initial file size, in bytes
+     */
+    public MappedDenylistFile(final Path file, final int initialSize) {
+        super();
+
+        path = Objects.requireNonNull(file);
+        temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+            buffer = map(Math.max(channel.size(), Math.max(HEADER, initialSize)));
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        if ((buffer.getInt(0) == 0) && (buffer.getInt(END_POSITION) == 0)) {
+            // New file
+            buffer.putInt(0, MARKER);
+            setEnd(HEADER);
+            buffer.force();
+        } else if (buffer.getInt(0) == MARKER) {
+            end = buffer.getInt(END_POSITION);
+            if ((end < HEADER) || (end > buffer.capacity())) {
+                close();
+                throw new IllegalStateException("Invalid end position " + end + " in denylist file " + path);
+            }
+        } else {
+            close();
+            throw new IllegalStateException("File " + path + " is not a denylist file");
+        }
+    }
+
+    /**
+     * Stores the entry at the end of the file. The file grows if there is no space left.
+     *
+     * @param id
+     *            token id
+     * @param expiration
+     *            token expiration date
+     */
+    public final void append(final String id, final Instant expiration) {
+        final byte[] bytes;
+
+        bytes = toBytes(id);
+        reserve(ENTRY_OVERHEAD + bytes.length);
+
+        // The entry is complete before it is included
+        write(buffer, end, bytes, expiration);
+        setEnd(end + ENTRY_OVERHEAD + bytes.length);
+        buffer.force();
+    }
+
+    @Override
+    public final void close() {
+        try {
+            channel.close();
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads all the entries.
+     *
+     * @return the entries in the file, by token id
+     */
+    public final Map<String, Instant> read() {
+        final Map<String, Instant> entries;
+        int                        position;
+        long                       expiration;
+        int                        size;
+        byte[]                     bytes;
+        boolean                    readable;
+
+        entries = new HashMap<>();
+        position = HEADER;
+        readable = true;
+        while (readable && ((position + ENTRY_OVERHEAD) <= end)) {
+            expiration = buffer.getLong(position);
+            size = Short.toUnsignedInt(buffer.getShort(position + Long.BYTES));
+            readable = (size > 0) && (size <= MAX_ID_SIZE) && ((position + ENTRY_OVERHEAD + size) <= end);
+            if (readable) {
+                bytes = new byte[size];
+                buffer.get(position + ENTRY_OVERHEAD, bytes);
+                entries.put(new String(bytes, StandardCharsets.UTF_8), Instant.ofEpochSecond(expiration));
+                position += ENTRY_OVERHEAD + size;
+            } else {
+                log.warn("Unreadable entry at {} in denylist file {}, ignoring the rest", position, path);
+            }
+        }
+
+        return entries;
+    }
+
+    /**
+     * Replaces all the entries. Used to remove expired entries.
+     * <p>
+     * The entries are written into the temporary file, which is flushed to disk and then moved over this one. Until
+     * the move, this file is not modified, so a failed rewrite keeps all the previous entries.
+     *
+     * @param entries
+     *            entries to keep, by token id
+     */
+    public final void rewrite(final Map<String, Instant> entries) {
+        final FileChannel      rewrittenChannel;
+        final MappedByteBuffer rewritten;
+        final int              rewrittenEnd;
+
+        try {
+            rewrittenChannel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        try {
+            rewritten = rewrittenChannel.map(FileChannel.MapMode.READ_WRITE, 0,
+                Math.max(buffer.capacity(), getSize(entries)));
+            rewrittenEnd = write(rewritten, entries);
+            rewritten.force();
+            rewrittenChannel.force(true);
+
+            // The open channel now points to the moved file
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException e) {
+            discard(rewrittenChannel);
+            throw new UncheckedIOException(e);
+        } catch (final RuntimeException e) {
+            discard(rewrittenChannel);
+            throw e;
+        }
+
+        close();
+        channel = rewrittenChannel;
+        buffer = rewritten;
+        end = rewrittenEnd;
+    }
+
+    /**
+     * Closes the channel for the temporary file, and deletes it. Used when a rewrite fails.
+     *
+     * @param temporaryChannel
+     *            channel for the temporary file
+     */
+    private final void discard(final FileChannel temporaryChannel) {
+        try {
+            temporaryChannel.close();
+            Files.deleteIfExists(temporary);
+        } catch (final IOException e) {
+            log.warn("Couldn't delete temporary denylist file {}", temporary, e);
+        }
+    }
+
+    /**
+     * Returns the size required for the header and the received entries.
+     *
+     * @param entries
+     *            entries to store, by token id
+     * @return the size required for the entries
+     */
+    private final int getSize(final Map<String, Instant> entries) {
+        long size;
+
+        size = HEADER;
+        for (final String id : entries.keySet()) {
+            size += ENTRY_OVERHEAD + toBytes(id).length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Denylist file " + path + " can't grow over " + Integer.MAX_VALUE);
+        }
+
+        return (int) size;
+    }
+
+    /**
+     * Grows the file, so it can contain the required bytes.
+     *
+     * @param required
+     *            bytes the file should be able to contain
+     */
+    private final void grow(final int required) {
+        final long size;
+
+        size = Math.max((long) buffer.capacity() * 2, required);
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Denylist file " + path + " can't grow over " + Integer.MAX_VALUE);
+        }
+        log.debug("Growing denylist file {} to {} bytes", path, size);
+        try {
+            buffer = map(size);
+        } catch (final IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Maps the file, up to the received size. The file is extended if it is smaller.
+     *
+     * @param size
+     *            bytes to map
+     * @return the mapped file
+     * @throws IOException
+     *             if the file can't be mapped
+     */
+    private final MappedByteBuffer map(final long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+    }
+
+    /**
+     * Makes sure there is space for the received bytes after the last entry.
+     *
+     * @param size
+     *            bytes to reserve
+     */
+    private final void reserve(final int size) {
+        if ((end + size) > buffer.capacity()) {
+            grow(end + size);
+        }
+    }
+
+    /**
+     * Sets the position after the last entry.
+     *
+     * @param position
+     *            new end position
+     */
+    private final void setEnd(final int position) {
+        end = position;
+        buffer.putInt(END_POSITION, end);
+    }
+
+    /**
+     * Returns the id as UTF-8 bytes.
+     *
+     * @param id
+     *            id to transform
+     * @return the id bytes
+     */
+    private final byte[] toBytes(final String id) {
+        final byte[] bytes;
+
+        bytes = id.getBytes(StandardCharsets.UTF_8);
+        if ((bytes.length == 0) || (bytes.length > MAX_ID_SIZE)) {
+            throw new IllegalArgumentException("Token ids should have between 1 and " + MAX_ID_SIZE + " bytes");
+        }
+
+        return bytes;
+    }
+
+    /**
+     * Writes an entry.
+     *
+     * @param target
+     *            buffer to write into
+     * @param position
+     *            position for the entry
+     * @param id
+     *            token id bytes
+     * @param expiration
+     *            token expiration date
+     */
+    private final void write(final MappedByteBuffer target, final int position, final byte[] id,
+            final Instant expiration) {
+        target.putLong(position, expiration.getEpochSecond());
+        target.putShort(position + Long.BYTES, (short) id.length);
+        target.put(position + ENTRY_OVERHEAD, id);
+    }
+
+    /**
+     * Writes a complete file, with the header and the received entries.
+     *
+     * @param target
+     *            buffer to write into, big enough for all the entries
+     * @param entries
+     *            entries to write, by token id
+     * @return the position after the last entry
+     */
+    private final int write(final MappedByteBuffer target, final Map<String, Instant> entries) {
+        int    position;
+        byte[] bytes;
+
+        position = HEADER;
+        for (final Map.Entry<String, Instant> entry : entries.entrySet()) {
+            bytes = toBytes(entry.getKey());
+            write(target, position, bytes, entry.getValue());
+            position += ENTRY_OVERHEAD + bytes.length;
+        }
+        target.putInt(0, MARKER);
+        target.putInt(END_POSITION, position);
+
+        return position;
+    }
+
+}
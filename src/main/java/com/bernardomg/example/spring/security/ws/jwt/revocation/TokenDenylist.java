@@ -0,0 +1,64 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.revocation;
+
+import java.time.Instant;
+
+/**
+ * Revoked tokens. A token is identified by its id, and it is kept until it expires, as after that it is rejected
+ * anyway.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public interface TokenDenylist {
+
+    /**
+     * Returns if tokens are revoked. If they aren't, there is no need to read the token ids.
+     *
+     * @return {@code true} if tokens are revoked, {@code false} otherwise
+     */
+    public boolean isEnabled();
+
+    /**
+     * Checks if the token was revoked. Tokens without an id can't be revoked.
+     *
+     * @param id
+     *            id of the token to check
+     * @return {@code true} if the token was revoked, {@code false} otherwise
+     */
+    public boolean isRevoked(final String id);
+
+    /**
+     * Revokes the token. It will be kept until it expires.
+     *
+     * @param id
+     *            id of the token to revoke
+     * @param expiration
+     *            token expiration date
+     */
+    public void revoke(final String id, final Instant expiration);
+
+}
@@ -0,0 +1,98 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.actuate;
+
+import java.util.Objects;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.CachedUserDetailsService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserVersionChecker;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Actuator endpoint for evicting users from the cache. Should be called when the flags or roles for a user change.
+ * <p>
+ * The cached user version is evicted too, so stateless tokens are checked again against the persisted user.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+@Endpoint(id = "usercache")
+public final class UserCacheEndpoint {
+
+    /**
+     * Cached user details service.
+     */
+    private final CachedUserDetailsService userDetailsService;
+
+    /**
+     * User version checker.
+     */
+    private final UserVersionChecker       versionChecker;
+
+    /**
+     * Constructs an endpoint with the received arguments.
+     *
+     * @param userDetService
+     *            cached user details service
+     * @param checker
+     *            user version checker
+     */
+    public UserCacheEndpoint(final CachedUserDetailsService userDetService, final UserVersionChecker checker) {
+        super();
+
+        userDetailsService = Objects.requireNonNull(userDetService);
+        versionChecker = Objects.requireNonNull(checker);
+    }
+
+    /**
+     * Evicts the user from the caches.
+     *
+     * @param username
+     *            user to evict
+     */
+    @DeleteOperation
+    public final void evict(@Selector final String username) {
+        log.info("Evicting cached user {}", username);
+        userDetailsService.evict(username);
+        versionChecker.evict(username);
+    }
+
+    /**
+     * Evicts all the users from the caches.
+     */
+    @DeleteOperation
+    public final void evictAll() {
+        log.info("Evicting all cached users");
+        userDetailsService.evictAll();
+        versionChecker.evictAll();
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.crypto;
+
+import java.time.Duration;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Finds the BCrypt strength to use on the current hardware. This is the highest strength which matches a password
+ * within a target time.
+ * <p>
+ * Each strength doubles the time of the previous one, so strengths are measured from the lowest one up, and the
+ * calibration stops at the first one which takes too long. This way it takes about twice the time of the chosen
+ * strength.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class BCryptStrengthCalibrator {
+
+    /**
+     * Password hashed for the measures.
+     */
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    /**
+     * Strength used to warm up the encoder before measuring.
+     */
+    private static final int    WARMUP_STRENGTH = 4;
+
+    /**
+     * Times each strength is measured. The fastest measure is kept.
+     */
+    private static final int    MEASURES        = 2;
+
+    /**
+     * Returns the highest strength which matches a password within the target time. If even the minimum strength takes
+     * longer, the minimum strength is returned.
+     *
+     * @param target
+     *            maximum time for matching a password
+     * @param minimum
+     *            minimum strength to return
+     * @param maximum
+     *            maximum strength to return
+     * @return the strength to use
+     */
+    public static final int calibrate(final Duration target, final int minimum, final int maximum) {
+        int     strength;
+        int     chosen;
+        long    elapsed;
+        boolean exceeded;
+
+        // Warms up, so the first measures are not slower
+        for (int i = 0; i < MEASURES; i++) {
+            measure(WARMUP_STRENGTH);
+        }
+
+        chosen = minimum;
+        strength = minimum;
+        exceeded = false;
+        while ((strength <= maximum) && !exceeded) {
+            elapsed = Long.MAX_VALUE;
+            for (int i = 0; i < MEASURES; i++) {
+                elapsed = Math.min(elapsed, measure(strength));
+            }
+            log.debug("BCrypt strength {} matches a password in {} ms", strength, Duration.ofNanos(elapsed)
+                .toMillis());
+
+            if (elapsed <= target.toNanos()) {
+                chosen = strength;
+                strength++;
+            } else {
+                exceeded = true;
+                if (strength == minimum) {
+                    log.warn("Minimum BCrypt strength {} takes longer than the target {}", minimum, target);
+                }
+            }
+        }
+
+        return chosen;
+    }
+
+    /**
+     * Returns the nanoseconds taken to match a password with the strength.
+     *
+     * @param strength
+     *            strength to measure
+     * @return nanoseconds to match a password
+     */
+    private static final long measure(final int strength) {
+        final BCryptPasswordEncoder encoder;
+        final String                encoded;
+        final long                  start;
+
+        encoder = new BCryptPasswordEncoder(strength);
+        encoded = encoder.encode(SAMPLE_PASSWORD);
+
+        start = System.nanoTime();
+        encoder.matches(SAMPLE_PASSWORD, encoded);
+        return System.nanoTime() - start;
+    }
+
+    private BCryptStrengthCalibrator() {
+        super();
+    }
+
+}
@@ -0,0 +1,117 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.crypto;
+
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginUnavailableException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Password encoder which matches passwords with another encoder, on a bounded executor. Matching is costly on purpose,
+ * so a burst of logins could take all the request threads and CPU. With a fixed number of threads and a bounded queue,
+ * the executor limits the share of CPU taken by logins.
+ * <p>
+ * When the executor rejects a match, a {@link LoginUnavailableException} is thrown, instead of waiting for it. Encoding
+ * is not bounded, as it only happens when storing passwords.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * Wrapped encoder.
+     */
+    private final PasswordEncoder encoder;
+
+    /**
+     * Executor for the password matching.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs an encoder with the received arguments.
+     *
+     * @param wrapped
+     *            encoder to match passwords on the executor
+     * @param exec
+     *            executor for the password matching, which should be bounded and reject tasks when full
+     */
+    public BulkheadPasswordEncoder(final PasswordEncoder wrapped, final ExecutorService exec) {
+        super();
+
+        encoder = Objects.requireNonNull(wrapped);
+        executor = Objects.requireNonNull(exec);
+    }
+
+    @Override
+    public final String encode(final CharSequence rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public final boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        final Future<Boolean> result;
+        final boolean         matches;
+
+        try {
+            result = executor.submit(() -> encoder.matches(rawPassword, encodedPassword));
+        } catch (final RejectedExecutionException e) {
+            log.warn("Too many passwords waiting to be matched, rejected match");
+            throw new LoginUnavailableException("Too many logins waiting", e);
+        }
+
+        try {
+            matches = result.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread()
+                .interrupt();
+            result.cancel(true);
+            throw new LoginUnavailableException("Interrupted while matching the password", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof final RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+
+        return matches;
+    }
+
+    @Override
+    public final boolean upgradeEncoding(final String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+}
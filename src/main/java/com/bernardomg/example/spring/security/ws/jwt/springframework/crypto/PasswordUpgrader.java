@@ -0,0 +1,120 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.crypto;
+
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stores passwords again when their encoding is outdated, such as when the BCrypt strength increases. This is done
+ * after a successful login, as it is the only time the raw password is known.
+ * <p>
+ * Passwords are encoded and stored in the background. If the executor rejects it, the password is kept as it is, and
+ * it will be tried again on the next login.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class PasswordUpgrader {
+
+    /**
+     * Encoder for the new passwords.
+     */
+    private final PasswordEncoder            encoder;
+
+    /**
+     * Executor for encoding and storing the passwords.
+     */
+    private final Executor                   executor;
+
+    /**
+     * Service which stores the new passwords.
+     */
+    private final UserDetailsPasswordService passwordService;
+
+    /**
+     * Constructs an upgrader with the received arguments.
+     *
+     * @param passEncoder
+     *            encoder for the new passwords
+     * @param passService
+     *            service which stores the new passwords
+     * @param exec
+     *            executor for encoding and storing the passwords
+     */
+    public PasswordUpgrader(final PasswordEncoder passEncoder, final UserDetailsPasswordService passService,
+            final Executor exec) {
+        super();
+
+        encoder = Objects.requireNonNull(passEncoder);
+        passwordService = Objects.requireNonNull(passService);
+        executor = Objects.requireNonNull(exec);
+    }
+
+    /**
+     * Stores the password again if its encoding is outdated. The received password should already be matched with the
+     * one stored for the user.
+     *
+     * @param user
+     *            user which logged in, with the stored password
+     * @param rawPassword
+     *            raw password received on the login
+     */
+    public final void upgrade(final UserDetails user, final CharSequence rawPassword) {
+        if (encoder.upgradeEncoding(user.getPassword())) {
+            log.debug("Password encoding for {} is outdated, upgrading it", user.getUsername());
+            try {
+                executor.execute(() -> store(user, rawPassword));
+            } catch (final RejectedExecutionException e) {
+                log.debug("Can't upgrade password encoding for {} now", user.getUsername());
+            }
+        }
+    }
+
+    /**
+     * Encodes and stores the password.
+     *
+     * @param user
+     *            user to update
+     * @param rawPassword
+     *            raw password to encode
+     */
+    private final void store(final UserDetails user, final CharSequence rawPassword) {
+        try {
+            passwordService.updatePassword(user, encoder.encode(rawPassword));
+        } catch (final RuntimeException e) {
+            log.warn("Failed upgrading password encoding for {}: {}", user.getUsername(), e.getMessage());
+        }
+    }
+
+}
@@ -0,0 +1,88 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.crypto;
+
+import java.util.Objects;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Password encoder which times the password matching of another encoder. Matching is the costly part of a login, as the
+ * hashing algorithms are slow on purpose.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class TimedPasswordEncoder implements PasswordEncoder {
+
+    /**
+     * Wrapped encoder.
+     */
+    private final PasswordEncoder encoder;
+
+    /**
+     * Timer for the password matching.
+     */
+    private final Timer           timer;
+
+    /**
+     * Constructs an encoder with the received arguments.
+     *
+     * @param wrapped
+     *            encoder to time
+     * @param name
+     *            name for the timer
+     * @param registry
+     *            registry for the timer
+     */
+    public TimedPasswordEncoder(final PasswordEncoder wrapped, final String name, final MeterRegistry registry) {
+        super();
+
+        encoder = Objects.requireNonNull(wrapped);
+        timer = Timer.builder(name)
+            .description("Time taken to match a password")
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    @Override
+    public final String encode(final CharSequence rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    @Override
+    public final boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return timer.record(() -> encoder.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public final boolean upgradeEncoding(final String encodedPassword) {
+        return encoder.upgradeEncoding(encodedPassword);
+    }
+
+}
@@ -0,0 +1,267 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Objects;
+
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * User details service which caches the users loaded by another service. Built on Caffeine, so it is bounded and safe
+ * to use concurrently.
+ * <h2>Weight</h2>
+ * <p>
+ * The cache is bounded by weight. Each user weights one, plus one for each of its authorities, so users with many
+ * privileges take more space.
+ * <h2>Expiration and refresh</h2>
+ * <p>
+ * Users expire a fixed time after being loaded. Optionally, they can be refreshed before that. In this case, the first
+ * read after the refresh time reloads the user in the background, while the cached one is still returned. Users which
+ * no longer exist are removed when refreshed.
+ * <h2>Eviction</h2>
+ * <p>
+ * Users should be evicted when their flags or roles change. Otherwise the changes won't be seen until they expire.
+ * Updating a password through this service evicts the user.
+ * <h2>Returned users</h2>
+ * <p>
+ * Each call returns a copy of the cached user. This way erasing the credentials of a returned user won't affect the
+ * cache.
+ * <h2>Virtual threads</h2>
+ * <p>
+ * Missing users are loaded outside the cache. Loading them through the cache would hold one of its internal monitors
+ * while reading the database, which pins the carrier thread of a virtual thread. The drawback is that concurrent
+ * requests for the same missing user may load it more than once.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class CachedUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
+
+    /**
+     * Cached users, by username.
+     */
+    private final LoadingCache<String, UserDetails> cache;
+
+    /**
+     * Service which loads the users.
+     */
+    private final UserDetailsService                delegate;
+
+    /**
+     * Constructs a service with the received arguments.
+     *
+     * @param dlgt
+     *            service which loads the users
+     * @param maximumWeight
+     *            maximum weight for the cached users
+     * @param timeToLive
+     *            time a user is kept in the cache
+     * @param refresh
+     *            time after which a user is refreshed, or {@code null} to never refresh
+     */
+    public CachedUserDetailsService(final UserDetailsService dlgt, final long maximumWeight,
+            final Duration timeToLive, final Duration refresh) {
+        super();
+
+        final Caffeine<String, UserDetails> builder;
+
+        delegate = Objects.requireNonNull(dlgt);
+
+        builder = Caffeine.newBuilder()
+            .maximumWeight(maximumWeight)
+            .weigher((final String username, final UserDetails user) -> 1 + user.getAuthorities()
+                .size())
+            .expireAfterWrite(timeToLive)
+            .recordStats();
+        if (refresh != null) {
+            builder.refreshAfterWrite(refresh);
+        }
+        cache = builder.build(new UserDetailsLoader(delegate));
+    }
+
+    /**
+     * Removes the user from the cache. The next time it is requested, it will be loaded again.
+     *
+     * @param username
+     *            user to evict
+     */
+    public final void evict(final String username) {
+        log.debug("Evicting user {} from cache", username);
+        cache.invalidate(toKey(username));
+    }
+
+    /**
+     * Removes all the users from the cache.
+     */
+    public final void evictAll() {
+        log.debug("Evicting all users from cache");
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the wrapped cache.
+     *
+     * @return the wrapped cache
+     */
+    public final LoadingCache<String, UserDetails> getCache() {
+        return cache;
+    }
+
+    @Override
+    public final UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
+        return User.withUserDetails(load(toKey(username)))
+            .build();
+    }
+
+    /**
+     * Loads the users into the cache. Users which can't be loaded are ignored.
+     *
+     * @param usernames
+     *            users to load
+     */
+    public final void preload(final Collection<String> usernames) {
+        for (final String username : usernames) {
+            try {
+                load(toKey(username));
+            } catch (final UsernameNotFoundException e) {
+                log.debug("Can't preload user {}: {}", username, e.getMessage());
+            }
+        }
+        log.info("Preloaded {} users into cache", cache.estimatedSize());
+    }
+
+    /**
+     * Updates the password through the wrapped service, and evicts the user.
+     *
+     * @throws UnsupportedOperationException
+     *             if the wrapped service can't update passwords
+     */
+    @Override
+    public final UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        final UserDetails updated;
+
+        if (delegate instanceof final UserDetailsPasswordService passwordService) {
+            updated = passwordService.updatePassword(user, newPassword);
+        } else {
+            throw new UnsupportedOperationException("The wrapped service can't update passwords");
+        }
+        evict(user.getUsername());
+
+        return updated;
+    }
+
+    /**
+     * Returns the cached user. If it is missing, it is loaded and stored in the cache. The user is loaded outside the
+     * cache, so no lock is held while reading it.
+     *
+     * @param key
+     *            cache key for the user
+     * @return the user
+     * @throws UsernameNotFoundException
+     *             if the user doesn't exist
+     */
+    private final UserDetails load(final String key) {
+        UserDetails user;
+
+        user = cache.getIfPresent(key);
+        if (user == null) {
+            log.debug("User {} not cached, loading it", key);
+            user = delegate.loadUserByUsername(key);
+            cache.put(key, user);
+        }
+
+        return user;
+    }
+
+    /**
+     * Returns the cache key for the username. Usernames are case insensitive.
+     *
+     * @param username
+     *            username to transform
+     * @return the cache key
+     */
+    private final String toKey(final String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Reloads users through the wrapped service. Reloads are run in the background by the cache executor.
+     */
+    private static final class UserDetailsLoader implements CacheLoader<String, UserDetails> {
+
+        /**
+         * Service which loads the users.
+         */
+        private final UserDetailsService delegate;
+
+        /**
+         * Constructs a loader with the received arguments.
+         *
+         * @param service
+         *            service which loads the users
+         */
+        public UserDetailsLoader(final UserDetailsService service) {
+            super();
+
+            delegate = service;
+        }
+
+        @Override
+        public final UserDetails load(final String username) {
+            return delegate.loadUserByUsername(username);
+        }
+
+        @Override
+        public final UserDetails reload(final String username, final UserDetails oldValue) {
+            UserDetails user;
+
+            try {
+                user = delegate.loadUserByUsername(username);
+            } catch (final UsernameNotFoundException e) {
+                // Returning null removes the user from the cache
+                log.debug("User {} no longer valid, removing from cache", username);
+                user = null;
+            }
+
+            return user;
+        }
+
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token user details loader which builds the user from the token claims. The permissions in the token are used as the
+ * authorities, so no user is read from the persistence layer.
+ * <p>
+ * The token must contain the version of the user when it was issued. Tokens with an outdated version are rejected, as
+ * the user has changed since then. This check is delegated to a {@link UserVersionChecker}.
+ * <p>
+ * Tokens without permissions or version, such as those created before enabling this mode, are sent to the fallback
+ * loader.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class ClaimsTokenUserDetailsLoader implements TokenUserDetailsLoader {
+
+    /**
+     * Claims required to build the user.
+     */
+    private static final Set<TokenClaim> CLAIMS = Collections
+        .unmodifiableSet(EnumSet.of(TokenClaim.SUBJECT, TokenClaim.PERMISSIONS, TokenClaim.VERSION));
+
+    /**
+     * Loader for tokens which don't contain the required claims.
+     */
+    private final TokenUserDetailsLoader fallback;
+
+    /**
+     * User version checker.
+     */
+    private final UserVersionChecker     versionChecker;
+
+    /**
+     * Constructs a loader with the received arguments.
+     *
+     * @param checker
+     *            user version checker
+     * @param fallbackLoader
+     *            loader for tokens without permissions or version
+     */
+    public ClaimsTokenUserDetailsLoader(final UserVersionChecker checker,
+            final TokenUserDetailsLoader fallbackLoader) {
+        super();
+
+        versionChecker = Objects.requireNonNull(checker);
+        fallback = Objects.requireNonNull(fallbackLoader);
+    }
+
+    @Override
+    public final Set<TokenClaim> getClaims() {
+        return CLAIMS;
+    }
+
+    @Override
+    public final Optional<UserDetails> load(final JwtTokenData data) {
+        final Optional<UserDetails> details;
+
+        if ((data.permissions() == null) || (data.version() == null)) {
+            // Not a stateless token
+            log.debug("Token for {} contains no permissions, loading user", data.subject());
+            details = fallback.load(data);
+        } else if (versionChecker.isCurrent(data.subject(), data.version())) {
+            details = Optional.of(toUserDetails(data));
+        } else {
+            log.debug("Token for {} has outdated version {}", data.subject(), data.version());
+            details = Optional.empty();
+        }
+
+        return details;
+    }
+
+    /**
+     * Transforms the token data into a user details object. The user has no password, as it is already authenticated.
+     *
+     * @param data
+     *            token data to transform
+     * @return equivalent user details
+     */
+    private final UserDetails toUserDetails(final JwtTokenData data) {
+        final Collection<GrantedAuthority> authorities;
+
+        authorities = data.permissions()
+            .stream()
+            .map(SimpleGrantedAuthority::new)
+            .map(GrantedAuthority.class::cast)
+            .toList();
+
+        return new User(data.subject(), "", authorities);
+    }
+
+}
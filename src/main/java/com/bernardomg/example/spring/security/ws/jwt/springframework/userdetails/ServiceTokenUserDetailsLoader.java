@@ -0,0 +1,79 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+
+/**
+ * Token user details loader which delegates to a {@link UserDetailsService}. The user is loaded from the token subject.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class ServiceTokenUserDetailsLoader implements TokenUserDetailsLoader {
+
+    /**
+     * Claims required to load the user.
+     */
+    private static final Set<TokenClaim> CLAIMS = Collections.unmodifiableSet(EnumSet.of(TokenClaim.SUBJECT));
+
+    /**
+     * User details service. Gives access to the user.
+     */
+    private final UserDetailsService     userDetailsService;
+
+    /**
+     * Constructs a loader with the received arguments.
+     *
+     * @param userDetService
+     *            user details service
+     */
+    public ServiceTokenUserDetailsLoader(final UserDetailsService userDetService) {
+        super();
+
+        userDetailsService = Objects.requireNonNull(userDetService);
+    }
+
+    @Override
+    public final Set<TokenClaim> getClaims() {
+        return CLAIMS;
+    }
+
+    @Override
+    public final Optional<UserDetails> load(final JwtTokenData data) {
+        return Optional.of(userDetailsService.loadUserByUsername(data.subject()));
+    }
+
+}
@@ -0,0 +1,188 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+
+import com.bernardomg.example.spring.security.ws.jwt.bloom.BloomFilter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells which usernames don't belong to any user, without reading them. This allows rejecting logins for random
+ * usernames, such as those in credential stuffing attacks, without querying the database.
+ * <h2>Bloom filter</h2>
+ * <p>
+ * The existing usernames are kept in a Bloom filter. A username not in it surely doesn't exist. A username in it
+ * probably exists, but it may be a false positive.
+ * <h2>Missing usernames</h2>
+ * <p>
+ * False positives are found when the user can't be loaded. These usernames are kept for a short time, so they are
+ * rejected too.
+ * <h2>New users</h2>
+ * <p>
+ * Users created after the filter is built should be added to it. Otherwise they will be rejected until the filter is
+ * rebuilt. Both adding and rebuilding forget the missing usernames they include.
+ * <p>
+ * Usernames are case insensitive.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class UnknownUsernameFilter {
+
+    /**
+     * Expected number of usernames. The filter is never smaller than this.
+     */
+    private final long                   expected;
+
+    /**
+     * False positive rate for the Bloom filter.
+     */
+    private final double                 falsePositiveRate;
+
+    /**
+     * Usernames which passed the filter, but don't exist.
+     */
+    private final Cache<String, Boolean> missing;
+
+    /**
+     * Existing usernames. Replaced when rebuilt.
+     */
+    private volatile BloomFilter         usernames;
+
+    /**
+     * Constructs a filter with the received arguments.
+     *
+     * @param existing
+     *            existing usernames
+     * @param expectedUsernames
+     *            expected number of usernames
+     * @param fpp
+     *            false positive rate for the filter
+     * @param missingSize
+     *            maximum number of missing usernames to keep
+     * @param missingTtl
+     *            time a missing username is kept
+     */
+    public UnknownUsernameFilter(final Collection<String> existing, final long expectedUsernames, final double fpp,
+            final long missingSize, final Duration missingTtl) {
+        super();
+
+        expected = expectedUsernames;
+        falsePositiveRate = fpp;
+        missing = Caffeine.newBuilder()
+            .maximumSize(missingSize)
+            .expireAfterWrite(missingTtl)
+            .build();
+        usernames = build(existing);
+    }
+
+    /**
+     * Adds a username. It should be called when a user is created.
+     *
+     * @param username
+     *            username to add
+     */
+    public final void add(final String username) {
+        final String key;
+
+        key = toKey(username);
+        usernames.add(key);
+        missing.invalidate(key);
+    }
+
+    /**
+     * Checks if the username surely doesn't exist.
+     *
+     * @param username
+     *            username to check
+     * @return {@code true} if the username doesn't exist, {@code false} if it may exist
+     */
+    public final boolean isUnknown(final String username) {
+        final String key;
+
+        key = toKey(username);
+        return !usernames.mightContain(key) || (missing.getIfPresent(key) != null);
+    }
+
+    /**
+     * Marks the username as missing. It should be called when a user can't be found.
+     *
+     * @param username
+     *            username which doesn't exist
+     */
+    public final void markMissing(final String username) {
+        missing.put(toKey(username), Boolean.TRUE);
+    }
+
+    /**
+     * Replaces the existing usernames. The missing usernames are forgotten, as some of them may have been created
+     * since.
+     *
+     * @param existing
+     *            existing usernames
+     */
+    public final void rebuild(final Collection<String> existing) {
+        usernames = build(existing);
+        missing.invalidateAll();
+    }
+
+    /**
+     * Builds a Bloom filter with the usernames.
+     *
+     * @param existing
+     *            usernames to add
+     * @return a Bloom filter with the usernames
+     */
+    private final BloomFilter build(final Collection<String> existing) {
+        final BloomFilter filter;
+
+        filter = new BloomFilter(Math.max(expected, existing.size()), falsePositiveRate);
+        for (final String username : existing) {
+            filter.add(toKey(username));
+        }
+        log.info("Built filter for {} usernames", existing.size());
+
+        return filter;
+    }
+
+    /**
+     * Returns the key for the username. Usernames are case insensitive.
+     *
+     * @param username
+     *            username to transform
+     * @return the key for the username
+     */
+    private final String toKey(final String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+}
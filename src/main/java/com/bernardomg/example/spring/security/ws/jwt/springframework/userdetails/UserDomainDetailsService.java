@@ -25,17 +25,18 @@
 package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
 
 import java.util.Collection;
-import java.util.Locale;
 import java.util.Objects;
 
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
 
 import lombok.extern.slf4j.Slf4j;
@@ -45,8 +46,10 @@
  * <p>
  * Makes use of repositories, which will return the user and his privileges.
  * <p>
- * The user search is based on the username, and is case insensitive. As the persisted user details are expected to
- * contain the username in lower case.
+ * The user search is based on the username, and is case insensitive. The repository normalizes the username, as the
+ * persisted user details are expected to contain the username in lower case.
+ * <p>
+ * The user, its password and its privileges are read in a single query.
  * <h2>Granted authorities</h2>
  * <p>
  * Privileges are read moving through the model. The service receives a username and then finds the privileges assigned
@@ -62,12 +65,15 @@
  * <li>There is no user for the username</li>
  * <li>Theres is a user, but he has no privileges</li>
  * </ul>
+ * <h2>Password updates</h2>
+ * <p>
+ * Passwords can be updated, to store them with a new encoding. The user version is kept, so tokens are still valid.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
  */
 @Slf4j
-public final class UserDomainDetailsService implements UserDetailsService {
+public final class UserDomainDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     /**
      * User repository.
@@ -88,15 +94,18 @@ public UserDomainDetailsService(final UserRepository userRepo) {
 
     @Override
     public final UserDetails loadUserByUsername(final String username) throws UsernameNotFoundException {
-        final User        user;
-        final UserDetails details;
-        final String      password;
+        final UserCredentials credentials;
+        final User            user;
+        final UserDetails     details;
 
-        user = userRepository.findOne(username.toLowerCase(Locale.getDefault()))
+        // User, password and privileges are read at once
+        credentials = userRepository.findCredentials(username)
             .orElseThrow(() -> {
-                log.error("Username {} not found in database", username);
+                // Failed logins are common, and logging them as errors floods the log
+                log.debug("Username {} not found in database", username);
                 throw new UsernameNotFoundException(String.format("Username %s not found in database", username));
             });
+        user = credentials.user();
 
         if (user.privileges()
             .isEmpty()) {
@@ -104,9 +113,7 @@ public final UserDetails loadUserByUsername(final String username) throws Userna
             throw new UsernameNotFoundException(String.format("Username %s has no authorities", username));
         }
 
-        password = userRepository.findPassword(username)
-            .get();
-        details = toUserDetails(user, password);
+        details = toUserDetails(user, credentials.password());
 
         log.debug("User {} exists. Enabled: {}. Non expired: {}. Non locked: {}. Credentials non expired: {}", username,
             details.isEnabled(), details.isAccountNonExpired(), details.isAccountNonLocked(),
@@ -116,6 +123,19 @@ public final UserDetails loadUserByUsername(final String username) throws Userna
         return details;
     }
 
+    @Override
+    public final UserDetails updatePassword(final UserDetails user, final String newPassword) {
+        if (!userRepository.updatePassword(user.getUsername(), newPassword)) {
+            throw new UsernameNotFoundException(String.format("Username %s not found in database", user.getUsername()));
+        }
+
+        log.debug("Updated password encoding for {}", user.getUsername());
+
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+            .password(newPassword)
+            .build();
+    }
+
     /**
      * Creates a {@link GrantedAuthority} from the {@link Privilege}.
      *
@@ -0,0 +1,126 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Checks if a user version is the current one. Versions are kept in a cache, so the persistence layer is only queried
+ * when the version is unknown, or when a newer version is received.
+ * <p>
+ * Cached versions expire after a fixed time. This bounds how long an outdated token may be accepted after the user
+ * changes.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class UserVersionChecker {
+
+    /**
+     * User repository. Used to read the current versions.
+     */
+    private final UserRepository      userRepository;
+
+    /**
+     * Cached versions, by username.
+     */
+    private final Cache<String, Long> versions;
+
+    /**
+     * Constructs a checker with the received arguments.
+     *
+     * @param userRepo
+     *            user repository
+     * @param maximumSize
+     *            maximum number of versions to cache
+     * @param timeToLive
+     *            time a version is kept in the cache
+     */
+    public UserVersionChecker(final UserRepository userRepo, final long maximumSize, final Duration timeToLive) {
+        super();
+
+        userRepository = Objects.requireNonNull(userRepo);
+        versions = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(timeToLive)
+            .build();
+    }
+
+    /**
+     * Removes the cached version for the user. The next check will read it again.
+     *
+     * @param username
+     *            user to evict
+     */
+    public final void evict(final String username) {
+        versions.invalidate(username);
+    }
+
+    /**
+     * Removes all the cached versions.
+     */
+    public final void evictAll() {
+        versions.invalidateAll();
+    }
+
+    /**
+     * Checks if the version is the current one for the user.
+     *
+     * @param username
+     *            user to check
+     * @param version
+     *            version to check
+     * @return {@code true} if the version is the current one, {@code false} otherwise
+     */
+    public final boolean isCurrent(final String username, final long version) {
+        final Long           cached;
+        final Optional<Long> current;
+        final boolean        valid;
+
+        cached = versions.getIfPresent(username);
+        if ((cached == null) || (cached < version)) {
+            // Unknown version
+            // The query is kept out of the cache loader, so no lock is held while reading
+            log.debug("Reading version for {}", username);
+            current = userRepository.findVersion(username);
+            current.ifPresent(v -> versions.put(username, v));
+            valid = current.isPresent() && (current.get() == version);
+        } else {
+            valid = cached == version;
+        }
+
+        return valid;
+    }
+
+}
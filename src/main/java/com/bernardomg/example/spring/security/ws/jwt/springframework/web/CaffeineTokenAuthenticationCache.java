@@ -0,0 +1,232 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.web;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.Optional;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Token authentication cache based on Caffeine. It is bounded, and safe to use concurrently.
+ * <h2>Keys</h2>
+ * <p>
+ * The tokens themselves are never stored. Instead the cache is keyed by their SHA-256 digest.
+ * <h2>Expiration</h2>
+ * <p>
+ * Each entry expires at the same time as the token it was built from. Tokens without an expiration date are never
+ * cached, as they would stay in the cache forever.
+ * <h2>Metrics</h2>
+ * <p>
+ * Hits, misses and evictions are published into the received meter registry.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+@Slf4j
+public final class CaffeineTokenAuthenticationCache implements TokenAuthenticationCache {
+
+    /**
+     * Name for the cache metrics.
+     */
+    private static final String                     CACHE_NAME       = "jwt-tokens";
+
+    /**
+     * Algorithm used for digesting tokens.
+     */
+    private static final String                     DIGEST_ALGORITHM = "SHA-256";
+
+    /**
+     * Wrapped cache.
+     */
+    private final Cache<String, TokenAuthentication> cache;
+
+    /**
+     * Clock for checking the token expiration.
+     */
+    private final Clock                              clock;
+
+    /**
+     * Builds a cache with the received arguments.
+     *
+     * @param maximumSize
+     *            maximum number of tokens to keep
+     * @param registry
+     *            registry for the cache metrics
+     */
+    public CaffeineTokenAuthenticationCache(final long maximumSize, final MeterRegistry registry) {
+        this(maximumSize, registry, Clock.systemUTC());
+    }
+
+    /**
+     * Builds a cache with the received arguments.
+     *
+     * @param maximumSize
+     *            maximum number of tokens to keep
+     * @param registry
+     *            registry for the cache metrics
+     * @param tokenClock
+     *            clock for checking the token expiration
+     */
+    public CaffeineTokenAuthenticationCache(final long maximumSize, final MeterRegistry registry,
+            final Clock tokenClock) {
+        super();
+
+        Objects.requireNonNull(registry);
+        clock = Objects.requireNonNull(tokenClock);
+
+        cache = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfter(new TokenExpiry(clock))
+            .recordStats()
+            .build();
+
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    @Override
+    public final Optional<TokenAuthentication> get(final String token) {
+        return Optional.ofNullable(cache.getIfPresent(digest(token)));
+    }
+
+    @Override
+    public final boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public final void put(final String token, final TokenAuthentication authentication) {
+        final Duration remaining;
+
+        remaining = getRemainingValidity(authentication, clock);
+        if (!remaining.isNegative() && !remaining.isZero()) {
+            cache.put(digest(token), authentication);
+        } else {
+            log.debug("Token for {} has no expiration date, or has already expired. It won't be cached",
+                authentication.data()
+                    .subject());
+        }
+    }
+
+    /**
+     * Returns the digest for the token, which is used as the key for the cache.
+     *
+     * @param token
+     *            token to digest
+     * @return digest for the token
+     */
+    private final String digest(final String token) {
+        final MessageDigest digest;
+
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (final NoSuchAlgorithmException e) {
+            // Every JVM is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+
+        return Base64.getEncoder()
+            .encodeToString(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns the time left until the token expires. Tokens without expiration return a zero duration.
+     *
+     * @param authentication
+     *            authentication with the token data
+     * @param clock
+     *            clock giving the current instant
+     * @return time left until the token expires
+     */
+    private static final Duration getRemainingValidity(final TokenAuthentication authentication, final Clock clock) {
+        final Instant  expiration;
+        final Duration remaining;
+
+        expiration = authentication.data()
+            .expiration();
+        if (expiration == null) {
+            remaining = Duration.ZERO;
+        } else {
+            remaining = Duration.between(clock.instant(), expiration);
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Expires entries at the same time as their token.
+     */
+    private static final class TokenExpiry implements Expiry<String, TokenAuthentication> {
+
+        /**
+         * Clock giving the current instant.
+         */
+        private final Clock clock;
+
+        /**
+         * Builds an expiry policy with the received clock.
+         *
+         * @param tokenClock
+         *            clock giving the current instant
+         */
+        public TokenExpiry(final Clock tokenClock) {
+            super();
+
+            clock = tokenClock;
+        }
+
+        @Override
+        public final long expireAfterCreate(final String key, final TokenAuthentication value, final long currentTime) {
+            return Math.max(0, getRemainingValidity(value, clock).toNanos());
+        }
+
+        @Override
+        public final long expireAfterRead(final String key, final TokenAuthentication value, final long currentTime,
+                final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public final long expireAfterUpdate(final String key, final TokenAuthentication value, final long currentTime,
+                final long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+    }
+
+}
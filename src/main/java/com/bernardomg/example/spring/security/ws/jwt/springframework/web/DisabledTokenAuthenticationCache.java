@@ -0,0 +1,60 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.web;
+
+import java.util.Optional;
+
+/**
+ * Token authentication cache which never stores anything. Used when caching is disabled, so all the tokens are
+ * verified on each request.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class DisabledTokenAuthenticationCache implements TokenAuthenticationCache {
+
+    /**
+     * Default constructor.
+     */
+    public DisabledTokenAuthenticationCache() {
+        super();
+    }
+
+    @Override
+    public final Optional<TokenAuthentication> get(final String token) {
+        return Optional.empty();
+    }
+
+    @Override
+    public final boolean isEnabled() {
+        return false;
+    }
+
+    @Override
+    public final void put(final String token, final TokenAuthentication authentication) {
+        // Nothing is cached
+    }
+
+}
@@ -25,21 +25,38 @@
 package com.bernardomg.example.spring.security.ws.jwt.springframework.web;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.AbstractAuthenticationToken;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.web.filter.OncePerRequestFilter;
 
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
 import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
-import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenValidator;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.TokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.TokenUserDetailsLoader;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -55,6 +72,26 @@
  * {@code Authorization: Bearer [token]}
  * <p>
  * This check is case insensitive.
+ * <h2>Cache</h2>
+ * <p>
+ * Verified tokens are kept in a {@link TokenAuthenticationCache}. When a token is found there, it is neither validated
+ * nor decoded again, and its user is not reloaded.
+ * <h2>Revocation</h2>
+ * <p>
+ * Tokens revoked in the {@link TokenDenylist} are rejected, even if they are found in the cache.
+ * <h2>User details</h2>
+ * <p>
+ * The user is acquired through a {@link TokenUserDetailsLoader}. Depending on the loader, the user may be read from the
+ * persistence layer, or built from the token claims.
+ * <h2>Metrics</h2>
+ * <p>
+ * These meters are registered:
+ * <ul>
+ * <li>{@code security.token.extraction}: time taken to read the token from the header</li>
+ * <li>{@code security.token.verification}: time taken to verify and decode the token</li>
+ * <li>{@code security.token.user.load}: time taken to load the token user</li>
+ * <li>{@code security.token.rejections}: rejected tokens, tagged by reason</li>
+ * </ul>
  *
  * @author Bernardo Mart&iacute;nez Garrido
  *
@@ -66,93 +103,279 @@ public final class JwtTokenFilter extends OncePerRequestFilter {
      * Token header identifier. This is added before the token to tell which kind of token it is. Used to make sure the
      * authentication header is valid.
      */
-    private static final String      TOKEN_HEADER_IDENTIFIER = "Bearer";
+    private static final String                         TOKEN_HEADER_IDENTIFIER = "Bearer";
 
     /**
-     * Token decoder. Required to acquire the subject.
+     * Builds the request details for the authentication. It keeps no state, so it is shared by all the requests.
      */
-    private final TokenDecoder       tokenDecoder;
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE          = new WebAuthenticationDetailsSource();
 
     /**
-     * Token validator. Expired tokens are rejected.
+     * Claims required to authenticate the token.
      */
-    private final TokenValidator     tokenValidator;
+    private static final Set<TokenClaim>                CLAIMS                  = Collections
+        .unmodifiableSet(EnumSet.of(TokenClaim.SUBJECT, TokenClaim.EXPIRATION));
 
     /**
-     * User details service. Gives access to the user, to validate the token against it.
+     * Name for the token rejections counter.
      */
-    private final UserDetailsService userDetailsService;
+    private static final String                         REJECTIONS              = "security.token.rejections";
+
+    /**
+     * Name of the request attribute which marks the request as filtered. Kept, as otherwise it is built again for each
+     * request.
+     */
+    private volatile String                             alreadyFilteredAttributeName;
+
+    /**
+     * Claims to decode from the token. These are the ones required to authenticate the token, and those required to
+     * load the user.
+     */
+    private final Set<TokenClaim>                       claims;
+
+    /**
+     * Revoked tokens. Checked for all the tokens, including those in the cache.
+     */
+    private final TokenDenylist                         denylist;
+
+    /**
+     * Rejections for tokens with a disabled user.
+     */
+    private final Counter                               disabledUserRejections;
+
+    /**
+     * Time taken to read the token from the header.
+     */
+    private final Timer                                 extractionTimer;
+
+    /**
+     * Rejections for tokens which failed verification, by failure.
+     */
+    private final Map<TokenFailure, Counter>            failureRejections;
+
+    /**
+     * Rejections for tokens with a user in an invalid state, other than disabled.
+     */
+    private final Counter                               invalidUserRejections;
+
+    /**
+     * Rejections for tokens with a header which can't be read.
+     */
+    private final Counter                               malformedHeaderRejections;
+
+    /**
+     * Rejections for revoked tokens.
+     */
+    private final Counter                               revokedRejections;
+
+    /**
+     * Cache for already verified tokens. Tokens found here skip validation and decoding.
+     */
+    private final TokenAuthenticationCache              tokenCache;
+
+    /**
+     * Token decoder. Verifies the token and acquires the subject. Invalid and expired tokens are rejected.
+     */
+    private final TokenDecoder                          tokenDecoder;
+
+    /**
+     * Rejections for tokens with a user which doesn't exist, or is no longer valid for the token.
+     */
+    private final Counter                               unknownUserRejections;
+
+    /**
+     * User details loader. Gives access to the user, to validate the token against it.
+     */
+    private final TokenUserDetailsLoader                userDetailsLoader;
+
+    /**
+     * Time taken to load the token user.
+     */
+    private final Timer                                 userLoadTimer;
+
+    /**
+     * Time taken to verify and decode the token.
+     */
+    private final Timer                                 verificationTimer;
 
     /**
      * Constructs a filter with the received arguments.
      *
-     * @param userDetService
-     *            user details service
-     * @param validator
-     *            token validator
+     * @param userDetLoader
+     *            user details loader
      * @param decoder
      *            token decoder
+     * @param cache
+     *            cache for verified tokens
+     * @param revoked
+     *            revoked tokens
+     * @param registry
+     *            registry for the filter meters
      */
-    public JwtTokenFilter(final UserDetailsService userDetService, final TokenValidator validator,
-            final TokenDecoder decoder) {
+    public JwtTokenFilter(final TokenUserDetailsLoader userDetLoader, final TokenDecoder decoder,
+            final TokenAuthenticationCache cache, final TokenDenylist revoked, final MeterRegistry registry) {
         super();
 
-        userDetailsService = Objects.requireNonNull(userDetService);
-        tokenValidator = Objects.requireNonNull(validator);
+        final Set<TokenClaim> required;
+
+        userDetailsLoader = Objects.requireNonNull(userDetLoader);
         tokenDecoder = Objects.requireNonNull(decoder);
+        tokenCache = Objects.requireNonNull(cache);
+        denylist = Objects.requireNonNull(revoked);
+
+        required = EnumSet.copyOf(CLAIMS);
+        required.addAll(userDetailsLoader.getClaims());
+        if (denylist.isEnabled()) {
+            // The id is needed to check if the token was revoked
+            required.add(TokenClaim.ID);
+        }
+        claims = Collections.unmodifiableSet(required);
+
+        Objects.requireNonNull(registry);
+        extractionTimer = getTimer("security.token.extraction", "Time taken to read the token from the header",
+            registry);
+        verificationTimer = getTimer("security.token.verification", "Time taken to verify and decode the token",
+            registry);
+        userLoadTimer = getTimer("security.token.user.load", "Time taken to load the token user", registry);
+
+        failureRejections = new EnumMap<>(TokenFailure.class);
+        for (final TokenFailure failure : TokenFailure.values()) {
+            failureRejections.put(failure, getRejections(failure.name()
+                .toLowerCase(Locale.ROOT), registry));
+        }
+        malformedHeaderRejections = getRejections("malformed_header", registry);
+        disabledUserRejections = getRejections("disabled_user", registry);
+        invalidUserRejections = getRejections("invalid_user", registry);
+        unknownUserRejections = getRejections("unknown_user", registry);
+        revokedRejections = getRejections("revoked", registry);
     }
 
     /**
-     * Returns an {@link UsernamePasswordAuthenticationToken} created from the user and request.
+     * Returns the rejections counter for the reason.
      *
-     * @param userDetails
-     *            user for the authentication
+     * @param reason
+     *            rejection reason
+     * @param registry
+     *            registry for the counter
+     * @return the rejections counter for the reason
+     */
+    private static final Counter getRejections(final String reason, final MeterRegistry registry) {
+        return Counter.builder(REJECTIONS)
+            .description("Rejected tokens")
+            .tag("reason", reason)
+            .register(registry);
+    }
+
+    /**
+     * Returns a timer which publishes a percentile histogram.
+     *
+     * @param name
+     *            timer name
+     * @param description
+     *            timer description
+     * @param registry
+     *            registry for the timer
+     * @return the timer
+     */
+    private static final Timer getTimer(final String name, final String description, final MeterRegistry registry) {
+        return Timer.builder(name)
+            .description(description)
+            .publishPercentileHistogram()
+            .register(registry);
+    }
+
+    /**
+     * Registers an authentication into the security context. The request details are added to it.
+     *
+     * @param principal
+     *            authenticated principal
+     * @param credentials
+     *            principal credentials
+     * @param authorities
+     *            principal authorities
      * @param request
      *            request details for the authentication
-     * @param token
-     *            parsed security token
-     * @return an authentication object
      */
-    private final Authentication getAuthentication(final UserDetails userDetails, final HttpServletRequest request,
-            final String token) {
+    private final void authenticate(final Object principal, final Object credentials,
+            final Collection<? extends GrantedAuthority> authorities, final HttpServletRequest request) {
         final AbstractAuthenticationToken authenticationToken;
 
-        authenticationToken = new UsernamePasswordAuthenticationToken(userDetails, token, userDetails.getAuthorities());
-        authenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+        authenticationToken = UsernamePasswordAuthenticationToken.authenticated(principal, credentials, authorities);
+        authenticationToken.setDetails(DETAILS_SOURCE.buildDetails(request));
+
+        SecurityContextHolder.getContext()
+            .setAuthentication(authenticationToken);
 
-        return authenticationToken;
+        if (log.isDebugEnabled()) {
+            // Guarded, as the arguments array is created even if the log is disabled
+            log.debug("Authenticated {} request for {} to {}", request.getMethod(), authenticationToken.getName(),
+                request.getServletPath());
+        }
+    }
+
+    /**
+     * Returns an {@link UsernamePasswordAuthenticationToken} created from the user. It contains no request details,
+     * so it can be cached.
+     *
+     * @param userDetails
+     *            user for the authentication
+     * @param token
+     *            parsed security token
+     * @return an authentication object
+     */
+    private final Authentication getAuthentication(final UserDetails userDetails, final String token) {
+        return UsernamePasswordAuthenticationToken.authenticated(userDetails, token, userDetails.getAuthorities());
     }
 
     /**
      * Takes the token from the authorization header. This is expected to be something like
-     * {@code Authorization: Bearer [token]}.
+     * {@code Authorization: Bearer [token]}, where the identifier is case insensitive.
+     * <p>
+     * The header is read in place, so the only string created is the token itself.
      *
      * @param request
      *            request containing the header with the token
-     * @return the token if found, or an empty {@code Optional} otherwise
+     * @return the token if found, or {@code null} otherwise
      */
-    private final Optional<String> getToken(final HttpServletRequest request) {
-        final String           header;
-        final Optional<String> token;
+    private final String getToken(final HttpServletRequest request) {
+        final String header;
+        final String token;
+        int          start;
+        int          end;
 
-        header = request.getHeader("Authorization");
+        header = request.getHeader(HttpHeaders.AUTHORIZATION);
 
         if (header == null) {
             // No token received
-            token = Optional.empty();
-            log.warn("Missing authorization header, can't return token", header);
-        } else if (((header != null) && !header.trim()
-            .isEmpty()) && (header.trim()
-                .startsWith(TOKEN_HEADER_IDENTIFIER + " "))) {
-            // Token received
-            // Take it by removing the identifier
-            // TODO: Should be case insensitive
-            token = Optional.of(header.substring(TOKEN_HEADER_IDENTIFIER.length())
-                .trim());
+            token = null;
+            log.warn("Missing authorization header, can't return token");
         } else {
-            // Invalid token received
-            token = Optional.empty();
-            log.warn("Authorization header {} has an invalid structure, can't return token", header);
+            // Skips surrounding whitespace, as trim does
+            start = 0;
+            end = header.length();
+            while ((start < end) && (header.charAt(start) <= ' ')) {
+                start++;
+            }
+            while ((end > start) && (header.charAt(end - 1) <= ' ')) {
+                end--;
+            }
+
+            if (((end - start) > TOKEN_HEADER_IDENTIFIER.length())
+                    && header.regionMatches(true, start, TOKEN_HEADER_IDENTIFIER, 0, TOKEN_HEADER_IDENTIFIER.length())
+                    && (header.charAt(start + TOKEN_HEADER_IDENTIFIER.length()) <= ' ')) {
+                // Token received
+                // Take it by removing the identifier
+                start += TOKEN_HEADER_IDENTIFIER.length();
+                while (header.charAt(start) <= ' ') {
+                    start++;
+                }
+                token = header.substring(start, end);
+            } else {
+                // Invalid token received
+                token = null;
+                malformedHeaderRejections.increment();
+                log.warn("Authorization header {} has an invalid structure, can't return token", header);
+            }
         }
 
         return token;
@@ -170,51 +393,136 @@ private final boolean isValid(final UserDetails userDetails) {
                 && userDetails.isCredentialsNonExpired() && userDetails.isEnabled();
     }
 
+    /**
+     * Loads the authentication for the token. It is taken from the cache if possible, otherwise the token is verified.
+     *
+     * @param token
+     *            token to load
+     * @param request
+     *            request details for the authentication
+     */
     private final void loadToken(final String token, final HttpServletRequest request) {
-        final String         username;
-        final UserDetails    userDetails;
-        final Authentication authentication;
+        final Optional<TokenAuthentication> cached;
+        final Authentication                authentication;
+
+        cached = tokenCache.get(token);
+        if (cached.isPresent()) {
+            // Token already verified
+            log.debug("Verified token found in cache");
+            if (denylist.isRevoked(cached.get()
+                .data()
+                .id())) {
+                // Revoked after it was cached
+                revokedRejections.increment();
+                log.debug("Revoked token found in cache");
+            } else {
+                authentication = cached.get()
+                    .authentication();
+                authenticate(authentication.getPrincipal(), authentication.getCredentials(),
+                    authentication.getAuthorities(), request);
+            }
+        } else {
+            verifyToken(token, request);
+        }
+    }
+
+    /**
+     * Verifies the token and, if it is valid, registers an authentication for it. Valid tokens are stored in the
+     * cache.
+     *
+     * @param token
+     *            token to verify
+     * @param request
+     *            request details for the authentication
+     */
+    private final void verifyToken(final String token, final HttpServletRequest request) {
+        final TokenVerification     verification;
+        final JwtTokenData          data;
+        final String                username;
+        final Optional<UserDetails> userDetails;
+        final Authentication        authentication;
+        long                        start;
+
+        // Verifies and decodes the token in a single step
+        // Timed by hand, as a lambda would capture the token on each request
+        start = System.nanoTime();
+        verification = tokenDecoder.verify(token, claims);
+        verificationTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        if (!tokenValidator.hasExpired(token)) {
-            // Token not expired
+        if (verification.isValid() && denylist.isRevoked(verification.data()
+            .id())) {
+            // Token valid, but revoked
+            revokedRejections.increment();
+            log.debug("Revoked token");
+        } else if (verification.isValid()) {
+            // Token valid and not expired
             // Will load a new authentication from the token
 
             // Takes subject from the token
-            username = tokenDecoder.decode(token)
-                .subject();
-            userDetails = userDetailsService.loadUserByUsername(username);
+            data = verification.data();
+            username = data.subject();
+            start = System.nanoTime();
+            userDetails = userDetailsLoader.load(data);
+            userLoadTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-            if (isValid(userDetails)) {
+            if (userDetails.isEmpty()) {
+                unknownUserRejections.increment();
+                log.debug("Token no longer valid for user {}", username);
+            } else if (isValid(userDetails.get())) {
+                if (tokenCache.isEnabled()) {
+                    // The cached authentication can't contain the request details
+                    authentication = getAuthentication(userDetails.get(), token);
+                    tokenCache.put(token, new TokenAuthentication(data, authentication));
+                }
                 // Create and register authentication
-                authentication = getAuthentication(userDetails, request, token);
-                SecurityContextHolder.getContext()
-                    .setAuthentication(authentication);
-
-                // User valid
-                log.debug("Authenticated {} request for {} to {}", request.getMethod(), username,
-                    request.getServletPath());
+                authenticate(userDetails.get(), token, userDetails.get()
+                    .getAuthorities(), request);
             } else {
+                if (userDetails.get()
+                    .isEnabled()) {
+                    invalidUserRejections.increment();
+                } else {
+                    disabledUserRejections.increment();
+                }
                 log.debug("Invalid user {}", username);
             }
         } else {
-            log.debug("Invalid token {}", token);
+            failureRejections.get(verification.failure())
+                .increment();
+            log.debug("Invalid token, rejected as {}", verification.failure());
         }
     }
 
+    @Override
+    protected final String getAlreadyFilteredAttributeName() {
+        String name;
+
+        name = alreadyFilteredAttributeName;
+        if (name == null) {
+            name = super.getAlreadyFilteredAttributeName();
+            alreadyFilteredAttributeName = name;
+        }
+
+        return name;
+    }
+
     @Override
     protected final void doFilterInternal(final HttpServletRequest request, final HttpServletResponse response,
             final FilterChain chain) throws ServletException, IOException {
-        final Optional<String> token;
+        final long   start;
+        final String token;
 
         log.debug("Authenticating {} request to {}", request.getMethod(), request.getServletPath());
 
+        start = System.nanoTime();
         token = getToken(request);
+        extractionTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
-        if (token.isEmpty()) {
+        if (token == null) {
             // Missing header
             log.debug("Missing authorization token");
         } else {
-            loadToken(token.get(), request);
+            loadToken(token, request);
         }
 
         chain.doFilter(request, response);
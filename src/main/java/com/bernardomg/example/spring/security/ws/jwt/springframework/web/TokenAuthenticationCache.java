@@ -0,0 +1,65 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.springframework.web;
+
+import java.util.Optional;
+
+/**
+ * Cache for already verified tokens. Allows skipping the token validation and decoding for tokens which were already
+ * accepted.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public interface TokenAuthenticationCache {
+
+    /**
+     * Returns the cached authentication for the token, if any.
+     *
+     * @param token
+     *            token to search for
+     * @return the cached authentication for the token, or an empty {@code Optional} if it is not cached
+     */
+    public Optional<TokenAuthentication> get(final String token);
+
+    /**
+     * Returns if the cache stores authentications. If it doesn't, there is no need to build the authentications to
+     * store.
+     *
+     * @return {@code true} if authentications are stored, {@code false} otherwise
+     */
+    public boolean isEnabled();
+
+    /**
+     * Stores the authentication for the token. It will be kept until the token expires.
+     *
+     * @param token
+     *            token to cache
+     * @param authentication
+     *            authentication built from the token
+     */
+    public void put(final String token, final TokenAuthentication authentication);
+
+}
@@ -0,0 +1,192 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.time;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Clock with a precision of seconds, which is read from a volatile field. A background thread checks the source clock
+ * once per millisecond, and only updates the current instant when the second changes.
+ * <p>
+ * Token dates are stored in seconds, so this precision is enough to check them. Reading the clock never allocates, and
+ * comparing it with a token date is a comparison of epoch seconds.
+ * <p>
+ * The clock should be closed once it is no longer needed, to stop the background thread.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class CoarseClock extends Clock implements AutoCloseable {
+
+    /**
+     * Milliseconds in a second.
+     */
+    private static final long              MILLIS = 1000L;
+
+    /**
+     * Milliseconds between checks of the source clock.
+     */
+    private static final long              TICK   = 1L;
+
+    /**
+     * Current instant, truncated to seconds.
+     */
+    private volatile Instant               current;
+
+    /**
+     * Updates the current instant.
+     */
+    private final ScheduledExecutorService scheduler;
+
+    /**
+     * Clock which is followed.
+     */
+    private final Clock                    source;
+
+    /**
+     * Builds a clock which follows the received clock.
+     *
+     * @param sourceClock
+     *            clock to follow
+     */
+    public CoarseClock(final Clock sourceClock) {
+        super();
+
+        source = Objects.requireNonNull(sourceClock);
+        current = Instant.ofEpochSecond(getEpochSecond());
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread;
+
+            thread = new Thread(runnable, "coarse-clock");
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(this::tick, TICK, TICK, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public final void close() {
+        scheduler.shutdownNow();
+    }
+
+    @Override
+    public final ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public final Instant instant() {
+        return current;
+    }
+
+    @Override
+    public final long millis() {
+        return current.getEpochSecond() * MILLIS;
+    }
+
+    @Override
+    public final Clock withZone(final ZoneId zone) {
+        return new ZonedClock(this, zone);
+    }
+
+    /**
+     * Returns the source clock seconds since the epoch.
+     *
+     * @return the source clock seconds
+     */
+    private final long getEpochSecond() {
+        return Math.floorDiv(source.millis(), MILLIS);
+    }
+
+    /**
+     * Updates the current instant, if the second changed. So a new instant is created once per second.
+     */
+    private final void tick() {
+        final long seconds;
+
+        seconds = getEpochSecond();
+        if (seconds != current.getEpochSecond()) {
+            current = Instant.ofEpochSecond(seconds);
+        }
+    }
+
+    /**
+     * Coarse clock with another zone. The zone only matters when the clock is used to build dates, the instant is the
+     * same.
+     *
+     * @author Bernardo Mart&iacute;nez Garrido
+     *
+     */
+    private static final class ZonedClock extends Clock {
+
+        /**
+         * Clock which gives the instant.
+         */
+        private final CoarseClock clock;
+
+        /**
+         * Clock zone.
+         */
+        private final ZoneId      zone;
+
+        private ZonedClock(final CoarseClock coarseClock, final ZoneId zoneId) {
+            super();
+
+            clock = coarseClock;
+            zone = Objects.requireNonNull(zoneId);
+        }
+
+        @Override
+        public final ZoneId getZone() {
+            return zone;
+        }
+
+        @Override
+        public final Instant instant() {
+            return clock.instant();
+        }
+
+        @Override
+        public final long millis() {
+            return clock.millis();
+        }
+
+        @Override
+        public final Clock withZone(final ZoneId zoneId) {
+            return new ZonedClock(clock, zoneId);
+        }
+
+    }
+
+}
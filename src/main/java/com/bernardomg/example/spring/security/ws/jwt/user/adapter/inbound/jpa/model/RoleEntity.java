@@ -27,6 +27,9 @@
 import java.io.Serializable;
 import java.util.Collection;
 
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -71,7 +74,11 @@ public class RoleEntity implements Serializable {
     @Column(name = "name", nullable = false, unique = true, length = 60)
     private String                      name;
 
+    /**
+     * Role privileges. Loaded with a subselect, so the privileges for all the roles read in a query are loaded at once.
+     */
     @OneToMany
+    @Fetch(FetchMode.SUBSELECT)
     @JoinTable(name = "role_privileges", joinColumns = { @JoinColumn(name = "role_id", referencedColumnName = "id") },
             inverseJoinColumns = { @JoinColumn(name = "privilege_id", referencedColumnName = "id") })
     private Collection<PrivilegeEntity> privileges;
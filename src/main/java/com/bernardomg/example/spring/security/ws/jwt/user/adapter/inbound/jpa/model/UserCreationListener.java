@@ -0,0 +1,71 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model;
+
+import java.util.Objects;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.event.UserCreatedEvent;
+
+import jakarta.persistence.PostPersist;
+
+/**
+ * Publishes an event each time a user is created, so the components caching usernames can include it.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class UserCreationListener {
+
+    /**
+     * Event publisher.
+     */
+    private final ApplicationEventPublisher eventPublisher;
+
+    /**
+     * Constructs a listener with the received arguments.
+     *
+     * @param publisher
+     *            event publisher
+     */
+    public UserCreationListener(final ApplicationEventPublisher publisher) {
+        super();
+
+        eventPublisher = Objects.requireNonNull(publisher, "Received a null pointer as event publisher");
+    }
+
+    /**
+     * Publishes the creation of the user.
+     *
+     * @param user
+     *            created user
+     */
+    @PostPersist
+    public final void publishCreation(final UserEntity user) {
+        eventPublisher.publishEvent(new UserCreatedEvent(user.getUsername()));
+    }
+
+}
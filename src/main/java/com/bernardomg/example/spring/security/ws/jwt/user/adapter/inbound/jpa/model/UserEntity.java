@@ -26,18 +26,26 @@
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.Locale;
+
+import org.hibernate.annotations.Fetch;
+import org.hibernate.annotations.FetchMode;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.TableGenerator;
 import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.Data;
 
 /**
@@ -48,6 +56,7 @@
  */
 @Data
 @Entity(name = "User")
+@EntityListeners({ UserCreationListener.class, UserStampListener.class })
 @Table(name = "users")
 @TableGenerator(name = "seq_users_id", table = "sequences", pkColumnName = "sequence", valueColumnName = "count",
         allocationSize = 1)
@@ -103,13 +112,23 @@ public class UserEntity implements Serializable {
     @Column(name = "name", nullable = false, unique = true, length = 60)
     private String                 name;
 
+    /**
+     * User name in lower case. Users are searched by it, so they are found whatever the case received.
+     */
+    @Column(name = "normalized_username", nullable = false, unique = true, length = 60)
+    private String                 normalizedUsername;
+
     /**
      * User password.
      */
     @Column(name = "password", nullable = false, length = 60)
     private String                 password;
 
+    /**
+     * User roles. Loaded with a subselect when they weren't fetched along the user.
+     */
     @OneToMany
+    @Fetch(FetchMode.SUBSELECT)
     @JoinTable(name = "user_roles", joinColumns = { @JoinColumn(name = "user_id", referencedColumnName = "id") },
             inverseJoinColumns = { @JoinColumn(name = "role_id", referencedColumnName = "id") })
     private Collection<RoleEntity> roles;
@@ -120,4 +139,20 @@ public class UserEntity implements Serializable {
     @Column(name = "username", nullable = false, unique = true, length = 60)
     private String                 username;
 
+    /**
+     * Entity version. Increased each time the user is updated.
+     */
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long                   version;
+
+    /**
+     * Keeps the normalized username in sync with the username.
+     */
+    @PrePersist
+    @PreUpdate
+    private final void normalizeUsername() {
+        normalizedUsername = username.toLowerCase(Locale.ROOT);
+    }
+
 }
@@ -0,0 +1,108 @@
+/**
+ * The MIT License (MIT)
+ * <p>
+ * Copyright (c) 2022-2025 the original author or authors.
+ * <p>
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ * <p>
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ * <p>
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model;
+
+import java.util.Objects;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+
+/**
+ * Increases the users stamp each time a user is added, updated or removed. The stamp is kept in a single row, which is
+ * updated in the same transaction as the user, so it can be read with a single primary key lookup, instead of
+ * aggregating the whole users table.
+ * <p>
+ * This trades write concurrency for read cost. The persons list reads the stamp on each request, while users are
+ * rarely written, so it is cheaper to lock one row on each write than to aggregate the table on each read. Still, all
+ * the transactions writing users queue on that row until they commit. To keep this short, the stamp is increased only
+ * once per transaction, as the new value is not visible until the commit anyway.
+ * <p>
+ * Changes made directly on the database, or through bulk queries, are not detected.
+ *
+ * @author Bernardo Mart&iacute;nez Garrido
+ *
+ */
+public final class UserStampListener {
+
+    /**
+     * Query which increases the users stamp.
+     */
+    private static final String INCREASE_QUERY = "UPDATE table_stamps SET stamp = stamp + 1 WHERE name = 'users'";
+
+    /**
+     * Transaction resource which marks the stamp as already increased.
+     */
+    private static final Object INCREASED      = new Object();
+
+    /**
+     * JDBC template, for increasing the stamp.
+     */
+    private final JdbcTemplate  jdbcTemplate;
+
+    /**
+     * Constructs a listener with the received arguments.
+     *
+     * @param jdbcTmplt
+     *            JDBC template, for increasing the stamp
+     */
+    public UserStampListener(final JdbcTemplate jdbcTmplt) {
+        super();
+
+        jdbcTemplate = Objects.requireNonNull(jdbcTmplt, "Received a null pointer as JDBC template");
+    }
+
+    /**
+     * Increases the users stamp after a user changes, unless it was already increased in the current transaction.
+     *
+     * @param user
+     *            changed user
+     */
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public final void increaseStamp(final UserEntity user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // No transaction to group the changes
+            jdbcTemplate.update(INCREASE_QUERY);
+        } else if (!TransactionSynchronizationManager.hasResource(INCREASED)) {
+            jdbcTemplate.update(INCREASE_QUERY);
+            TransactionSynchronizationManager.bindResource(INCREASED, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+
+                @Override
+                public final void afterCompletion(final int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(INCREASED);
+                }
+
+            });
+        }
+    }
+
+}
@@ -25,6 +25,8 @@
 package com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.repository;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -34,8 +36,10 @@
 import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.PrivilegeEntity;
 import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.RoleEntity;
 import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserEntity;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserPrivilegeProjection;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
 
 /**
@@ -64,15 +68,85 @@ public final Collection<User> findAll() {
     }
 
     @Override
-    public Optional<User> findOne(final String username) {
-        return userSpringRepository.findOneByUsername(username)
+    public final Collection<String> findAllUsernames() {
+        return userSpringRepository.findAllUsernames();
+    }
+
+    @Override
+    public final Optional<UserCredentials> findCredentials(final String username) {
+        final List<UserPrivilegeProjection> rows;
+        final Optional<UserCredentials>     credentials;
+
+        rows = userSpringRepository.findCredentialsByUsername(normalize(username));
+        if (rows.isEmpty()) {
+            credentials = Optional.empty();
+        } else {
+            credentials = Optional.of(toDomain(rows));
+        }
+
+        return credentials;
+    }
+
+    @Override
+    public final Optional<User> findOne(final String username) {
+        return userSpringRepository.findOneByNormalizedUsername(normalize(username))
             .map(this::toDomain);
     }
 
     @Override
-    public Optional<String> findPassword(final String username) {
-        return userSpringRepository.findOneByUsername(username)
-            .map(UserEntity::getPassword);
+    public final Optional<Long> findVersion(final String username) {
+        return userSpringRepository.findVersionByUsername(normalize(username));
+    }
+
+    @Override
+    public final boolean updatePassword(final String username, final String password) {
+        return userSpringRepository.updatePasswordByUsername(normalize(username), password) > 0;
+    }
+
+    /**
+     * Returns the username normalized, as it is stored in the normalized username column.
+     *
+     * @param username
+     *            username to normalize
+     * @return the normalized username
+     */
+    private final String normalize(final String username) {
+        return username.toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Transforms the rows for a single user into the user credentials. Each row contains a privilege, which are
+     * joined into the user privileges.
+     *
+     * @param rows
+     *            rows for the user
+     * @return the user credentials
+     */
+    private final UserCredentials toDomain(final List<UserPrivilegeProjection> rows) {
+        final UserPrivilegeProjection first;
+        final Collection<Privilege>   privileges;
+        final User                    user;
+
+        first = rows.get(0);
+        privileges = rows.stream()
+            .map(UserPrivilegeProjection::privilege)
+            .filter(Objects::nonNull)
+            .distinct()
+            .map(Privilege::new)
+            .toList();
+        user = User.builder()
+            .withName(first.name())
+            .withEmail(first.email())
+            .withUsername(first.username())
+            .withEnabled(first.enabled())
+            .withExpired(first.expired())
+            .withLocked(first.locked())
+            .withPasswordExpired(first.credentialsExpired())
+            .withPrivileges(privileges)
+            .withVersion(first.version())
+            .build();
+
+        return new UserCredentials(user, first.password());
     }
 
     private Privilege toDomain(final PrivilegeEntity entity) {
@@ -97,6 +171,7 @@ private User toDomain(final UserEntity entity) {
             .withLocked(entity.getLocked())
             .withPasswordExpired(entity.getCredentialsExpired())
             .withPrivileges(privileges)
+            .withVersion(entity.getVersion())
             .build();
     }
 
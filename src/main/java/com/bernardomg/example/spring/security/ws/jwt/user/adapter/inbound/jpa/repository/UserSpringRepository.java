@@ -24,11 +24,17 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.repository;
 
+import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserEntity;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserPrivilegeProjection;
 
 /**
  * Repository for users.
@@ -39,12 +45,75 @@
 public interface UserSpringRepository extends JpaRepository<UserEntity, Long> {
 
     /**
-     * Returns the user details for the received username.
+     * Returns all the users. Their roles are fetched in the same query, and the privileges for all the roles in a
+     * single additional query.
+     *
+     * @return all the users
+     */
+    @Override
+    @EntityGraph(attributePaths = { "roles" })
+    public List<UserEntity> findAll();
+
+    /**
+     * Returns the usernames of all the users.
+     *
+     * @return the usernames of all the users
+     */
+    @Query("SELECT u.username FROM User u")
+    public List<String> findAllUsernames();
+
+    /**
+     * Returns the user details for the received normalized username. The roles are fetched in the same query, and their
+     * privileges in a single additional query.
      *
      * @param username
      *            username to search for
      * @return the user details for the received username
      */
-    public Optional<UserEntity> findOneByUsername(final String username);
+    @EntityGraph(attributePaths = { "roles" })
+    public Optional<UserEntity> findOneByNormalizedUsername(final String username);
+
+    /**
+     * Returns the user for the received username, along its password and privileges. There is a row for each
+     * privilege, and all of them are read in a single query.
+     *
+     * @param username
+     *            username to search for
+     * @return the user rows for the received username
+     */
+    @Query("""
+            SELECT new com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserPrivilegeProjection(
+                u.username, u.name, u.email, u.enabled, u.expired, u.locked, u.credentialsExpired, u.password, u.version,
+                p.name)
+            FROM User u
+              LEFT JOIN u.roles r
+              LEFT JOIN r.privileges p
+            WHERE u.normalizedUsername = :username
+            """)
+    public List<UserPrivilegeProjection> findCredentialsByUsername(@Param("username") final String username);
+
+    /**
+     * Returns the version for the received username. Only the version is read, the user is not loaded.
+     *
+     * @param username
+     *            username to search for
+     * @return the version for the received username
+     */
+    @Query("SELECT u.version FROM User u WHERE u.normalizedUsername = :username")
+    public Optional<Long> findVersionByUsername(@Param("username") final String username);
+
+    /**
+     * Replaces the password for the received username. The version is not increased.
+     *
+     * @param username
+     *            username to update
+     * @param password
+     *            new password
+     * @return the number of updated users
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.password = :password WHERE u.normalizedUsername = :username")
+    public int updatePasswordByUsername(@Param("username") final String username,
+            @Param("password") final String password);
 
 }
@@ -36,6 +36,6 @@
  */
 @Builder(setterPrefix = "with")
 public record User(String email, String username, String name, boolean enabled, boolean expired, boolean locked,
-        boolean passwordExpired, Collection<Privilege> privileges) {
+        boolean passwordExpired, Collection<Privilege> privileges, long version) {
 
 }
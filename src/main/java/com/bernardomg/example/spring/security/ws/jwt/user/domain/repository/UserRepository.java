@@ -28,9 +28,12 @@
 import java.util.Optional;
 
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
 
 /**
  * User repository.
+ * <p>
+ * Usernames are case insensitive. They are normalized to lower case before searching.
  *
  * @author Bernardo Mart&iacute;nez Garrido
  */
@@ -43,6 +46,22 @@ public interface UserRepository {
      */
     public Collection<User> findAll();
 
+    /**
+     * Returns the usernames of all the users. Only the usernames are read.
+     *
+     * @return the usernames of all the users
+     */
+    public Collection<String> findAllUsernames();
+
+    /**
+     * Returns the user for the received username, along its password. The user and its privileges are read at once.
+     *
+     * @param username
+     *            user to search for
+     * @return the user and password for the received username
+     */
+    public Optional<UserCredentials> findCredentials(final String username);
+
     /**
      * Returns the user for the received username.
      *
@@ -53,12 +72,25 @@ public interface UserRepository {
     public Optional<User> findOne(final String username);
 
     /**
-     * Returns the password for the user.
+     * Returns the version for the user. This changes each time the user is updated, and allows detecting stale user
+     * data.
+     *
+     * @param username
+     *            user to search for the version
+     * @return the user version
+     */
+    public Optional<Long> findVersion(final String username);
+
+    /**
+     * Replaces the stored password for the user. The user version is not changed, as the password is the same, only
+     * stored differently.
      *
      * @param username
-     *            user to search for the password
-     * @return the user password
+     *            user to update
+     * @param password
+     *            new encoded password
+     * @return {@code true} if the user exists and was updated, {@code false} otherwise
      */
-    public Optional<String> findPassword(final String username);
+    public boolean updatePassword(final String username, final String password);
 
 }
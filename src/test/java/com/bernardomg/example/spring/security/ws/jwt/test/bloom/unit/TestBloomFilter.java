@@ -0,0 +1,67 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.bloom.unit;
+
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.bloom.BloomFilter;
+
+@DisplayName("BloomFilter")
+class TestBloomFilter {
+
+    private static final int VALUES = 10_000;
+
+    @Test
+    @DisplayName("All the added values are contained")
+    void testMightContain_added() {
+        final BloomFilter filter;
+
+        filter = new BloomFilter(VALUES, 0.01);
+        IntStream.range(0, VALUES)
+            .forEach(i -> filter.add("user" + i));
+
+        Assertions.assertThat(IntStream.range(0, VALUES)
+            .filter(i -> !filter.mightContain("user" + i))
+            .count())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("An empty filter contains nothing")
+    void testMightContain_empty() {
+        final BloomFilter filter;
+
+        filter = new BloomFilter(VALUES, 0.01);
+
+        Assertions.assertThat(filter.mightContain("user"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("The false positives stay close to the expected rate")
+    void testMightContain_falsePositives() {
+        final BloomFilter filter;
+        final long        falsePositives;
+
+        filter = new BloomFilter(VALUES, 0.01);
+        IntStream.range(0, VALUES)
+            .forEach(i -> filter.add("user" + i));
+
+        falsePositives = IntStream.range(VALUES, VALUES * 2)
+            .filter(i -> filter.mightContain("user" + i))
+            .count();
+
+        Assertions.assertThat(falsePositives)
+            .isLessThan(VALUES / 50);
+    }
+
+    @Test
+    @DisplayName("An invalid false positive rate is rejected")
+    void testNew_invalidRate() {
+        Assertions.assertThatThrownBy(() -> new BloomFilter(VALUES, 1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,236 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.hs512.unit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512Key;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+@DisplayName("HS512 codec - conformance with JJWT")
+class TestHs512Conformance {
+
+    private static final JjwtSigningKey SIGNING_KEY = new JjwtSigningKey(TokenConstants.KEY, Jwts.SIG.HS512);
+
+    private static final Hs512Key       HS512_KEY   = new Hs512Key(SIGNING_KEY.getId(), TokenConstants.KEY);
+
+    private static final Stream<JwtTokenData> data() {
+        final Instant now;
+
+        now = Instant.now();
+        return Stream.of(
+            // Subject only
+            JwtTokenData.builder()
+                .withSubject(TokenConstants.SUBJECT)
+                .build(),
+            // All the claims
+            JwtTokenData.builder()
+                .withId("id")
+                .withIssuer("issuer")
+                .withSubject(TokenConstants.SUBJECT)
+                .withAudience(new LinkedHashSet<>(List.of("aud1", "aud2")))
+                .withIssuedAt(now)
+                .withNotBefore(now.minus(1, ChronoUnit.MINUTES))
+                .withExpiration(now.plus(1, ChronoUnit.HOURS))
+                .withPermissions(List.of("user:read", "user:update"))
+                .withVersion(3L)
+                .build(),
+            // Single audience, no permissions
+            JwtTokenData.builder()
+                .withSubject(TokenConstants.SUBJECT)
+                .withAudience(new LinkedHashSet<>(List.of("aud")))
+                .withPermissions(List.of())
+                .build(),
+            // Compressed permissions
+            JwtTokenData.builder()
+                .withSubject(TokenConstants.SUBJECT)
+                .withPermissions(IntStream.range(0, 300)
+                    .mapToObj(i -> "resource_" + i + ":read")
+                    .toList())
+                .build(),
+            // Escaped and non ASCII characters
+            JwtTokenData.builder()
+                .withSubject("quote\" backslash\\ slash/ line\n tab\t control\u0001 \u007f")
+                .withIssuer("éñ 漢字 😀")
+                .withAudience(new LinkedHashSet<>(List.of("über", "a\"b")))
+                .build());
+    }
+
+    private final TokenDecoder hs512Decoder = new Hs512TokenDecoder(HS512_KEY);
+
+    private final TokenEncoder hs512Encoder = new Hs512TokenEncoder(HS512_KEY);
+
+    private final TokenDecoder jjwtDecoder  = new JjwtTokenDecoder(SIGNING_KEY);
+
+    private final TokenEncoder jjwtEncoder  = new JjwtTokenEncoder(SIGNING_KEY);
+
+    @ParameterizedTest
+    @MethodSource("data")
+    @DisplayName("Both codecs create the same token")
+    void testEncode_sameToken(final JwtTokenData data) {
+        final String token;
+
+        token = hs512Encoder.encode(data);
+
+        Assertions.assertThat(token)
+            .isEqualTo(jjwtEncoder.encode(data));
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    @DisplayName("JJWT tokens are decoded as JJWT decodes them")
+    void testVerify_fromJjwt(final JwtTokenData data) {
+        final String            token;
+        final TokenVerification verification;
+
+        token = jjwtEncoder.encode(data);
+        verification = hs512Decoder.verify(token);
+
+        Assertions.assertThat(verification)
+            .isEqualTo(jjwtDecoder.verify(token));
+    }
+
+    @ParameterizedTest
+    @MethodSource("data")
+    @DisplayName("HS512 tokens are decoded by JJWT")
+    void testVerify_toJjwt(final JwtTokenData data) {
+        final String            token;
+        final TokenVerification verification;
+
+        token = hs512Encoder.encode(data);
+        verification = jjwtDecoder.verify(token);
+
+        Assertions.assertThat(verification)
+            .isEqualTo(hs512Decoder.verify(token));
+    }
+
+    @Test
+    @DisplayName("Expired tokens fail the same way")
+    void testVerify_expired() {
+        final JwtTokenData data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withExpiration(Instant.now()
+                .minusSeconds(2))
+            .build();
+
+        assertSameFailure(jjwtEncoder.encode(data));
+    }
+
+    @Test
+    @DisplayName("Tokens signed with another key fail the same way")
+    void testVerify_invalidSignature() {
+        final JwtTokenData data;
+        final String       token;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build();
+        token = new Hs512TokenEncoder(new Hs512Key(SIGNING_KEY.getId(), Keys.hmacShaKeyFor(
+            "abcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghij"
+                .getBytes(StandardCharsets.UTF_8)))).encode(data);
+
+        assertSameFailure(token);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "abc", "a.b", "a.b.c.d", "..", "a.b.c" })
+    @DisplayName("Malformed tokens fail the same way")
+    void testVerify_malformed(final String token) {
+        assertSameFailure(token);
+    }
+
+    @Test
+    @DisplayName("Tokens not valid yet fail the same way")
+    void testVerify_notYetValid() {
+        final JwtTokenData data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withNotBefore(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build();
+
+        assertSameFailure(jjwtEncoder.encode(data));
+    }
+
+    @Test
+    @DisplayName("Only the requested claims are decoded, as JJWT does")
+    void testVerify_selectedClaims() {
+        final String              token;
+        final EnumSet<TokenClaim> claims;
+        final TokenVerification   verification;
+
+        token = jjwtEncoder.encode(data().skip(1)
+            .findFirst()
+            .orElseThrow());
+        claims = EnumSet.of(TokenClaim.SUBJECT, TokenClaim.EXPIRATION, TokenClaim.PERMISSIONS);
+        verification = hs512Decoder.verify(token, claims);
+
+        Assertions.assertThat(verification)
+            .isEqualTo(jjwtDecoder.verify(token, claims));
+        Assertions.assertThat(verification.data()
+            .issuer())
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Tokens with a changed payload fail the same way")
+    void testVerify_tampered() {
+        final String token;
+        final String tampered;
+        final String payload;
+        final String changed;
+
+        token = jjwtEncoder.encode(JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build());
+        payload = token.split("\\.")[1];
+        changed = Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString("{\"sub\":\"admin\"}".getBytes(StandardCharsets.UTF_8));
+        tampered = token.replace(payload, changed);
+
+        assertSameFailure(tampered);
+    }
+
+    private final void assertSameFailure(final String token) {
+        final TokenVerification verification;
+
+        verification = hs512Decoder.verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isFalse();
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(jjwtDecoder.verify(token)
+                .failure());
+    }
+
+}
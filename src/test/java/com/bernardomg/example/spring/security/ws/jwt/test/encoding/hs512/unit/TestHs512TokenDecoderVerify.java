@@ -0,0 +1,129 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.hs512.unit;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512Key;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+@DisplayName("Hs512TokenDecoder - verify")
+class TestHs512TokenDecoderVerify {
+
+    private final Hs512Key     key     = new Hs512Key("key", TokenConstants.KEY);
+
+    private final TokenDecoder decoder = new Hs512TokenDecoder(key);
+
+    private final TokenEncoder encoder = new Hs512TokenEncoder(key);
+
+    @Test
+    @DisplayName("A token signed with another algorithm is rejected as unsupported")
+    void testVerify_otherAlgorithm() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = new JjwtTokenEncoder(JjwtSigningKey.of(SigningAlgorithm.ES256, null)).encode(JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build());
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.UNSUPPORTED);
+    }
+
+    @Test
+    @DisplayName("A token with another key id is rejected as unsupported")
+    void testVerify_otherKeyId() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = new Hs512TokenEncoder(new Hs512Key("other", TokenConstants.KEY)).encode(JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build());
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.UNSUPPORTED);
+    }
+
+    @Test
+    @DisplayName("A signed token with invalid claims is rejected as malformed")
+    void testVerify_signedMalformedClaims() {
+        final String            token;
+        final String            payload;
+        final TokenVerification verification;
+
+        token = encoder.encode(JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build());
+        payload = Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString("{\"sub\":".getBytes(StandardCharsets.UTF_8));
+        // Signs the changed token again with the same key
+        verification = decoder.verify(resign(token.substring(0, token.indexOf('.') + 1) + payload));
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.MALFORMED);
+    }
+
+    @Test
+    @DisplayName("A valid token returns its data")
+    void testVerify_valid() {
+        final String            token;
+        final TokenVerification verification;
+        final JwtTokenData      data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .withVersion(2L)
+            .build();
+
+        token = encoder.encode(data);
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isTrue();
+        Assertions.assertThat(verification.data()
+            .subject())
+            .isEqualTo(TokenConstants.SUBJECT);
+        Assertions.assertThat(verification.data()
+            .version())
+            .isEqualTo(2L);
+    }
+
+    private final String resign(final String unsigned) {
+        final Mac mac;
+
+        try {
+            mac = Mac.getInstance("HmacSHA512");
+            mac.init(TokenConstants.KEY);
+        } catch (final GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+
+        return unsigned + "." + Base64.getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(mac.doFinal(unsigned.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+}
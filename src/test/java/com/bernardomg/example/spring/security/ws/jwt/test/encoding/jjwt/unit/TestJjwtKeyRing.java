@@ -0,0 +1,115 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyRing;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.jsonwebtoken.Jwts;
+
+@DisplayName("JjwtKeyRing")
+class TestJjwtKeyRing {
+
+    private final JjwtSigningKey current = new JjwtSigningKey("current", TokenConstants.KEY, Jwts.SIG.HS512);
+
+    private final JjwtSigningKey other   = JjwtSigningKey.of(SigningAlgorithm.ES256, null);
+
+    private final JjwtKeyRing    ring    = new JjwtKeyRing(current, List.of(current, other));
+
+    private final String encode(final JjwtKeyRing keys) {
+        return new JjwtTokenEncoder(keys).encode(JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build());
+    }
+
+    @Test
+    @DisplayName("Publishes the public keys from all the keys")
+    void testGetPublicKeys() {
+        Assertions.assertThat(ring.getPublicKeys())
+            .singleElement()
+            .extracting(jwk -> jwk.get("kid"))
+            .isEqualTo(other.getId());
+    }
+
+    @Test
+    @DisplayName("Tokens are signed with the current key, and its id")
+    void testSign() {
+        final String token;
+
+        token = encode(ring);
+
+        Assertions.assertThat(Jwts.parser()
+            .verifyWith(TokenConstants.KEY)
+            .build()
+            .parseSignedClaims(token)
+            .getHeader()
+            .getKeyId())
+            .isEqualTo("current");
+    }
+
+    @Test
+    @DisplayName("Tokens signed with any key in the ring are accepted")
+    void testVerify_otherKey() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = encode(new JjwtKeyRing(other));
+        verification = new JjwtTokenDecoder(ring).verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Tokens signed with a key removed from the ring are rejected")
+    void testVerify_removedKey() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = encode(new JjwtKeyRing(other));
+        ring.update(current, List.of(current));
+        verification = new JjwtTokenDecoder(ring).verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.INVALID_SIGNATURE);
+    }
+
+    @Test
+    @DisplayName("Tokens without key id are verified with the current key")
+    void testVerify_withoutId() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = Jwts.builder()
+            .subject(TokenConstants.SUBJECT)
+            .signWith(TokenConstants.KEY, Jwts.SIG.HS512)
+            .compact();
+        verification = new JjwtTokenDecoder(ring).verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("The current key must be in the ring")
+    void testUpdate_currentMissing() {
+        Assertions.assertThatThrownBy(() -> ring.update(current, List.of(other)))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,190 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import javax.crypto.KeyGenerator;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyRing;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtKeyStoreLoader;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JjwtKeyStoreLoader")
+class TestJjwtKeyStoreLoader {
+
+    private static final char[]   PASSWORD = "changeit".toCharArray();
+
+    private static final String   STORE    = "/keys/keys.p12";
+
+    private static final Duration VALIDITY = Duration.ofHours(1);
+
+    @Mock
+    private Clock                 clock;
+
+    private Instant               ecCreation;
+
+    private Instant               edCreation;
+
+    private Path                  file;
+
+    @TempDir
+    private Path                  folder;
+
+    private final JjwtKeyStoreLoader load(final Duration delay) {
+        return new JjwtKeyStoreLoader(file, PASSWORD, delay, VALIDITY, clock);
+    }
+
+    @BeforeEach
+    void initialize() throws Exception {
+        final KeyStore store;
+
+        file = folder.resolve("keys.p12");
+        try (InputStream input = getClass().getResourceAsStream(STORE)) {
+            Files.copy(input, file, StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        store = read();
+        ecCreation = store.getCreationDate("ec")
+            .toInstant();
+        edCreation = store.getCreationDate("ed")
+            .toInstant();
+    }
+
+    private final KeyStore read() throws Exception {
+        final KeyStore store;
+
+        store = KeyStore.getInstance("PKCS12");
+        try (InputStream input = Files.newInputStream(file)) {
+            store.load(input, PASSWORD);
+        }
+
+        return store;
+    }
+
+    private final void setNow(final Instant now) {
+        Mockito.when(clock.instant())
+            .thenReturn(now);
+    }
+
+    @Test
+    @DisplayName("A key waiting for its activation is published, but doesn't sign")
+    void testGetKeyRing_activationDelay() {
+        final JjwtKeyRing ring;
+
+        setNow(ecCreation.plus(VALIDITY)
+            .plusMillis(500));
+
+        ring = load(VALIDITY).getKeyRing();
+
+        Assertions.assertThat(ring.getCurrentId())
+            .isEqualTo("ec");
+        Assertions.assertThat(ring.getIds())
+            .containsExactlyInAnyOrder("hmac", "ec", "ed");
+    }
+
+    @Test
+    @DisplayName("The newest key signs, and the older keys still verify")
+    void testGetKeyRing_newest() {
+        final JjwtKeyRing ring;
+
+        setNow(edCreation.plusSeconds(1));
+
+        ring = load(Duration.ZERO).getKeyRing();
+
+        Assertions.assertThat(ring.getCurrentId())
+            .isEqualTo("ed");
+        Assertions.assertThat(ring.getIds())
+            .containsExactlyInAnyOrder("hmac", "ec", "ed");
+        Assertions.assertThat(ring.getPublicKeys())
+            .extracting(jwk -> String.valueOf(jwk.get("kid")))
+            .containsExactlyInAnyOrder("ec", "ed");
+    }
+
+    @Test
+    @DisplayName("Keys are retired once the tokens they signed expire")
+    void testRefresh_retired() {
+        final JjwtKeyStoreLoader loader;
+
+        setNow(edCreation.plusSeconds(1));
+        loader = load(Duration.ZERO);
+
+        setNow(edCreation.plus(VALIDITY)
+            .plusSeconds(1));
+        loader.refresh();
+
+        Assertions.assertThat(loader.getKeyRing()
+            .getIds())
+            .containsExactly("ed");
+    }
+
+    @Test
+    @DisplayName("Keys added to the key store are loaded on refresh")
+    void testRefresh_added() throws Exception {
+        final JjwtKeyStoreLoader loader;
+        final KeyStore           store;
+        final KeyGenerator       generator;
+
+        setNow(edCreation.plusSeconds(1));
+        loader = load(Duration.ZERO);
+
+        generator = KeyGenerator.getInstance("HmacSHA256");
+        store = read();
+        store.setEntry("new", new KeyStore.SecretKeyEntry(generator.generateKey()),
+            new KeyStore.PasswordProtection(PASSWORD));
+        write(store);
+
+        setNow(Instant.now()
+            .plusSeconds(1));
+        loader.refresh();
+
+        Assertions.assertThat(loader.getKeyRing()
+            .getCurrentId())
+            .isEqualTo("new");
+    }
+
+    @Test
+    @DisplayName("If the key store can't be read on refresh, the keys are kept")
+    void testRefresh_broken() throws Exception {
+        final JjwtKeyStoreLoader loader;
+
+        setNow(edCreation.plusSeconds(1));
+        loader = load(Duration.ZERO);
+
+        Files.writeString(file, "broken");
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now()
+            .plusSeconds(10)));
+        loader.refresh();
+
+        Assertions.assertThat(loader.getKeyRing()
+            .getIds())
+            .containsExactlyInAnyOrder("hmac", "ec", "ed");
+    }
+
+    private final void write(final KeyStore store) throws Exception {
+        try (OutputStream output = Files.newOutputStream(file)) {
+            store.store(output, PASSWORD);
+        }
+        // The modification time may not change if the test is fast enough
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now()
+            .plusSeconds(10)));
+    }
+
+}
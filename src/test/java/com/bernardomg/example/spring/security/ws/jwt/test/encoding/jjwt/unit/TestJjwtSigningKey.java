@@ -0,0 +1,107 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.SigningAlgorithm;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtSigningKey;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+@DisplayName("JjwtSigningKey")
+class TestJjwtSigningKey {
+
+    private static final String SECRET = "1234567890123456789012345678901234567890123456789012345678901234567890";
+
+    private final JwtTokenData getData() {
+        return JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build();
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SigningAlgorithm.class, names = { "ES256", "EDDSA" })
+    @DisplayName("Asymmetric algorithms publish the public key only")
+    void testGetPublicKeys_asymmetric(final SigningAlgorithm algorithm) {
+        final JjwtSigningKey key;
+
+        key = JjwtSigningKey.of(algorithm, null);
+
+        Assertions.assertThat(key.getPublicKeys())
+            .singleElement()
+            .satisfies(jwk -> Assertions.assertThat(jwk)
+                .containsKeys("kty", "kid", "alg")
+                .doesNotContainKey("d"));
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SigningAlgorithm.class, names = { "HS256", "HS384", "HS512" })
+    @DisplayName("HMAC algorithms don't publish any key")
+    void testGetPublicKeys_hmac(final SigningAlgorithm algorithm) {
+        final JjwtSigningKey key;
+
+        key = JjwtSigningKey.of(algorithm, SECRET);
+
+        Assertions.assertThat(key.getPublicKeys())
+            .isEmpty();
+    }
+
+    @ParameterizedTest
+    @EnumSource(SigningAlgorithm.class)
+    @DisplayName("Tokens are verified with the same key which signed them")
+    void testVerify(final SigningAlgorithm algorithm) {
+        final JjwtSigningKey    key;
+        final String            token;
+        final TokenVerification verification;
+
+        key = JjwtSigningKey.of(algorithm, SECRET);
+
+        token = new JjwtTokenEncoder(key).encode(getData());
+        verification = new JjwtTokenDecoder(key).verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isTrue();
+        Assertions.assertThat(verification.data()
+            .subject())
+            .isEqualTo(TokenConstants.SUBJECT);
+    }
+
+    @Test
+    @DisplayName("Tokens signed with another algorithm are rejected, even if the key is the same")
+    void testVerify_otherAlgorithm() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = new JjwtTokenEncoder(JjwtSigningKey.of(SigningAlgorithm.HS256, SECRET)).encode(getData());
+        verification = new JjwtTokenDecoder(JjwtSigningKey.of(SigningAlgorithm.HS512, SECRET)).verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.UNSUPPORTED);
+    }
+
+    @Test
+    @DisplayName("Tokens signed with another key pair are rejected")
+    void testVerify_otherKeyPair() {
+        final String            token;
+        final TokenVerification verification;
+
+        token = new JjwtTokenEncoder(JjwtSigningKey.of(SigningAlgorithm.ES256, null)).encode(getData());
+        verification = new JjwtTokenDecoder(JjwtSigningKey.of(SigningAlgorithm.ES256, null)).verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.INVALID_SIGNATURE);
+    }
+
+}
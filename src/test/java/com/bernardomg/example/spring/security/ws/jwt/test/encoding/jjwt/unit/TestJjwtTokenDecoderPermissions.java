@@ -0,0 +1,92 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+@DisplayName("JjwtTokenDecoder - permissions")
+class TestJjwtTokenDecoderPermissions {
+
+    private final TokenDecoder decoder = new JjwtTokenDecoder(TokenConstants.KEY);
+
+    private final TokenEncoder encoder = new JjwtTokenEncoder(TokenConstants.KEY);
+
+    @Test
+    @DisplayName("Many permissions are compressed and decoded back")
+    void testDecode_compressed() {
+        final String             token;
+        final JwtTokenData       data;
+        final Collection<String> permissions;
+
+        permissions = IntStream.range(0, 100)
+            .mapToObj(i -> "DATA_" + i + ":READ")
+            .toList();
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withPermissions(permissions)
+            .build();
+
+        token = encoder.encode(data);
+
+        Assertions.assertThat(token)
+            .hasSizeLessThan(String.join(",", permissions)
+                .length());
+        Assertions.assertThat(decoder.decode(token)
+            .permissions())
+            .containsExactlyElementsOf(permissions);
+    }
+
+    @Test
+    @DisplayName("When there are no permissions, none are decoded")
+    void testDecode_noPermissions() {
+        final String       token;
+        final JwtTokenData data;
+        final JwtTokenData decoded;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build();
+
+        token = encoder.encode(data);
+        decoded = decoder.decode(token);
+
+        Assertions.assertThat(decoded.permissions())
+            .isNull();
+        Assertions.assertThat(decoded.version())
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("Few permissions are decoded back")
+    void testDecode_permissions() {
+        final String       token;
+        final JwtTokenData data;
+        final JwtTokenData decoded;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withPermissions(List.of("DATA:READ", "DATA:CREATE"))
+            .withVersion(3L)
+            .build();
+
+        token = encoder.encode(data);
+        decoded = decoder.decode(token);
+
+        Assertions.assertThat(decoded.permissions())
+            .containsExactly("DATA:READ", "DATA:CREATE");
+        Assertions.assertThat(decoded.version())
+            .isEqualTo(3L);
+    }
+
+}
@@ -0,0 +1,140 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenFailure;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.jsonwebtoken.security.Keys;
+
+@DisplayName("JjwtTokenDecoder - verify")
+class TestJjwtTokenDecoderVerify {
+
+    private final TokenDecoder decoder = new JjwtTokenDecoder(TokenConstants.KEY);
+
+    private final TokenEncoder encoder = new JjwtTokenEncoder(TokenConstants.KEY);
+
+    @Test
+    @DisplayName("An expired token is rejected as expired")
+    void testVerify_expired() {
+        final String            token;
+        final TokenVerification verification;
+        final JwtTokenData      data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withExpiration(Instant.now()
+                .plusSeconds(-1))
+            .build();
+
+        token = encoder.encode(data);
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isFalse();
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.EXPIRED);
+    }
+
+    @Test
+    @DisplayName("A token signed with another key is rejected as having an invalid signature")
+    void testVerify_invalidSignature() {
+        final String            token;
+        final TokenVerification verification;
+        final JwtTokenData      data;
+        final TokenEncoder      otherEncoder;
+
+        otherEncoder = new JjwtTokenEncoder(Keys.hmacShaKeyFor(
+            "abcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghijabcdefghij"
+                .getBytes(StandardCharsets.UTF_8)));
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .build();
+
+        token = otherEncoder.encode(data);
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.INVALID_SIGNATURE);
+    }
+
+    @Test
+    @DisplayName("A malformed token is rejected as malformed")
+    void testVerify_malformed() {
+        final TokenVerification verification;
+
+        verification = decoder.verify("abc");
+
+        Assertions.assertThat(verification.failure())
+            .isEqualTo(TokenFailure.MALFORMED);
+    }
+
+    @Test
+    @DisplayName("Only the requested claims are decoded")
+    void testVerify_selectedClaims() {
+        final String            token;
+        final TokenVerification verification;
+        final JwtTokenData      data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withIssuer("issuer")
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build();
+
+        token = encoder.encode(data);
+        verification = decoder.verify(token, EnumSet.of(TokenClaim.SUBJECT, TokenClaim.EXPIRATION));
+
+        Assertions.assertThat(verification.data()
+            .subject())
+            .isEqualTo(TokenConstants.SUBJECT);
+        Assertions.assertThat(verification.data()
+            .expiration())
+            .isNotNull();
+        Assertions.assertThat(verification.data()
+            .issuer())
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("A valid token returns its data")
+    void testVerify_valid() {
+        final String            token;
+        final TokenVerification verification;
+        final JwtTokenData      data;
+
+        data = JwtTokenData.builder()
+            .withSubject(TokenConstants.SUBJECT)
+            .withIssuer("issuer")
+            .build();
+
+        token = encoder.encode(data);
+        verification = decoder.verify(token);
+
+        Assertions.assertThat(verification.isValid())
+            .isTrue();
+        Assertions.assertThat(verification.data()
+            .subject())
+            .isEqualTo(TokenConstants.SUBJECT);
+        Assertions.assertThat(verification.data()
+            .issuer())
+            .isEqualTo("issuer");
+    }
+
+}
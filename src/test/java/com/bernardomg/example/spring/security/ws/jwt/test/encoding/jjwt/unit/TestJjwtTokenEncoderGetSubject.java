@@ -1,7 +1,7 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
 
 import org.assertj.core.api.Assertions;
 import org.assertj.core.api.ThrowableAssert.ThrowingCallable;
@@ -52,7 +52,7 @@ void testGetSubject_fromGeneratedToken_expired() throws InterruptedException {
 
         data = JwtTokenData.builder()
             .withSubject(TokenConstants.SUBJECT)
-            .withExpiration(LocalDateTime.now()
+            .withExpiration(Instant.now()
                 .plusSeconds(-1))
             .build();
 
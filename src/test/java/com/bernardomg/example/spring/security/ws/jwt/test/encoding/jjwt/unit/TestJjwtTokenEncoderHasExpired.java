@@ -1,7 +1,8 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.unit;
 
-import java.time.LocalDateTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.concurrent.TimeUnit;
 
 import org.assertj.core.api.Assertions;
@@ -36,7 +37,7 @@ void testHasExpired_fromGeneratedToken_expired() throws InterruptedException {
 
         data = JwtTokenData.builder()
             .withIssuer("issuer")
-            .withExpiration(LocalDateTime.now()
+            .withExpiration(Instant.now()
                 .plusSeconds(-1))
             .build();
 
@@ -78,8 +79,8 @@ void testHasExpired_notExpired() {
 
         data = JwtTokenData.builder()
             .withIssuer("issuer")
-            .withExpiration(LocalDateTime.now()
-                .plusMonths(1))
+            .withExpiration(Instant.now()
+                .plus(30, ChronoUnit.DAYS))
             .build();
 
         token = encoder.encode(data);
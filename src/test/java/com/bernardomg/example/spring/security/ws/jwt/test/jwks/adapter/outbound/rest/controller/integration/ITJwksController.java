@@ -0,0 +1,103 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.jwks.adapter.outbound.rest.controller.integration;
+
+import java.security.Key;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.Locator;
+import io.jsonwebtoken.ProtectedHeader;
+import io.jsonwebtoken.security.JwkSet;
+import io.jsonwebtoken.security.Jwks;
+
+@MvcIntegrationTest
+@TestPropertySource(properties = "security.jwt.algorithm=ES256")
+@DisplayName("JWKS controller")
+class ITJwksController {
+
+    private static final String ROUTE = "/.well-known/jwks.json";
+
+    @Autowired
+    private TokenEncoder        encoder;
+
+    @Autowired
+    private MockMvc             mockMvc;
+
+    @Test
+    @DisplayName("The public keys can be read without authentication, and cached")
+    void testGet() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isOk())
+            .andExpect(MockMvcResultMatchers.header()
+                .string(HttpHeaders.CACHE_CONTROL, "max-age=86400, public"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys.length()")
+                .value(1))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys[0].kty")
+                .value("EC"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys[0].alg")
+                .value("ES256"))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys[0].d")
+                .doesNotExist());
+    }
+
+    @Test
+    @DisplayName("Tokens can be verified with the published keys")
+    void testGet_verify() throws Exception {
+        final String          json;
+        final JwkSet          keys;
+        final String          token;
+        final Locator<Key>    locator;
+        final String          subject;
+
+        json = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE))
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+        keys = Jwks.setParser()
+            .build()
+            .parse(json);
+
+        token = encoder.encode(JwtTokenData.builder()
+            .withSubject("admin")
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build());
+
+        locator = header -> keys.getKeys()
+            .stream()
+            .filter(k -> k.getId()
+                .equals(((ProtectedHeader) header).getKeyId()))
+            .findFirst()
+            .orElseThrow()
+            .toKey();
+        subject = Jwts.parser()
+            .keyLocator(locator)
+            .build()
+            .parseSignedClaims(token)
+            .getPayload()
+            .getSubject();
+
+        Assertions.assertThat(subject)
+            .isEqualTo("admin");
+    }
+
+}
@@ -0,0 +1,78 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.jwks.adapter.outbound.rest.controller.integration;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+
+@MvcIntegrationTest
+@TestPropertySource(properties = { "security.jwt.keys.store=src/test/resources/keys/keys.p12",
+        "security.jwt.keys.password=changeit" })
+@DisplayName("JWKS controller - key store")
+class ITJwksControllerKeyStore {
+
+    private static final String ROUTE = "/.well-known/jwks.json";
+
+    @Autowired
+    private TokenDecoder        decoder;
+
+    @Autowired
+    private TokenEncoder        encoder;
+
+    @Autowired
+    private MockMvc             mockMvc;
+
+    @Test
+    @DisplayName("The public key for the newest key is published")
+    void testGet() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys[*].kid")
+                .value(Matchers.hasItem("ed")))
+            .andExpect(MockMvcResultMatchers.jsonPath("$.keys[*].kid")
+                .value(Matchers.not(Matchers.hasItem("hmac"))));
+    }
+
+    @Test
+    @DisplayName("Tokens are signed with the newest key")
+    void testEncode() {
+        final String token;
+        final String header;
+
+        token = encoder.encode(JwtTokenData.builder()
+            .withSubject("admin")
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build());
+
+        header = new String(Base64.getUrlDecoder()
+            .decode(token.substring(0, token.indexOf('.'))), StandardCharsets.UTF_8);
+
+        Assertions.assertThat(header)
+            .contains("\"kid\":\"ed\"");
+        Assertions.assertThat(decoder.verify(token)
+            .isValid())
+            .isTrue();
+    }
+
+}
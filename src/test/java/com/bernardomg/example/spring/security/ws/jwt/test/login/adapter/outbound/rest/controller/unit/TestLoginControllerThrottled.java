@@ -0,0 +1,66 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.login.adapter.outbound.rest.controller.unit;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.adapter.outbound.rest.controller.LoginController;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.TokenBucketLoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.LoginService;
+import com.bernardomg.example.spring.security.ws.jwt.ratelimit.KeyedRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginController - throttled")
+class TestLoginControllerThrottled {
+
+    private MockMvc      mockMvc;
+
+    @Mock
+    private LoginService service;
+
+    @BeforeEach
+    void initialize() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new LoginController(new TokenBucketLoginRateLimiter(
+            new KeyedRateLimiter(1, Duration.ofSeconds(10), 100), new KeyedRateLimiter(10, Duration.ofSeconds(1), 100),
+            new SimpleMeterRegistry()), service))
+            .build();
+    }
+
+    @Test
+    @DisplayName("A throttled login returns a 429 with the time to wait, without logging in")
+    void testLogin_throttled() throws Exception {
+        login().andExpect(MockMvcResultMatchers.status()
+            .isOk());
+
+        login().andExpect(MockMvcResultMatchers.status()
+            .isTooManyRequests())
+            .andExpect(MockMvcResultMatchers.header()
+                .string(HttpHeaders.RETRY_AFTER, "10"));
+
+        Mockito.verify(service, Mockito.times(1))
+            .login(ArgumentMatchers.any());
+    }
+
+    private final ResultActions login() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.post("/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"admin\",\"password\":\"1234\"}"));
+    }
+
+}
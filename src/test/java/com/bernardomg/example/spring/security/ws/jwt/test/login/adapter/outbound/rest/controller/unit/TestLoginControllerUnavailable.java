@@ -0,0 +1,53 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.login.adapter.outbound.rest.controller.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.adapter.outbound.rest.controller.LoginController;
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginUnavailableException;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.DisabledLoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.LoginService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoginController - unavailable")
+class TestLoginControllerUnavailable {
+
+    private MockMvc      mockMvc;
+
+    @Mock
+    private LoginService service;
+
+    @BeforeEach
+    void initialize() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new LoginController(new DisabledLoginRateLimiter(), service))
+            .build();
+    }
+
+    @Test
+    @DisplayName("A rejected login returns a 503 asking to retry later")
+    void testLogin_unavailable() throws Exception {
+        Mockito.when(service.login(ArgumentMatchers.any()))
+            .thenThrow(new LoginUnavailableException("Too many logins waiting", null));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/login")
+            .contentType(MediaType.APPLICATION_JSON)
+            .content("{\"username\":\"admin\",\"password\":\"1234\"}"))
+            .andExpect(MockMvcResultMatchers.status()
+                .isServiceUnavailable())
+            .andExpect(MockMvcResultMatchers.header()
+                .string(HttpHeaders.RETRY_AFTER, "1"));
+    }
+
+}
@@ -0,0 +1,101 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.login.integration.service;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.Credentials;
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.TokenLoginStatus;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.service.LoginService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.IntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.RoleEntity;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserEntity;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+@IntegrationTest
+@TestPropertySource(properties = "security.login.unknown-users.enabled=true")
+@DisplayName("Login service - unknown users")
+class ITLoginServiceUnknownUsers {
+
+    @Autowired
+    private EntityManager         entityManager;
+
+    @Autowired
+    private UnknownUsernameFilter filter;
+
+    @Autowired
+    private UserRepository        repository;
+
+    @Autowired
+    private LoginService          service;
+
+    public ITLoginServiceUnknownUsers() {
+        super();
+    }
+
+    @Test
+    @DisplayName("A user created after failing to log in logs in")
+    @Sql("/db/queries/security/default_role_unassigned.sql")
+    void testLogin_createdAfterMissing() {
+        final TokenLoginStatus status;
+        final UserEntity       user;
+
+        filter.markMissing("new");
+
+        user = new UserEntity();
+        user.setUsername("new");
+        user.setName("New");
+        user.setEmail("new@somewhere.com");
+        user.setPassword("$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW");
+        user.setEnabled(true);
+        user.setLocked(false);
+        user.setExpired(false);
+        user.setCredentialsExpired(false);
+        user.setRoles(List.of(entityManager.find(RoleEntity.class, 1L)));
+        entityManager.persist(user);
+        entityManager.flush();
+
+        status = service.login(new Credentials("new", "1234"));
+
+        Assertions.assertThat(status.logged())
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("A user missing from the filter doesn't log in")
+    @ValidUser
+    void testLogin_notInFilter() {
+        final TokenLoginStatus status;
+
+        filter.rebuild(List.of());
+
+        status = service.login(new Credentials("admin", "1234"));
+
+        Assertions.assertThat(status.logged())
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("A user logs in after rebuilding the filter")
+    @ValidUser
+    void testLogin_rebuilt() {
+        final TokenLoginStatus status;
+
+        filter.rebuild(repository.findAllUsernames());
+
+        status = service.login(new Credentials("admin", "1234"));
+
+        Assertions.assertThat(status.logged())
+            .isTrue();
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.login.springframework.usecase.service.unit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.model.Credentials;
+import com.bernardomg.example.spring.security.ws.jwt.login.springframework.usecase.service.SpringValidLoginPredicate;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SpringValidLoginPredicate - unknown users")
+class TestSpringValidLoginPredicateUnknownUsers {
+
+    private UnknownUsernameFilter  filter;
+
+    @Mock
+    private PasswordEncoder        passwordEncoder;
+
+    private Predicate<Credentials> predicate;
+
+    @Mock
+    private UserDetailsService     userDetailsService;
+
+    @BeforeEach
+    void initialize() {
+        filter = new UnknownUsernameFilter(List.of("admin"), 100, 0.01, 100, Duration.ofMinutes(1));
+        predicate = new SpringValidLoginPredicate(userDetailsService, passwordEncoder, null, filter);
+    }
+
+    @Test
+    @DisplayName("A username which passes the filter but doesn't exist is marked as missing")
+    void testTest_missing() {
+        final boolean valid;
+
+        Mockito.when(userDetailsService.loadUserByUsername("admin"))
+            .thenThrow(new UsernameNotFoundException("admin"));
+
+        valid = predicate.test(new Credentials("admin", "1234"));
+
+        Assertions.assertThat(valid)
+            .isFalse();
+        Assertions.assertThat(filter.isUnknown("admin"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("An unknown username is rejected without loading it")
+    void testTest_unknown() {
+        final boolean valid;
+
+        valid = predicate.test(new Credentials("abc", "1234"));
+
+        Assertions.assertThat(valid)
+            .isFalse();
+        Mockito.verify(userDetailsService, Mockito.never())
+            .loadUserByUsername(ArgumentMatchers.any());
+    }
+
+}
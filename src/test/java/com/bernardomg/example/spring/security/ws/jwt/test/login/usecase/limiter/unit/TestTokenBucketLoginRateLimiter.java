@@ -0,0 +1,77 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.login.usecase.limiter.unit;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginThrottledException;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.LoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.limiter.TokenBucketLoginRateLimiter;
+import com.bernardomg.example.spring.security.ws.jwt.ratelimit.KeyedRateLimiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("TokenBucketLoginRateLimiter")
+class TestTokenBucketLoginRateLimiter {
+
+    private final LoginRateLimiter limiter;
+
+    private final MeterRegistry    registry;
+
+    public TestTokenBucketLoginRateLimiter() {
+        super();
+
+        registry = new SimpleMeterRegistry();
+        limiter = new TokenBucketLoginRateLimiter(new KeyedRateLimiter(1, Duration.ofMinutes(1), 100),
+            new KeyedRateLimiter(2, Duration.ofMinutes(1), 100), registry);
+    }
+
+    private final double getThrottled(final String limit) {
+        return registry.get("security.login.throttled")
+            .tag("limit", limit)
+            .counter()
+            .count();
+    }
+
+    @Test
+    @DisplayName("Too many attempts from the same address are throttled")
+    void testCheck_address() {
+        limiter.check("admin", "127.0.0.1");
+        limiter.check("reader", "127.0.0.1");
+
+        Assertions.assertThatThrownBy(() -> limiter.check("other", "127.0.0.1"))
+            .isInstanceOf(LoginThrottledException.class)
+            .extracting("retryAfter", InstanceOfAssertFactories.DURATION)
+            .isPositive()
+            .isLessThanOrEqualTo(Duration.ofMinutes(1));
+        Assertions.assertThat(getThrottled("address"))
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("An attempt within the limits is allowed")
+    void testCheck_allowed() {
+        limiter.check("admin", "127.0.0.1");
+
+        Assertions.assertThat(getThrottled("username"))
+            .isZero();
+        Assertions.assertThat(getThrottled("address"))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Too many attempts for the same username are throttled, ignoring case")
+    void testCheck_username() {
+        limiter.check("admin", "127.0.0.1");
+
+        Assertions.assertThatThrownBy(() -> limiter.check("ADMIN", "127.0.0.2"))
+            .isInstanceOf(LoginThrottledException.class);
+        Assertions.assertThat(getThrottled("username"))
+            .isOne();
+    }
+
+}
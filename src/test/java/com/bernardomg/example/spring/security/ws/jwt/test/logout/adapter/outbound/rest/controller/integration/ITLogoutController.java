@@ -0,0 +1,80 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.logout.adapter.outbound.rest.controller.integration;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+
+@MvcIntegrationTest
+@DisplayName("Logout controller")
+class ITLogoutController {
+
+    @Autowired
+    private MockMvc                 mockMvc;
+
+    private final LoginTokenEncoder tokenEncoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(TokenConstants.KEY),
+        Duration.ofHours(1));
+
+    @Test
+    @DisplayName("Other tokens for the same user are still accepted after logging out")
+    @ValidUser
+    void testLogout_otherToken() throws Exception {
+        final String        token;
+        final ResultActions result;
+
+        token = tokenEncoder.encode("admin");
+        mockMvc.perform(MockMvcRequestBuilders.post("/logout")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenEncoder.encode("admin")));
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get("/person")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isOk());
+    }
+
+    @Test
+    @DisplayName("A token is rejected after logging out with it")
+    @ValidUser
+    void testLogout_revoked() throws Exception {
+        final String        token;
+        final ResultActions result;
+
+        token = tokenEncoder.encode("admin");
+        mockMvc.perform(MockMvcRequestBuilders.post("/logout")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+            .andExpect(MockMvcResultMatchers.status()
+                .isNoContent());
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get("/person")
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("Logging out requires a token")
+    void testLogout_unauthorized() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.post("/logout"));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isUnauthorized());
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.adapter.inbound.jpa.repository.integration;
+
+import java.util.Collection;
+import java.util.stream.Stream;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.repository.PersonRepository;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.IntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.user.adapter.inbound.jpa.model.UserEntity;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@IntegrationTest
+@DisplayName("JPA person repository")
+class ITJpaPersonRepository {
+
+    @Autowired
+    private EntityManager        entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PersonRepository     repository;
+
+    private Statistics           statistics;
+
+    @BeforeEach
+    void initialize() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Counts all the persons")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testCount() {
+        final long count;
+
+        count = repository.count();
+
+        Assertions.assertThat(count)
+            .isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("Returns the persons after the received id, sorted by username")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindPage_after() {
+        final Collection<Person> persons;
+
+        persons = repository.findPage("admin", 10);
+
+        Assertions.assertThat(persons)
+            .containsExactly(new Person("reader", "reader"), new Person("writer", "writer"));
+    }
+
+    @Test
+    @DisplayName("Returns the first persons, sorted by username")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindPage_first() {
+        final Collection<Person> persons;
+
+        persons = repository.findPage(null, 10);
+
+        Assertions.assertThat(persons)
+            .containsExactly(new Person("admin", "admin"), new Person("reader", "reader"),
+                new Person("writer", "writer"));
+    }
+
+    @Test
+    @DisplayName("Returns no more persons than the limit")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindPage_limit() {
+        final Collection<Person> persons;
+
+        persons = repository.findPage(null, 2);
+
+        Assertions.assertThat(persons)
+            .containsExactly(new Person("admin", "admin"), new Person("reader", "reader"));
+    }
+
+    @Test
+    @DisplayName("When there are no users, no person is returned")
+    void testFindPage_noData() {
+        final Collection<Person> persons;
+
+        persons = repository.findPage(null, 10);
+
+        Assertions.assertThat(persons)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Reads a page in a single statement, without loading entities")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindPage_statements() {
+        repository.findPage("admin", 10);
+
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+            .isOne();
+        Assertions.assertThat(statistics.getEntityLoadCount())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("The stamp changes when a user is removed")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindStamp_delete() {
+        final String before;
+        final String after;
+
+        before = repository.findStamp();
+        entityManager.remove(entityManager.find(UserEntity.class, 3L));
+        entityManager.flush();
+        after = repository.findStamp();
+
+        Assertions.assertThat(after)
+            .isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("When nothing changes, the stamp is kept")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindStamp_noChange() {
+        final String before;
+        final String after;
+
+        before = repository.findStamp();
+        after = repository.findStamp();
+
+        Assertions.assertThat(after)
+            .isEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("When there are no users, a stamp is returned")
+    void testFindStamp_noData() {
+        final String stamp;
+
+        stamp = repository.findStamp();
+
+        Assertions.assertThat(stamp)
+            .isEqualTo("0");
+    }
+
+    @Test
+    @DisplayName("The stamp changes when a user is updated")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindStamp_update() {
+        final String     before;
+        final String     after;
+        final UserEntity user;
+
+        before = repository.findStamp();
+        user = entityManager.find(UserEntity.class, 1L);
+        user.setName("changed");
+        entityManager.flush();
+        after = repository.findStamp();
+
+        Assertions.assertThat(after)
+            .isNotEqualTo(before);
+    }
+
+    @Test
+    @DisplayName("Several changes in a transaction increase the stamp once")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testFindStamp_updateSeveral() {
+        final long   before;
+        final long   after;
+        final String afterNextFlush;
+
+        before = Long.parseLong(repository.findStamp());
+        entityManager.find(UserEntity.class, 1L)
+            .setName("changed");
+        entityManager.find(UserEntity.class, 2L)
+            .setName("changed");
+        entityManager.flush();
+        after = Long.parseLong(repository.findStamp());
+        entityManager.find(UserEntity.class, 3L)
+            .setName("changed");
+        entityManager.flush();
+        afterNextFlush = repository.findStamp();
+
+        Assertions.assertThat(after)
+            .isEqualTo(before + 1);
+        Assertions.assertThat(afterNextFlush)
+            .isEqualTo(String.valueOf(after));
+    }
+
+    @Test
+    @DisplayName("Streams all the persons, sorted by username")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testStreamAll() {
+        final Collection<Person> persons;
+
+        try (final Stream<Person> stream = repository.streamAll()) {
+            persons = stream.toList();
+        }
+
+        Assertions.assertThat(persons)
+            .containsExactly(new Person("admin", "admin"), new Person("reader", "reader"),
+                new Person("writer", "writer"));
+    }
+
+    @Test
+    @DisplayName("Streams all the persons in a single statement, without loading entities")
+    @Sql({ "/db/queries/user/multiple_with_roles.sql" })
+    void testStreamAll_statements() {
+        try (final Stream<Person> stream = repository.streamAll()) {
+            stream.forEach(p -> {});
+        }
+
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+            .isOne();
+        Assertions.assertThat(statistics.getEntityLoadCount())
+            .isZero();
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.adapter.outbound.rest.controller.integration;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+
+@MvcIntegrationTest
+@DisplayName("Person controller - ETag")
+class ITPersonControllerEtag {
+
+    private static final String     ROUTE        = "/person";
+
+    @Autowired
+    private MockMvc                 mockMvc;
+
+    private final LoginTokenEncoder tokenEncoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(TokenConstants.KEY),
+        Duration.ofHours(1));
+
+    private final String getEtag(final String route) throws Exception {
+        return mockMvc.perform(getRequest(route, null))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+    }
+
+    private final RequestBuilder getRequest(final String route, final String etag) {
+        final String                        token;
+        final MockHttpServletRequestBuilder request;
+
+        token = tokenEncoder.encode("admin");
+
+        request = MockMvcRequestBuilders.get(route)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+        if (etag != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, etag);
+        }
+
+        return request;
+    }
+
+    @Test
+    @DisplayName("A page is returned with a weak ETag")
+    @ValidUser
+    void testGet_etag() throws Exception {
+        mockMvc.perform(getRequest(ROUTE, null))
+            .andExpect(MockMvcResultMatchers.status()
+                .isOk())
+            .andExpect(MockMvcResultMatchers.header()
+                .string(HttpHeaders.ETAG, Matchers.startsWith("W/\"")))
+            .andExpect(MockMvcResultMatchers.header()
+                .string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    @DisplayName("Each page size has its own ETag")
+    @ValidUser
+    void testGet_etagPerPage() throws Exception {
+        final String etag;
+        final String otherEtag;
+
+        etag = getEtag(ROUTE);
+        otherEtag = getEtag(ROUTE + "?size=1");
+
+        Assertions.assertThat(otherEtag)
+            .isNotEqualTo(etag);
+    }
+
+    @Test
+    @DisplayName("An outdated ETag returns the page")
+    @ValidUser
+    void testGet_modified() throws Exception {
+        mockMvc.perform(getRequest(ROUTE, "W/\"outdated\""))
+            .andExpect(MockMvcResultMatchers.status()
+                .isOk())
+            .andExpect(MockMvcResultMatchers.jsonPath("$.content.persons")
+                .isArray());
+    }
+
+    @Test
+    @DisplayName("The current ETag returns not modified, without a body")
+    @ValidUser
+    void testGet_notModified() throws Exception {
+        final String etag;
+
+        etag = getEtag(ROUTE);
+
+        mockMvc.perform(getRequest(ROUTE, etag))
+            .andExpect(MockMvcResultMatchers.status()
+                .isNotModified())
+            .andExpect(MockMvcResultMatchers.content()
+                .string(""));
+    }
+
+}
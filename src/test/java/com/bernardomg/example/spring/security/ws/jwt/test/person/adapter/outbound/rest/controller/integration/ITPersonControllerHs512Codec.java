@@ -0,0 +1,56 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.adapter.outbound.rest.controller.integration;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.hs512.Hs512TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+
+@MvcIntegrationTest
+@TestPropertySource(properties = "security.jwt.codec=hs512")
+@DisplayName("Person controller - HS512 codec")
+class ITPersonControllerHs512Codec {
+
+    private static final String     ROUTE        = "/person";
+
+    @Autowired
+    private TokenDecoder            decoder;
+
+    @Autowired
+    private MockMvc                 mockMvc;
+
+    private final LoginTokenEncoder tokenEncoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(TokenConstants.KEY),
+        Duration.ofHours(1));
+
+    @Test
+    @DisplayName("A request with a JJWT token is authorized by the HS512 codec")
+    @ValidUser
+    void testGet_authorized() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE)
+            .header(HttpHeaders.AUTHORIZATION, "Bearer " + tokenEncoder.encode("admin")));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isOk());
+        Assertions.assertThat(decoder)
+            .isInstanceOf(Hs512TokenDecoder.class);
+    }
+
+}
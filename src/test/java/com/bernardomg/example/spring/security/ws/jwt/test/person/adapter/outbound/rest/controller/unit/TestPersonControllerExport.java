@@ -0,0 +1,98 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.adapter.outbound.rest.controller.unit;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.adapter.outbound.rest.controller.PersonController;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.PersonService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PersonController - export")
+class TestPersonControllerExport {
+
+    private PersonController controller;
+
+    @Mock
+    private PersonService    service;
+
+    @BeforeEach
+    void initialize() {
+        controller = new PersonController(new ObjectMapper(), service);
+    }
+
+    @Test
+    @DisplayName("The export is sent as NDJSON")
+    void testExport_contentType() {
+        final ResponseEntity<StreamingResponseBody> response;
+
+        response = controller.export();
+
+        Assertions.assertThat(response.getHeaders()
+            .getContentType())
+            .isEqualTo(MediaType.APPLICATION_NDJSON);
+    }
+
+    @Test
+    @DisplayName("When there are no persons, nothing is written")
+    void testExport_noData() throws IOException {
+        final ByteArrayOutputStream output;
+
+        output = new ByteArrayOutputStream();
+
+        controller.export()
+            .getBody()
+            .writeTo(output);
+
+        Assertions.assertThat(output.toString(StandardCharsets.UTF_8))
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Each person is written in its own line")
+    @SuppressWarnings("unchecked")
+    void testExport_persons() throws IOException {
+        final ByteArrayOutputStream output;
+
+        Mockito.doAnswer(invocation -> {
+            final Consumer<Person> consumer;
+
+            consumer = invocation.getArgument(0);
+            consumer.accept(new Person("admin", "Admin"));
+            consumer.accept(new Person("reader", "Reader"));
+            return null;
+        })
+            .when(service)
+            .exportAll(ArgumentMatchers.any(Consumer.class));
+
+        output = new ByteArrayOutputStream();
+
+        controller.export()
+            .getBody()
+            .writeTo(output);
+
+        Assertions.assertThat(output.toString(StandardCharsets.UTF_8))
+            .isEqualTo("""
+                    {"id":"admin","name":"Admin"}
+                    {"id":"reader","name":"Reader"}
+                    """);
+    }
+
+}
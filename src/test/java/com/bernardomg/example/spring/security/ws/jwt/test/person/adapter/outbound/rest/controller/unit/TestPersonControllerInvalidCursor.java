@@ -0,0 +1,49 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.adapter.outbound.rest.controller.unit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.adapter.outbound.rest.controller.PersonController;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.exception.InvalidCursorException;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.PersonService;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PersonController - invalid cursor")
+class TestPersonControllerInvalidCursor {
+
+    private MockMvc       mockMvc;
+
+    @Mock
+    private PersonService service;
+
+    @BeforeEach
+    void initialize() {
+        mockMvc = MockMvcBuilders.standaloneSetup(new PersonController(new ObjectMapper(), service))
+            .build();
+    }
+
+    @Test
+    @DisplayName("A cursor which can't be decoded returns a 400")
+    void testReadAll_invalidCursor() throws Exception {
+        Mockito.when(service.getAll(ArgumentMatchers.any(), ArgumentMatchers.any()))
+            .thenThrow(new InvalidCursorException("Invalid cursor %%%", null));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/person")
+            .param("cursor", "%%%"))
+            .andExpect(MockMvcResultMatchers.status()
+                .isBadRequest());
+    }
+
+}
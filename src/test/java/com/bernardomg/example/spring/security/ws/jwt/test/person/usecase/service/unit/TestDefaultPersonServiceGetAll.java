@@ -0,0 +1,108 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.person.usecase.service.unit;
+
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.exception.InvalidCursorException;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.Person;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonCursor;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.model.PersonPage;
+import com.bernardomg.example.spring.security.ws.jwt.person.domain.repository.PersonRepository;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.DefaultPersonService;
+import com.bernardomg.example.spring.security.ws.jwt.person.usecase.service.PersonService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("DefaultPersonService - get all")
+class TestDefaultPersonServiceGetAll {
+
+    @Mock
+    private PersonRepository personRepository;
+
+    private PersonService    service;
+
+    @BeforeEach
+    void initialize() {
+        service = new DefaultPersonService(personRepository, 2, 3);
+    }
+
+    @Test
+    @DisplayName("The cursor reads the persons after the last one in the previous page")
+    void testGetAll_cursor() {
+        final String cursor;
+
+        cursor = PersonCursor.encode(new Person("reader", "reader"));
+
+        service.getAll(cursor, null);
+
+        Mockito.verify(personRepository)
+            .findPage("reader", 3);
+    }
+
+    @Test
+    @DisplayName("With no size, the default size is used")
+    void testGetAll_defaultSize() {
+        service.getAll(null, null);
+
+        Mockito.verify(personRepository)
+            .findPage(null, 3);
+    }
+
+    @Test
+    @DisplayName("An invalid cursor is rejected")
+    void testGetAll_invalidCursor() {
+        Assertions.assertThatThrownBy(() -> service.getAll("%%%", null))
+            .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    @DisplayName("The last page has no cursor")
+    void testGetAll_lastPage() {
+        final PersonPage page;
+
+        Mockito.when(personRepository.findPage(null, 3))
+            .thenReturn(List.of(new Person("admin", "admin"), new Person("reader", "reader")));
+
+        page = service.getAll(null, null);
+
+        Assertions.assertThat(page.persons())
+            .containsExactly(new Person("admin", "admin"), new Person("reader", "reader"));
+        Assertions.assertThat(page.next())
+            .isNull();
+    }
+
+    @Test
+    @DisplayName("The size is capped to the maximum")
+    void testGetAll_maxSize() {
+        service.getAll(null, 1000);
+
+        Mockito.verify(personRepository)
+            .findPage(ArgumentMatchers.isNull(), ArgumentMatchers.eq(4));
+    }
+
+    @Test
+    @DisplayName("When there are more persons, a cursor to the last one is returned")
+    void testGetAll_nextPage() {
+        final PersonPage page;
+
+        Mockito.when(personRepository.findPage(null, 3))
+            .thenReturn(List.of(new Person("admin", "admin"), new Person("reader", "reader"),
+                new Person("writer", "writer")));
+
+        page = service.getAll(null, null);
+
+        Assertions.assertThat(page.persons())
+            .containsExactly(new Person("admin", "admin"), new Person("reader", "reader"));
+        Assertions.assertThat(PersonCursor.decode(page.next()))
+            .isEqualTo("reader");
+    }
+
+}
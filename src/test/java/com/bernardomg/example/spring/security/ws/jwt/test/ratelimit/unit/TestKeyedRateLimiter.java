@@ -0,0 +1,98 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.ratelimit.unit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.ratelimit.KeyedRateLimiter;
+
+@DisplayName("KeyedRateLimiter")
+class TestKeyedRateLimiter {
+
+    private static final long      INTERVAL = Duration.ofSeconds(1)
+        .toNanos();
+
+    private final AtomicLong       now      = new AtomicLong(1_000_000_000_000L);
+
+    private final KeyedRateLimiter limiter  = new KeyedRateLimiter(3, Duration.ofSeconds(1), 100, now::get);
+
+    @Test
+    @DisplayName("Acquires up to the capacity at once")
+    void testTryAcquire_burst() {
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isZero();
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isZero();
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Once empty, it waits until a token is added")
+    void testTryAcquire_empty() {
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isEqualTo(INTERVAL);
+    }
+
+    @Test
+    @DisplayName("Each key has its own bucket")
+    void testTryAcquire_otherKey() {
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        Assertions.assertThat(limiter.tryAcquire("other"))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Tokens are added after the refill interval")
+    void testTryAcquire_refill() {
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        now.addAndGet(INTERVAL);
+
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isZero();
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isPositive();
+    }
+
+    @Test
+    @DisplayName("Rejected attempts don't take tokens")
+    void testTryAcquire_rejectedNotCounted() {
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        now.addAndGet(INTERVAL);
+
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("A bucket doesn't hold more tokens than its capacity")
+    void testTryAcquire_capacity() {
+        now.addAndGet(INTERVAL * 10);
+
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+        limiter.tryAcquire("key");
+
+        Assertions.assertThat(limiter.tryAcquire("key"))
+            .isPositive();
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.revocation.unit;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bernardomg.example.spring.security.ws.jwt.revocation.InMemoryTokenDenylist;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryTokenDenylist")
+class TestInMemoryTokenDenylist {
+
+    private static final Instant  NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private Clock                 clock;
+
+    private InMemoryTokenDenylist denylist;
+
+    @BeforeEach
+    void initialize() {
+        denylist = new InMemoryTokenDenylist(clock);
+    }
+
+    private final void setNow(final Instant now) {
+        Mockito.when(clock.instant())
+            .thenReturn(now);
+    }
+
+    @Test
+    @DisplayName("A token without id is not revoked")
+    void testIsRevoked_noId() {
+        Assertions.assertThat(denylist.isRevoked(null))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("A token not revoked is accepted")
+    void testIsRevoked_notRevoked() {
+        setNow(NOW);
+
+        denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+
+        Assertions.assertThat(denylist.isRevoked("other"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("A revoked token is rejected")
+    void testIsRevoked_revoked() {
+        setNow(NOW);
+
+        denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+
+        Assertions.assertThat(denylist.isRevoked("id"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Pruning removes the expired tokens")
+    void testPrune_expired() {
+        setNow(NOW);
+        denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+        denylist.revoke("other", NOW.plus(2, ChronoUnit.HOURS));
+
+        setNow(NOW.plus(1, ChronoUnit.HOURS));
+        denylist.prune();
+
+        Assertions.assertThat(denylist.isRevoked("id"))
+            .isFalse();
+        Assertions.assertThat(denylist.isRevoked("other"))
+            .isTrue();
+        Assertions.assertThat(denylist.size())
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("Pruning keeps the tokens not yet expired")
+    void testPrune_notExpired() {
+        setNow(NOW);
+        denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+
+        denylist.prune();
+
+        Assertions.assertThat(denylist.isRevoked("id"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("An expired token is not stored")
+    void testRevoke_expired() {
+        setNow(NOW);
+
+        denylist.revoke("id", NOW.minus(1, ChronoUnit.SECONDS));
+
+        Assertions.assertThat(denylist.size())
+            .isZero();
+    }
+
+}
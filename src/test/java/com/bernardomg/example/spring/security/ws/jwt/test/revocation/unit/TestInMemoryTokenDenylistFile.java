@@ -0,0 +1,173 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.revocation.unit;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bernardomg.example.spring.security.ws.jwt.revocation.InMemoryTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.MappedDenylistFile;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InMemoryTokenDenylist - file")
+class TestInMemoryTokenDenylistFile {
+
+    private static final Instant NOW = Instant.parse("2025-01-01T10:00:00Z");
+
+    @Mock
+    private Clock                clock;
+
+    private Path                 file;
+
+    @TempDir
+    private Path                 folder;
+
+    @BeforeEach
+    void initialize() {
+        file = folder.resolve("denylist.bin");
+    }
+
+    private final InMemoryTokenDenylist open(final int size) {
+        return new InMemoryTokenDenylist(clock, new MappedDenylistFile(file, size));
+    }
+
+    private final void setNow(final Instant now) {
+        Mockito.when(clock.instant())
+            .thenReturn(now);
+    }
+
+    @Test
+    @DisplayName("A file which is not a denylist is rejected")
+    void testOpen_invalidFile() throws Exception {
+        Files.writeString(file, "not a denylist");
+
+        Assertions.assertThatThrownBy(() -> open(1024))
+            .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("Expired tokens are not loaded after a restart")
+    void testRevoke_expiredAfterRestart() {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+            denylist.revoke("other", NOW.plus(2, ChronoUnit.HOURS));
+        }
+
+        setNow(NOW.plus(1, ChronoUnit.HOURS));
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            Assertions.assertThat(denylist.isRevoked("id"))
+                .isFalse();
+            Assertions.assertThat(denylist.isRevoked("other"))
+                .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("The file grows when full")
+    void testRevoke_grow() {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(64)) {
+            for (int i = 0; i < 100; i++) {
+                denylist.revoke("id" + i, NOW.plus(1, ChronoUnit.HOURS));
+            }
+        }
+
+        try (InMemoryTokenDenylist denylist = open(64)) {
+            Assertions.assertThat(denylist.size())
+                .isEqualTo(100);
+        }
+    }
+
+    @Test
+    @DisplayName("Pruned tokens are removed from the file")
+    void testRevoke_pruned() {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+            denylist.revoke("other", NOW.plus(2, ChronoUnit.HOURS));
+
+            setNow(NOW.plus(1, ChronoUnit.HOURS));
+            denylist.prune();
+        }
+
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            Assertions.assertThat(denylist.isRevoked("id"))
+                .isFalse();
+            Assertions.assertThat(denylist.isRevoked("other"))
+                .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("When pruning fails, the file keeps all the tokens")
+    void testRevoke_prunedFailure() throws Exception {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+            denylist.revoke("other", NOW.plus(2, ChronoUnit.HOURS));
+
+            // The rewritten file can't be created
+            Files.createDirectory(folder.resolve("denylist.bin.tmp"));
+            setNow(NOW.plus(1, ChronoUnit.HOURS));
+            Assertions.assertThatThrownBy(denylist::prune)
+                .isInstanceOf(UncheckedIOException.class);
+        }
+
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            Assertions.assertThat(denylist.isRevoked("id"))
+                .isTrue();
+            Assertions.assertThat(denylist.isRevoked("other"))
+                .isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Tokens revoked after pruning are kept after a restart")
+    void testRevoke_revokedAfterPruning() {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+
+            setNow(NOW.plus(1, ChronoUnit.HOURS));
+            denylist.prune();
+            denylist.revoke("other", NOW.plus(2, ChronoUnit.HOURS));
+        }
+
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            Assertions.assertThat(denylist.isRevoked("other"))
+                .isTrue();
+        }
+        Assertions.assertThat(folder.resolve("denylist.bin.tmp"))
+            .doesNotExist();
+    }
+
+    @Test
+    @DisplayName("Revoked tokens are kept after a restart")
+    void testRevoke_restart() {
+        setNow(NOW);
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            denylist.revoke("id", NOW.plus(1, ChronoUnit.HOURS));
+        }
+
+        try (InMemoryTokenDenylist denylist = open(1024)) {
+            Assertions.assertThat(denylist.isRevoked("id"))
+                .isTrue();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.actuate.integration;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+
+@MvcIntegrationTest
+@AutoConfigureObservability
+@DisplayName("Prometheus endpoint - security")
+class ITPrometheusEndpointSecurity {
+
+    private static final String ROUTE = "/actuator/prometheus";
+
+    @Autowired
+    private MockMvc             mockMvc;
+
+    @Test
+    @DisplayName("The metrics can be scraped from the same host")
+    void testGet_localhost() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE)
+            .with(request -> {
+                request.setRemoteAddr("127.0.0.1");
+                return request;
+            }));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isOk())
+            .andExpect(MockMvcResultMatchers.content()
+                .string(Matchers.containsString("security_token_rejections_total")));
+    }
+
+    @Test
+    @DisplayName("The metrics can't be scraped from another host")
+    void testGet_remote() throws Exception {
+        final ResultActions result;
+
+        result = mockMvc.perform(MockMvcRequestBuilders.get(ROUTE)
+            .with(request -> {
+                request.setRemoteAddr("10.0.0.1");
+                return request;
+            }));
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isUnauthorized());
+    }
+
+}
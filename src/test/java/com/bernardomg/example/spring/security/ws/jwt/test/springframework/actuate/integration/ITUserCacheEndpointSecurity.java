@@ -0,0 +1,81 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.actuate.integration;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.JwtLoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.login.usecase.encoder.LoginTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.MvcIntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+
+@MvcIntegrationTest
+@TestPropertySource(properties = "security.user.cache.enabled=true")
+@DisplayName("User cache endpoint - security")
+class ITUserCacheEndpointSecurity {
+
+    private static final String     ROUTE        = "/actuator/usercache";
+
+    @Autowired
+    private MockMvc                 mockMvc;
+
+    private final LoginTokenEncoder tokenEncoder = new JwtLoginTokenEncoder(new JjwtTokenEncoder(TokenConstants.KEY),
+        Duration.ofHours(1));
+
+    private final ResultActions evict(final String address, final boolean authenticated) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.delete(ROUTE)
+            .with(request -> {
+                request.setRemoteAddr(address);
+                if (authenticated) {
+                    request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + tokenEncoder.encode("admin"));
+                }
+                return request;
+            }));
+    }
+
+    @Test
+    @DisplayName("The users can be evicted from the same host")
+    @ValidUser
+    void testDelete_localhost() throws Exception {
+        final ResultActions result;
+
+        result = evict("127.0.0.1", true);
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .is2xxSuccessful());
+    }
+
+    @Test
+    @DisplayName("The users can't be evicted from the same host without authentication")
+    void testDelete_localhostNotAuthenticated() throws Exception {
+        final ResultActions result;
+
+        result = evict("127.0.0.1", false);
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isUnauthorized());
+    }
+
+    @Test
+    @DisplayName("The users can't be evicted from another host")
+    @ValidUser
+    void testDelete_remote() throws Exception {
+        final ResultActions result;
+
+        result = evict("10.0.0.1", true);
+
+        result.andExpect(MockMvcResultMatchers.status()
+            .isForbidden());
+    }
+
+}
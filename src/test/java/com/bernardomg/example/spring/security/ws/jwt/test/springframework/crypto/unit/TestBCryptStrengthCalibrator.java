@@ -0,0 +1,36 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.crypto.unit;
+
+import java.time.Duration;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.BCryptStrengthCalibrator;
+
+@DisplayName("BCryptStrengthCalibrator")
+class TestBCryptStrengthCalibrator {
+
+    @Test
+    @DisplayName("When all the strengths are within the target, the maximum is chosen")
+    void testCalibrate_allWithinTarget() {
+        final int strength;
+
+        strength = BCryptStrengthCalibrator.calibrate(Duration.ofMinutes(1), 4, 6);
+
+        Assertions.assertThat(strength)
+            .isEqualTo(6);
+    }
+
+    @Test
+    @DisplayName("When no strength is within the target, the minimum is chosen")
+    void testCalibrate_noneWithinTarget() {
+        final int strength;
+
+        strength = BCryptStrengthCalibrator.calibrate(Duration.ZERO, 4, 6);
+
+        Assertions.assertThat(strength)
+            .isEqualTo(4);
+    }
+
+}
@@ -0,0 +1,137 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.crypto.unit;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bernardomg.example.spring.security.ws.jwt.login.domain.exception.LoginUnavailableException;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.BulkheadPasswordEncoder;
+
+@DisplayName("BulkheadPasswordEncoder")
+class TestBulkheadPasswordEncoder {
+
+    private final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(1));
+
+    private final CountDownLatch     release  = new CountDownLatch(1);
+
+    private final PasswordEncoder getEncoder(final PasswordEncoder wrapped) {
+        return new BulkheadPasswordEncoder(wrapped, executor);
+    }
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("An exception thrown by the wrapped encoder is received as is")
+    void testMatches_exception() {
+        final PasswordEncoder encoder;
+
+        encoder = getEncoder(new StubPasswordEncoder() {
+
+            @Override
+            public final boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+                throw new IllegalArgumentException("error");
+            }
+
+        });
+
+        Assertions.assertThatThrownBy(() -> encoder.matches("1234", "1234"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("When the executor is full, the match is rejected")
+    void testMatches_full() throws InterruptedException {
+        final PasswordEncoder encoder;
+        final PasswordEncoder blocked;
+        final CountDownLatch  started;
+
+        started = new CountDownLatch(1);
+        blocked = getEncoder(new StubPasswordEncoder() {
+
+            @Override
+            public final boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    Thread.currentThread()
+                        .interrupt();
+                }
+                return true;
+            }
+
+        });
+        encoder = getEncoder(new StubPasswordEncoder());
+
+        // Takes the only thread, and then the only queue slot
+        new Thread(() -> blocked.matches("1234", "1234")).start();
+        started.await();
+        new Thread(() -> blocked.matches("1234", "1234")).start();
+        while (executor.getQueue()
+            .isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        Assertions.assertThatThrownBy(() -> encoder.matches("1234", "1234"))
+            .isInstanceOf(LoginUnavailableException.class);
+    }
+
+    @Test
+    @DisplayName("A password which doesn't match is rejected")
+    void testMatches_notMatching() {
+        final PasswordEncoder encoder;
+
+        encoder = getEncoder(new StubPasswordEncoder());
+
+        Assertions.assertThat(encoder.matches("1234", "abc"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("Passwords are matched on the executor")
+    void testMatches_runsOnExecutor() {
+        final PasswordEncoder encoder;
+        final Thread          caller;
+
+        caller = Thread.currentThread();
+        encoder = getEncoder(new StubPasswordEncoder() {
+
+            @Override
+            public final boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+                return Thread.currentThread() != caller;
+            }
+
+        });
+
+        Assertions.assertThat(encoder.matches("1234", "1234"))
+            .isTrue();
+    }
+
+    private static class StubPasswordEncoder implements PasswordEncoder {
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return rawPassword.toString()
+                .equals(encodedPassword);
+        }
+
+    }
+
+}
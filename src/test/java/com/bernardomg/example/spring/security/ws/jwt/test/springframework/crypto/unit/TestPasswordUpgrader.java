@@ -0,0 +1,84 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.crypto.unit;
+
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.crypto.PasswordUpgrader;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PasswordUpgrader")
+class TestPasswordUpgrader {
+
+    private static final String        PASSWORD = "1234";
+
+    private final PasswordEncoder      encoder  = new BCryptPasswordEncoder(5);
+
+    @Mock
+    private UserDetailsPasswordService passwordService;
+
+    private final UserDetails getUser(final String password) {
+        return new User("admin", password, List.of(new SimpleGrantedAuthority("DATA:READ")));
+    }
+
+    @Test
+    @DisplayName("A password with the current encoding is not stored again")
+    void testUpgrade_current() {
+        final PasswordUpgrader upgrader;
+
+        upgrader = new PasswordUpgrader(encoder, passwordService, Runnable::run);
+
+        upgrader.upgrade(getUser(encoder.encode(PASSWORD)), PASSWORD);
+
+        Mockito.verifyNoInteractions(passwordService);
+    }
+
+    @Test
+    @DisplayName("A password with an outdated encoding is stored again with the current one")
+    void testUpgrade_outdated() {
+        final PasswordUpgrader       upgrader;
+        final ArgumentCaptor<String> captor;
+
+        upgrader = new PasswordUpgrader(encoder, passwordService, Runnable::run);
+        captor = ArgumentCaptor.forClass(String.class);
+
+        upgrader.upgrade(getUser(new BCryptPasswordEncoder(4).encode(PASSWORD)), PASSWORD);
+
+        Mockito.verify(passwordService)
+            .updatePassword(ArgumentMatchers.any(), captor.capture());
+        Assertions.assertThat(captor.getValue())
+            .startsWith("$2a$05$");
+        Assertions.assertThat(encoder.matches(PASSWORD, captor.getValue()))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("When the executor rejects the upgrade, the password is kept")
+    void testUpgrade_rejected() {
+        final PasswordUpgrader upgrader;
+
+        upgrader = new PasswordUpgrader(encoder, passwordService, task -> {
+            throw new RejectedExecutionException();
+        });
+
+        upgrader.upgrade(getUser(new BCryptPasswordEncoder(4).encode(PASSWORD)), PASSWORD);
+
+        Mockito.verifyNoInteractions(passwordService);
+    }
+
+}
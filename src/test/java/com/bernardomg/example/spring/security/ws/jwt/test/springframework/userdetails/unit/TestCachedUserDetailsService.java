@@ -0,0 +1,169 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.userdetails.unit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.CachedUserDetailsService;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CachedUserDetailsService")
+class TestCachedUserDetailsService {
+
+    @Mock
+    private UserDetailsService       delegate;
+
+    private CachedUserDetailsService service;
+
+    @BeforeEach
+    void initialize() {
+        service = new CachedUserDetailsService(delegate, 100, Duration.ofMinutes(1), null);
+    }
+
+    @Test
+    @DisplayName("A cached user is not loaded again")
+    void testLoad_cached() {
+        Mockito.when(delegate.loadUserByUsername("admin"))
+            .thenReturn(getUser());
+
+        service.loadUserByUsername("admin");
+        service.loadUserByUsername("ADMIN");
+
+        Mockito.verify(delegate, Mockito.times(1))
+            .loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("Erasing the credentials of a returned user doesn't change the cached one")
+    void testLoad_erasedCredentials() {
+        final UserDetails user;
+
+        Mockito.when(delegate.loadUserByUsername("admin"))
+            .thenReturn(getUser());
+
+        ((User) service.loadUserByUsername("admin")).eraseCredentials();
+        user = service.loadUserByUsername("admin");
+
+        Assertions.assertThat(user.getPassword())
+            .isEqualTo("password");
+    }
+
+    @Test
+    @DisplayName("An evicted user is loaded again")
+    void testLoad_evicted() {
+        Mockito.when(delegate.loadUserByUsername("admin"))
+            .thenReturn(getUser());
+
+        service.loadUserByUsername("admin");
+        service.evict("admin");
+        service.loadUserByUsername("admin");
+
+        Mockito.verify(delegate, Mockito.times(2))
+            .loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("The user is evicted with another case, whatever the default locale")
+    void testLoad_evictedLocale() {
+        final Locale locale;
+
+        locale = Locale.getDefault();
+        Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+        try {
+            Mockito.when(delegate.loadUserByUsername("admin"))
+                .thenReturn(getUser());
+
+            service.loadUserByUsername("ADMIN");
+            service.evict("admin");
+            service.loadUserByUsername("ADMIN");
+        } finally {
+            Locale.setDefault(locale);
+        }
+
+        Mockito.verify(delegate, Mockito.times(2))
+            .loadUserByUsername("admin");
+    }
+
+    @Test
+    @DisplayName("A not existing user is not cached")
+    void testLoad_notExisting() {
+        Mockito.when(delegate.loadUserByUsername("abc"))
+            .thenThrow(new UsernameNotFoundException("abc"));
+
+        Assertions.assertThatThrownBy(() -> service.loadUserByUsername("abc"))
+            .isInstanceOf(UsernameNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> service.loadUserByUsername("abc"))
+            .isInstanceOf(UsernameNotFoundException.class);
+
+        Mockito.verify(delegate, Mockito.times(2))
+            .loadUserByUsername("abc");
+    }
+
+    @Test
+    @DisplayName("Preloaded users are not loaded again")
+    void testPreload() {
+        Mockito.when(delegate.loadUserByUsername("admin"))
+            .thenReturn(getUser());
+        Mockito.when(delegate.loadUserByUsername("abc"))
+            .thenThrow(new UsernameNotFoundException("abc"));
+
+        service.preload(List.of("admin", "abc"));
+        service.loadUserByUsername("admin");
+
+        Mockito.verify(delegate, Mockito.times(1))
+            .loadUserByUsername("admin");
+        Assertions.assertThat(service.getCache()
+            .estimatedSize())
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("Updating a password evicts the user")
+    void testUpdatePassword() {
+        final UserDetailsService passwordDelegate;
+
+        passwordDelegate = Mockito.mock(UserDetailsService.class,
+            Mockito.withSettings()
+                .extraInterfaces(UserDetailsPasswordService.class));
+        service = new CachedUserDetailsService(passwordDelegate, 100, Duration.ofMinutes(1), null);
+        Mockito.when(passwordDelegate.loadUserByUsername("admin"))
+            .thenReturn(getUser());
+
+        service.loadUserByUsername("admin");
+        service.updatePassword(getUser(), "new");
+
+        Mockito.verify((UserDetailsPasswordService) passwordDelegate)
+            .updatePassword(ArgumentMatchers.any(), ArgumentMatchers.eq("new"));
+        Assertions.assertThat(service.getCache()
+            .estimatedSize())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("Updating a password fails if the wrapped service can't update them")
+    void testUpdatePassword_notSupported() {
+        Assertions.assertThatThrownBy(() -> service.updatePassword(getUser(), "new"))
+            .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    private final UserDetails getUser() {
+        return new User("admin", "password", List.of(new SimpleGrantedAuthority("DATA:READ")));
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.userdetails.unit;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ClaimsTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.TokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UserVersionChecker;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ClaimsTokenUserDetailsLoader")
+class TestClaimsTokenUserDetailsLoader {
+
+    @Mock
+    private TokenUserDetailsLoader fallback;
+
+    private TokenUserDetailsLoader loader;
+
+    @Mock
+    private UserRepository         userRepository;
+
+    @BeforeEach
+    void initialize() {
+        loader = new ClaimsTokenUserDetailsLoader(new UserVersionChecker(userRepository, 10, Duration.ofMinutes(1)),
+            fallback);
+    }
+
+    @Test
+    @DisplayName("The version is read only once")
+    void testLoad_cachedVersion() {
+        final JwtTokenData data;
+
+        data = JwtTokenData.builder()
+            .withSubject("admin")
+            .withPermissions(List.of("DATA:READ"))
+            .withVersion(1L)
+            .build();
+
+        Mockito.when(userRepository.findVersion("admin"))
+            .thenReturn(Optional.of(1L));
+
+        loader.load(data);
+        loader.load(data);
+
+        Mockito.verify(userRepository, Mockito.times(1))
+            .findVersion("admin");
+    }
+
+    @Test
+    @DisplayName("A token without permissions is sent to the fallback loader")
+    void testLoad_noPermissions() {
+        final JwtTokenData data;
+
+        data = JwtTokenData.builder()
+            .withSubject("admin")
+            .build();
+
+        loader.load(data);
+
+        Mockito.verify(fallback)
+            .load(data);
+        Mockito.verifyNoInteractions(userRepository);
+    }
+
+    @Test
+    @DisplayName("A token with an outdated version is rejected")
+    void testLoad_outdatedVersion() {
+        final JwtTokenData          data;
+        final Optional<UserDetails> details;
+
+        data = JwtTokenData.builder()
+            .withSubject("admin")
+            .withPermissions(List.of("DATA:READ"))
+            .withVersion(1L)
+            .build();
+
+        Mockito.when(userRepository.findVersion("admin"))
+            .thenReturn(Optional.of(2L));
+
+        details = loader.load(data);
+
+        Assertions.assertThat(details)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("A token with the current version builds the user from its permissions")
+    void testLoad_valid() {
+        final JwtTokenData          data;
+        final Optional<UserDetails> details;
+
+        data = JwtTokenData.builder()
+            .withSubject("admin")
+            .withPermissions(List.of("DATA:READ", "DATA:CREATE"))
+            .withVersion(1L)
+            .build();
+
+        Mockito.when(userRepository.findVersion("admin"))
+            .thenReturn(Optional.of(1L));
+
+        details = loader.load(data);
+
+        Assertions.assertThat(details)
+            .get()
+            .extracting(UserDetails::getUsername)
+            .isEqualTo("admin");
+        Assertions.assertThat(details.get()
+            .getAuthorities())
+            .extracting(GrantedAuthority::getAuthority)
+            .containsExactlyInAnyOrder("DATA:READ", "DATA:CREATE");
+        Mockito.verifyNoInteractions(fallback);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.userdetails.unit;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.UnknownUsernameFilter;
+
+@DisplayName("UnknownUsernameFilter")
+class TestUnknownUsernameFilter {
+
+    private final UnknownUsernameFilter filter = new UnknownUsernameFilter(List.of("admin"), 100, 0.01, 100,
+        Duration.ofMinutes(1));
+
+    @Test
+    @DisplayName("An added username is not unknown")
+    void testIsUnknown_added() {
+        filter.add("reader");
+
+        Assertions.assertThat(filter.isUnknown("reader"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("Adding a missing username makes it known")
+    void testIsUnknown_addedAfterMissing() {
+        filter.markMissing("reader");
+        filter.add("reader");
+
+        Assertions.assertThat(filter.isUnknown("reader"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("An existing username is not unknown, ignoring case")
+    void testIsUnknown_existing() {
+        Assertions.assertThat(filter.isUnknown("ADMIN"))
+            .isFalse();
+    }
+
+    @Test
+    @DisplayName("A username marked as missing is unknown")
+    void testIsUnknown_missing() {
+        filter.markMissing("admin");
+
+        Assertions.assertThat(filter.isUnknown("admin"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("A not existing username is unknown")
+    void testIsUnknown_notExisting() {
+        Assertions.assertThat(filter.isUnknown("abc"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("After rebuilding, only the new usernames are known")
+    void testRebuild() {
+        filter.rebuild(List.of("reader"));
+
+        Assertions.assertThat(filter.isUnknown("reader"))
+            .isFalse();
+        Assertions.assertThat(filter.isUnknown("admin"))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("Rebuilding forgets the missing usernames it includes")
+    void testRebuild_missing() {
+        filter.markMissing("reader");
+        filter.rebuild(List.of("reader"));
+
+        Assertions.assertThat(filter.isUnknown("reader"))
+            .isFalse();
+    }
+
+}
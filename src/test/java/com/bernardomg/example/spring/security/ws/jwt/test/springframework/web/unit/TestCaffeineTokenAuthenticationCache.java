@@ -0,0 +1,126 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.web.unit;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.CaffeineTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.TokenAuthentication;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.TokenAuthenticationCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@DisplayName("CaffeineTokenAuthenticationCache")
+class TestCaffeineTokenAuthenticationCache {
+
+    private static final String            TOKEN = "token";
+
+    private final TokenAuthenticationCache cache;
+
+    private final MeterRegistry            registry;
+
+    public TestCaffeineTokenAuthenticationCache() {
+        super();
+
+        registry = new SimpleMeterRegistry();
+        cache = new CaffeineTokenAuthenticationCache(10, registry);
+    }
+
+    private final TokenAuthentication getAuthentication(final Instant expiration) {
+        final JwtTokenData data;
+
+        data = JwtTokenData.builder()
+            .withSubject("admin")
+            .withExpiration(expiration)
+            .build();
+
+        return new TokenAuthentication(data,
+            UsernamePasswordAuthenticationToken.authenticated("admin", TOKEN, List.of()));
+    }
+
+    @Test
+    @DisplayName("Cache hits and misses are published as metrics")
+    void testGet_metrics() {
+        cache.put(TOKEN, getAuthentication(Instant.now()
+            .plus(1, ChronoUnit.HOURS)));
+
+        cache.get(TOKEN);
+        cache.get("abc");
+
+        Assertions.assertThat(registry.get("cache.gets")
+            .tag("cache", "jwt-tokens")
+            .tag("result", "hit")
+            .functionCounter()
+            .count())
+            .isEqualTo(1);
+        Assertions.assertThat(registry.get("cache.gets")
+            .tag("cache", "jwt-tokens")
+            .tag("result", "miss")
+            .functionCounter()
+            .count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("An expired token is not returned")
+    void testGet_expired() {
+        final Optional<TokenAuthentication> result;
+
+        cache.put(TOKEN, getAuthentication(Instant.now()
+            .minusSeconds(1)));
+
+        result = cache.get(TOKEN);
+
+        Assertions.assertThat(result)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("A token without expiration is not cached")
+    void testGet_noExpiration() {
+        final Optional<TokenAuthentication> result;
+
+        cache.put(TOKEN, getAuthentication(null));
+
+        result = cache.get(TOKEN);
+
+        Assertions.assertThat(result)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("A not cached token returns nothing")
+    void testGet_notCached() {
+        final Optional<TokenAuthentication> result;
+
+        result = cache.get(TOKEN);
+
+        Assertions.assertThat(result)
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("A valid token is returned")
+    void testGet_valid() {
+        final Optional<TokenAuthentication> result;
+        final TokenAuthentication           authentication;
+
+        authentication = getAuthentication(Instant.now()
+            .plus(1, ChronoUnit.HOURS));
+        cache.put(TOKEN, authentication);
+
+        result = cache.get(TOKEN);
+
+        Assertions.assertThat(result)
+            .contains(authentication);
+    }
+
+}
@@ -0,0 +1,168 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.web.unit;
+
+import java.lang.management.ManagementFactory;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Optional;
+import java.util.Set;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenClaim;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenVerification;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.DisabledTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.TokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.DisabledTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+import com.sun.management.ThreadMXBean;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+
+@DisplayName("JwtTokenFilter - allocations")
+class TestJwtTokenFilterAllocation {
+
+    // Covers the token string, the authentication and its details, and the security context
+    // The decoder and user loader return fixed values, so only the filter allocations are measured
+    private static final long             BUDGET   = 512;
+
+    private static final int              REQUESTS = 10_000;
+
+    private static final int              WARMUP   = 50_000;
+
+    private final FilterChain             chain    = (request, response) -> SecurityContextHolder.clearContext();
+
+    private final JwtTokenFilter          filter;
+
+    private final MockHttpServletRequest  request;
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    public TestJwtTokenFilterAllocation() {
+        super();
+
+        final UserDetails       user;
+        final TokenVerification verification;
+
+        user = User.withUsername("admin")
+            .password("password")
+            .build();
+        verification = TokenVerification.valid(JwtTokenData.builder()
+            .withSubject("admin")
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build());
+
+        filter = new JwtTokenFilter(new FixedUserDetailsLoader(user), new FixedTokenDecoder(verification),
+            new DisabledTokenAuthenticationCache(), new DisabledTokenDenylist(), new SimpleMeterRegistry());
+
+        request = new MockHttpServletRequest("GET", "/person");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer token");
+    }
+
+    private final long getAllocatedBytes() {
+        return ((ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private final void filter(final int requests) throws Exception {
+        for (int i = 0; i < requests; i++) {
+            filter.doFilter(request, response, chain);
+        }
+    }
+
+    @Test
+    @DisplayName("An authenticated request stays within the allocation budget")
+    void testFilter_allocationBudget() throws Exception {
+        final long start;
+        final long allocated;
+
+        Assumptions.assumeTrue(
+            ((ThreadMXBean) ManagementFactory.getThreadMXBean()).isThreadAllocatedMemoryEnabled());
+
+        // Lets the JIT compile the filter first
+        filter(WARMUP);
+
+        start = getAllocatedBytes();
+        filter(REQUESTS);
+        allocated = (getAllocatedBytes() - start) / REQUESTS;
+
+        Assertions.assertThat(allocated)
+            .as("bytes allocated per request")
+            .isLessThanOrEqualTo(BUDGET);
+    }
+
+    @Test
+    @DisplayName("The bearer identifier is case insensitive")
+    void testFilter_caseInsensitive() throws Exception {
+        final MockHttpServletRequest upperCase;
+
+        upperCase = new MockHttpServletRequest("GET", "/person");
+        upperCase.addHeader(HttpHeaders.AUTHORIZATION, "  BEARER   token ");
+
+        filter.doFilter(upperCase, response, (req, resp) -> Assertions.assertThat(SecurityContextHolder.getContext()
+            .getAuthentication())
+            .isNotNull());
+        SecurityContextHolder.clearContext();
+    }
+
+    private static final class FixedTokenDecoder implements TokenDecoder {
+
+        private final TokenVerification verification;
+
+        private FixedTokenDecoder(final TokenVerification verif) {
+            super();
+
+            verification = verif;
+        }
+
+        @Override
+        public final JwtTokenData decode(final String token) {
+            return verification.data();
+        }
+
+        @Override
+        public final TokenVerification verify(final String token) {
+            return verification;
+        }
+
+        @Override
+        public final TokenVerification verify(final String token, final Set<TokenClaim> claims) {
+            return verification;
+        }
+
+    }
+
+    private static final class FixedUserDetailsLoader implements TokenUserDetailsLoader {
+
+        private final Optional<UserDetails> user;
+
+        private FixedUserDetailsLoader(final UserDetails userDetails) {
+            super();
+
+            user = Optional.of(userDetails);
+        }
+
+        @Override
+        public final Set<TokenClaim> getClaims() {
+            return Set.of();
+        }
+
+        @Override
+        public final Optional<UserDetails> load(final JwtTokenData data) {
+            return user;
+        }
+
+    }
+
+}
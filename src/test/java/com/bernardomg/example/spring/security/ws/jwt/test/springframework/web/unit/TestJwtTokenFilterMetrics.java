@@ -0,0 +1,157 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.web.unit;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.DisabledTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ServiceTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.DisabledTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+@DisplayName("JwtTokenFilter - metrics")
+class TestJwtTokenFilterMetrics {
+
+    private final TokenEncoder   encoder = new JjwtTokenEncoder(TokenConstants.KEY);
+
+    private final JwtTokenFilter filter;
+
+    private final MeterRegistry  registry;
+
+    public TestJwtTokenFilterMetrics() {
+        super();
+
+        final UserDetailsService userDetailsService;
+
+        userDetailsService = username -> User.withUsername(username)
+            .password("password")
+            .disabled("disabled".equals(username))
+            .build();
+
+        registry = new SimpleMeterRegistry();
+        filter = new JwtTokenFilter(new ServiceTokenUserDetailsLoader(userDetailsService),
+            new JjwtTokenDecoder(TokenConstants.KEY), new DisabledTokenAuthenticationCache(),
+            new DisabledTokenDenylist(), registry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private final void filter(final String header) throws ServletException, IOException {
+        final MockHttpServletRequest request;
+
+        request = new MockHttpServletRequest("GET", "/person");
+        if (header != null) {
+            request.addHeader(HttpHeaders.AUTHORIZATION, header);
+        }
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+    }
+
+    private final double getRejections(final String reason) {
+        return registry.get("security.token.rejections")
+            .tag("reason", reason)
+            .counter()
+            .count();
+    }
+
+    private final String getToken(final String subject, final Instant expiration) {
+        return encoder.encode(JwtTokenData.builder()
+            .withSubject(subject)
+            .withExpiration(expiration)
+            .build());
+    }
+
+    @Test
+    @DisplayName("A token for a disabled user is counted as a rejection")
+    void testFilter_disabledUser() throws Exception {
+        filter("Bearer " + getToken("disabled", Instant.now()
+            .plus(1, ChronoUnit.HOURS)));
+
+        Assertions.assertThat(getRejections("disabled_user"))
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("An expired token is counted as a rejection")
+    void testFilter_expired() throws Exception {
+        filter("Bearer " + getToken("admin", Instant.now()
+            .minus(1, ChronoUnit.HOURS)));
+
+        Assertions.assertThat(getRejections("expired"))
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("A token is timed on each phase")
+    void testFilter_timers() throws Exception {
+        filter("Bearer " + getToken("admin", Instant.now()
+            .plus(1, ChronoUnit.HOURS)));
+
+        Assertions.assertThat(registry.get("security.token.extraction")
+            .timer()
+            .count())
+            .isOne();
+        Assertions.assertThat(registry.get("security.token.verification")
+            .timer()
+            .count())
+            .isOne();
+        Assertions.assertThat(registry.get("security.token.user.load")
+            .timer()
+            .count())
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("A header with an invalid structure is counted as a rejection")
+    void testFilter_malformedHeader() throws Exception {
+        filter("Basic abc");
+
+        Assertions.assertThat(getRejections("malformed_header"))
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("A malformed token is counted as a rejection")
+    void testFilter_malformedToken() throws Exception {
+        filter("Bearer abc");
+
+        Assertions.assertThat(getRejections("malformed"))
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("A valid token is not counted as a rejection")
+    void testFilter_valid() throws Exception {
+        filter("Bearer " + getToken("admin", Instant.now()
+            .plus(1, ChronoUnit.HOURS)));
+
+        Assertions.assertThat(registry.get("security.token.rejections")
+            .counters())
+            .allMatch(c -> c.count() == 0);
+    }
+
+}
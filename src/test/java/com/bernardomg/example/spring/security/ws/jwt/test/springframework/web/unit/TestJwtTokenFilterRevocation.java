@@ -0,0 +1,143 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.web.unit;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.InMemoryTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ServiceTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.CaffeineTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletException;
+
+@DisplayName("JwtTokenFilter - revocation")
+class TestJwtTokenFilterRevocation {
+
+    private static final Instant        EXPIRATION = Instant.now()
+        .plus(1, ChronoUnit.HOURS);
+
+    private final InMemoryTokenDenylist denylist   = new InMemoryTokenDenylist(Clock.systemUTC());
+
+    private final TokenEncoder          encoder    = new JjwtTokenEncoder(TokenConstants.KEY);
+
+    private final JwtTokenFilter        filter;
+
+    private final MeterRegistry         registry;
+
+    public TestJwtTokenFilterRevocation() {
+        super();
+
+        final UserDetailsService userDetailsService;
+
+        userDetailsService = username -> User.withUsername(username)
+            .password("password")
+            .build();
+
+        registry = new SimpleMeterRegistry();
+        filter = new JwtTokenFilter(new ServiceTokenUserDetailsLoader(userDetailsService),
+            new JjwtTokenDecoder(TokenConstants.KEY), new CaffeineTokenAuthenticationCache(10, registry), denylist,
+            registry);
+    }
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private final boolean filter(final String token) throws ServletException, IOException {
+        final MockHttpServletRequest request;
+        final boolean                authenticated;
+
+        request = new MockHttpServletRequest("GET", "/person");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        authenticated = SecurityContextHolder.getContext()
+            .getAuthentication() != null;
+        SecurityContextHolder.clearContext();
+
+        return authenticated;
+    }
+
+    private final double getRejections() {
+        return registry.get("security.token.rejections")
+            .tag("reason", "revoked")
+            .counter()
+            .count();
+    }
+
+    private final String getToken(final String id) {
+        return encoder.encode(JwtTokenData.builder()
+            .withId(id)
+            .withSubject("admin")
+            .withExpiration(EXPIRATION)
+            .build());
+    }
+
+    @Test
+    @DisplayName("A token revoked after being cached is rejected")
+    void testFilter_cached() throws Exception {
+        final String token;
+
+        token = getToken("id");
+        filter(token);
+
+        denylist.revoke("id", EXPIRATION);
+
+        Assertions.assertThat(filter(token))
+            .isFalse();
+        Assertions.assertThat(getRejections())
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("A token without id is accepted")
+    void testFilter_noId() throws Exception {
+        Assertions.assertThat(filter(getToken(null)))
+            .isTrue();
+    }
+
+    @Test
+    @DisplayName("A token not revoked is accepted")
+    void testFilter_notRevoked() throws Exception {
+        denylist.revoke("other", EXPIRATION);
+
+        Assertions.assertThat(filter(getToken("id")))
+            .isTrue();
+        Assertions.assertThat(getRejections())
+            .isZero();
+    }
+
+    @Test
+    @DisplayName("A revoked token is rejected")
+    void testFilter_revoked() throws Exception {
+        denylist.revoke("id", EXPIRATION);
+
+        Assertions.assertThat(filter(getToken("id")))
+            .isFalse();
+        Assertions.assertThat(getRejections())
+            .isOne();
+    }
+
+}
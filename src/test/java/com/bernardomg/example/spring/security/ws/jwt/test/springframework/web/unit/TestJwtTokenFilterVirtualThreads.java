@@ -0,0 +1,157 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.springframework.web.unit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+import com.bernardomg.example.spring.security.ws.jwt.encoding.JwtTokenData;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.TokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenDecoder;
+import com.bernardomg.example.spring.security.ws.jwt.encoding.jjwt.JjwtTokenEncoder;
+import com.bernardomg.example.spring.security.ws.jwt.revocation.DisabledTokenDenylist;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.CachedUserDetailsService;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.userdetails.ServiceTokenUserDetailsLoader;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.DisabledTokenAuthenticationCache;
+import com.bernardomg.example.spring.security.ws.jwt.springframework.web.JwtTokenFilter;
+import com.bernardomg.example.spring.security.ws.jwt.test.encoding.jjwt.config.TokenConstants;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayName("JwtTokenFilter - virtual threads")
+@EnabledForJreRange(min = JRE.JAVA_21)
+class TestJwtTokenFilterVirtualThreads {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final int    USERS        = 50;
+
+    private final TokenEncoder  encoder      = new JjwtTokenEncoder(TokenConstants.KEY);
+
+    private final JwtTokenFilter filter;
+
+    public TestJwtTokenFilterVirtualThreads() {
+        super();
+
+        final UserDetailsService userDetailsService;
+
+        // Blocks as a database query would
+        userDetailsService = username -> {
+            try {
+                Thread.sleep(10);
+            } catch (final InterruptedException e) {
+                Thread.currentThread()
+                    .interrupt();
+            }
+            return User.withUsername(username)
+                .password("password")
+                .build();
+        };
+
+        filter = new JwtTokenFilter(
+            new ServiceTokenUserDetailsLoader(
+                new CachedUserDetailsService(userDetailsService, 1000, Duration.ofMinutes(10), null)),
+            new JjwtTokenDecoder(TokenConstants.KEY), new DisabledTokenAuthenticationCache(),
+            new DisabledTokenDenylist(), new SimpleMeterRegistry());
+    }
+
+    private final void filter(final String username) {
+        final MockHttpServletRequest request;
+
+        request = new MockHttpServletRequest("GET", "/person");
+        request.addHeader(HttpHeaders.AUTHORIZATION, "Bearer " + encoder.encode(JwtTokenData.builder()
+            .withSubject(username)
+            .withExpiration(Instant.now()
+                .plus(1, ChronoUnit.HOURS))
+            .build()));
+
+        try {
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        } catch (final Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private final List<RecordedEvent> filterInVirtualThreads(final Path dump) throws Exception {
+        final Collection<Future<?>> results;
+        final ExecutorService       executor;
+
+        // Warms up on the current thread, so class initialization is not recorded
+        filter("warmup");
+
+        executor = newVirtualThreadPerTaskExecutor();
+        try (final Recording recording = new Recording()) {
+            recording.enable(PINNED_EVENT)
+                .withThreshold(Duration.ZERO)
+                .withStackTrace();
+            recording.start();
+
+            results = new ArrayList<>();
+            for (int i = 0; i < USERS; i++) {
+                final String username = "user" + i;
+                // Twice per user, so the same missing user is requested concurrently
+                results.add(executor.submit(() -> filter(username)));
+                results.add(executor.submit(() -> filter(username)));
+            }
+            for (final Future<?> result : results) {
+                result.get();
+            }
+
+            recording.stop();
+            recording.dump(dump);
+        } finally {
+            executor.shutdown();
+        }
+
+        return RecordingFile.readAllEvents(dump);
+    }
+
+    private final ExecutorService newVirtualThreadPerTaskExecutor() throws ReflectiveOperationException {
+        // Called through reflection, as the project is built with Java 17
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor")
+            .invoke(null);
+    }
+
+    @Test
+    @DisplayName("Authenticating users which are not cached doesn't pin the carrier threads")
+    void testFilter_notCached_noPinning(@TempDir final Path dir) throws Exception {
+        final List<RecordedEvent> events;
+        final Path                dump;
+
+        dump = dir.resolve("pinning.jfr");
+        events = filterInVirtualThreads(dump);
+
+        Assertions.assertThat(events)
+            .as("pinned virtual threads")
+            .filteredOn(event -> PINNED_EVENT.equals(event.getEventType()
+                .getName()))
+            .isEmpty();
+    }
+
+}
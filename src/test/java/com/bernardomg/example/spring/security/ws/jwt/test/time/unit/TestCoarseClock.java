@@ -0,0 +1,105 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.time.unit;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bernardomg.example.spring.security.ws.jwt.time.CoarseClock;
+
+@DisplayName("CoarseClock")
+class TestCoarseClock {
+
+    private final AtomicLong  now   = new AtomicLong(1_700_000_000_750L);
+
+    private final CoarseClock clock = new CoarseClock(new MutableClock(now));
+
+    @AfterEach
+    void close() {
+        clock.close();
+    }
+
+    @Test
+    @DisplayName("Follows the source clock when the second changes")
+    void testInstant_follows() throws InterruptedException {
+        final long deadline;
+
+        now.set(1_700_000_005_250L);
+
+        deadline = System.nanoTime() + 5_000_000_000L;
+        while ((clock.millis() != 1_700_000_005_000L) && (System.nanoTime() < deadline)) {
+            Thread.sleep(1);
+        }
+
+        Assertions.assertThat(clock.instant())
+            .isEqualTo(Instant.ofEpochSecond(1_700_000_005L));
+    }
+
+    @Test
+    @DisplayName("The instant is truncated to seconds")
+    void testInstant_truncated() {
+        Assertions.assertThat(clock.instant())
+            .isEqualTo(Instant.ofEpochSecond(1_700_000_000L));
+        Assertions.assertThat(clock.millis())
+            .isEqualTo(1_700_000_000_000L);
+    }
+
+    @Test
+    @DisplayName("The default zone is UTC")
+    void testZone_default() {
+        Assertions.assertThat(clock.getZone())
+            .isEqualTo(ZoneOffset.UTC);
+    }
+
+    @Test
+    @DisplayName("Changing the zone keeps the instant")
+    void testZone_with() {
+        final Clock zoned;
+
+        zoned = clock.withZone(ZoneId.of("Europe/Madrid"));
+
+        Assertions.assertThat(zoned.getZone())
+            .isEqualTo(ZoneId.of("Europe/Madrid"));
+        Assertions.assertThat(zoned.instant())
+            .isEqualTo(clock.instant());
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private final AtomicLong millis;
+
+        private MutableClock(final AtomicLong value) {
+            super();
+
+            millis = value;
+        }
+
+        @Override
+        public final ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public final Instant instant() {
+            return Instant.ofEpochMilli(millis.get());
+        }
+
+        @Override
+        public final long millis() {
+            return millis.get();
+        }
+
+        @Override
+        public final Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+    }
+
+}
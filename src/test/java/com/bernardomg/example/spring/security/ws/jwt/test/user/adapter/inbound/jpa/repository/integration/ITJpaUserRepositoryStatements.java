@@ -0,0 +1,92 @@
+package com.bernardomg.example.spring.security.ws.jwt.test.user.adapter.inbound.jpa.repository.integration;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.jdbc.Sql;
+
+import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.IntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@IntegrationTest
+@DisplayName("JPA user repository - statements")
+@Sql({ "/db/queries/user/multiple_with_roles.sql" })
+class ITJpaUserRepositoryStatements {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository       repository;
+
+    private Statistics           statistics;
+
+    @BeforeEach
+    void initialize() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class)
+            .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("Reading all the users, with their privileges, takes two statements")
+    void testFindAll() {
+        final Collection<User> users;
+
+        users = repository.findAll();
+
+        Assertions.assertThat(users)
+            .hasSize(3);
+        Assertions.assertThat(users)
+            .flatExtracting(User::privileges)
+            .extracting(Privilege::name)
+            .containsExactlyInAnyOrder("CREATE_DATA", "READ_DATA", "UPDATE_DATA", "DELETE_DATA", "READ_DATA",
+                "READ_DATA", "CREATE_DATA", "UPDATE_DATA");
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Reading the credentials for a user takes a single statement")
+    void testFindCredentials() {
+        final Optional<UserCredentials> credentials;
+
+        credentials = repository.findCredentials("writer");
+
+        Assertions.assertThat(credentials.get()
+            .user()
+            .privileges())
+            .extracting(Privilege::name)
+            .containsExactlyInAnyOrder("READ_DATA", "CREATE_DATA", "UPDATE_DATA");
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+            .isOne();
+    }
+
+    @Test
+    @DisplayName("Reading a user, with its privileges, takes two statements")
+    void testFindOne() {
+        final Optional<User> user;
+
+        user = repository.findOne("writer");
+
+        Assertions.assertThat(user.get()
+            .privileges())
+            .extracting(Privilege::name)
+            .containsExactlyInAnyOrder("READ_DATA", "CREATE_DATA", "UPDATE_DATA");
+        Assertions.assertThat(statistics.getPrepareStatementCount())
+            .isEqualTo(2);
+    }
+
+}
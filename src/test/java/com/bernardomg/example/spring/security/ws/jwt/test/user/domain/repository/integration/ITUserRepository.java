@@ -1,6 +1,7 @@
 
 package com.bernardomg.example.spring.security.ws.jwt.test.user.domain.repository.integration;
 
+import java.util.Collection;
 import java.util.Optional;
 
 import org.assertj.core.api.Assertions;
@@ -10,7 +11,10 @@
 import org.springframework.test.context.jdbc.Sql;
 
 import com.bernardomg.example.spring.security.ws.jwt.test.config.annotation.IntegrationTest;
+import com.bernardomg.example.spring.security.ws.jwt.test.user.config.ValidUser;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.Privilege;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.User;
+import com.bernardomg.example.spring.security.ws.jwt.user.domain.model.UserCredentials;
 import com.bernardomg.example.spring.security.ws.jwt.user.domain.repository.UserRepository;
 
 @IntegrationTest
@@ -25,6 +29,96 @@ public ITUserRepository() {
         super();
     }
 
+    @Test
+    @DisplayName("Returns the credentials for an existing username, ignoring case")
+    @ValidUser
+    public void testFindCredentials_case() {
+        final Optional<UserCredentials> result;
+
+        result = repository.findCredentials("ADMIN");
+
+        Assertions.assertThat(result)
+            .isPresent();
+        Assertions.assertThat(result.get()
+            .user()
+            .username())
+            .isEqualTo("admin");
+    }
+
+    @Test
+    @DisplayName("Returns the credentials for an existing username")
+    @ValidUser
+    public void testFindCredentials_existing() {
+        final Optional<UserCredentials> result;
+
+        result = repository.findCredentials("admin");
+
+        Assertions.assertThat(result)
+            .isPresent();
+        Assertions.assertThat(result.get()
+            .password())
+            .isEqualTo("$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW");
+        Assertions.assertThat(result.get()
+            .user()
+            .privileges())
+            .extracting(Privilege::name)
+            .containsExactlyInAnyOrder("CREATE_DATA", "READ_DATA", "UPDATE_DATA", "DELETE_DATA");
+    }
+
+    @Test
+    @DisplayName("Returns the credentials for a username stored with another case")
+    @Sql({ "/db/queries/user/mixed_case.sql", "/db/queries/security/default_role.sql" })
+    public void testFindCredentials_storedCase() {
+        final Optional<UserCredentials> result;
+
+        result = repository.findCredentials("admin");
+
+        Assertions.assertThat(result)
+            .isPresent();
+        Assertions.assertThat(result.get()
+            .user()
+            .username())
+            .isEqualTo("Admin");
+    }
+
+    @Test
+    @DisplayName("Returns the credentials for a user without privileges")
+    public void testFindCredentials_noPrivileges() {
+        final Optional<UserCredentials> result;
+
+        result = repository.findCredentials("admin");
+
+        Assertions.assertThat(result)
+            .isPresent();
+        Assertions.assertThat(result.get()
+            .user()
+            .privileges())
+            .isEmpty();
+    }
+
+    @Test
+    @DisplayName("Returns the usernames of all the users")
+    @ValidUser
+    public void testFindAllUsernames() {
+        final Collection<String> result;
+
+        result = repository.findAllUsernames();
+
+        Assertions.assertThat(result)
+            .containsExactly("admin");
+    }
+
+    @Test
+    @DisplayName("Returns no credentials for a not existing username")
+    public void testFindCredentials_notExisting() {
+        final Optional<UserCredentials> result;
+
+        result = repository.findCredentials("abc");
+
+        Assertions.assertThat(result)
+            .isEmpty();
+    }
+
     @Test
     @DisplayName("Returns the user for an existing username")
     public void testFindForUser_existing() {
@@ -50,4 +144,36 @@ public void testFindForUser_notExisting() {
             .isEmpty();
     }
 
+    @Test
+    @DisplayName("Updating the password of an existing user stores it, and keeps the version")
+    @ValidUser
+    public void testUpdatePassword_existing() {
+        final Optional<Long> version;
+        final boolean        updated;
+
+        version = repository.findVersion("admin");
+
+        updated = repository.updatePassword("ADMIN", "$2a$05$updated");
+
+        Assertions.assertThat(updated)
+            .isTrue();
+        Assertions.assertThat(repository.findCredentials("admin")
+            .get()
+            .password())
+            .isEqualTo("$2a$05$updated");
+        Assertions.assertThat(repository.findVersion("admin"))
+            .isEqualTo(version);
+    }
+
+    @Test
+    @DisplayName("Updating the password of a not existing user updates nothing")
+    public void testUpdatePassword_notExisting() {
+        final boolean updated;
+
+        updated = repository.updatePassword("abc", "$2a$05$updated");
+
+        Assertions.assertThat(updated)
+            .isFalse();
+    }
+
 }
@@ -1,2 +1,2 @@
-INSERT INTO USERS (id, name, email, username, password, enabled, locked, expired, credentials_expired) VALUES
-   (1, 'admin', 'admin@somewhere.com', 'admin', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, true, false);
\ No newline at end of file
+INSERT INTO USERS (id, name, email, username, normalized_username, password, enabled, locked, expired, credentials_expired) VALUES
+   (1, 'admin', 'admin@somewhere.com', 'admin', 'admin', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, true, false);
\ No newline at end of file
@@ -0,0 +1,2 @@
+INSERT INTO USERS (id, name, email, username, normalized_username, password, enabled, locked, expired, credentials_expired) VALUES
+   (1, 'admin', 'admin@somewhere.com', 'Admin', 'admin', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, false, false);
\ No newline at end of file
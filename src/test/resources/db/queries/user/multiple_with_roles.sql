@@ -0,0 +1,30 @@
+INSERT INTO USERS (id, name, email, username, normalized_username, password, enabled, locked, expired, credentials_expired) VALUES
+   (1, 'admin', 'admin@somewhere.com', 'admin', 'admin', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, false, false),
+   (2, 'reader', 'reader@somewhere.com', 'reader', 'reader', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, false, false),
+   (3, 'writer', 'writer@somewhere.com', 'writer', 'writer', '$2a$04$gV.k/KKIqr3oPySzs..bx.8absYRTpNe8AbHmPP90.ErW0ICGOsVW', true, false, false, false);
+
+INSERT INTO privileges (id, name) VALUES
+   (1, 'CREATE_DATA'),
+   (2, 'READ_DATA'),
+   (3, 'UPDATE_DATA'),
+   (4, 'DELETE_DATA');
+
+INSERT INTO roles (id, name) VALUES
+   (1, 'ADMIN'),
+   (2, 'READER'),
+   (3, 'WRITER');
+
+INSERT INTO role_privileges (role_id, privilege_id) VALUES
+   (1, 1),
+   (1, 2),
+   (1, 3),
+   (1, 4),
+   (2, 2),
+   (3, 1),
+   (3, 3);
+
+INSERT INTO user_roles (user_id, role_id) VALUES
+   (1, 1),
+   (2, 2),
+   (3, 2),
+   (3, 3);